@@ -1,19 +1,39 @@
 package uwi.comp3607.jeopardy;
 
+import uwi.comp3607.jeopardy.bank.ShardedBank;
+import uwi.comp3607.jeopardy.console.BoardRenderer;
 import uwi.comp3607.jeopardy.game.GameEngine;
 import uwi.comp3607.jeopardy.game.GameState;
+import uwi.comp3607.jeopardy.game.HashedWheelTimer;
 import uwi.comp3607.jeopardy.game.Turn;
+import uwi.comp3607.jeopardy.io.DirectoryLoader;
 import uwi.comp3607.jeopardy.io.FileParser;
 import uwi.comp3607.jeopardy.io.FileParserFactory;
+import uwi.comp3607.jeopardy.io.QuestionRecord;
+import uwi.comp3607.jeopardy.io.StringDictionary;
 import uwi.comp3607.jeopardy.logging.*;
+import uwi.comp3607.jeopardy.model.CategoryIndex;
 import uwi.comp3607.jeopardy.model.Player;
 import uwi.comp3607.jeopardy.model.Question;
 import uwi.comp3607.jeopardy.model.QuestionBoard;
-import uwi.comp3607.jeopardy.report.TxtReportGenerator;
+import uwi.comp3607.jeopardy.report.HtmlReportSink;
+import uwi.comp3607.jeopardy.report.JsonReportSink;
+import uwi.comp3607.jeopardy.report.ReportPipeline;
+import uwi.comp3607.jeopardy.report.TxtReportSink;
+import uwi.comp3607.jeopardy.validation.QuestionBankValidator;
+import uwi.comp3607.jeopardy.validation.ValidationReport;
 
+import java.io.BufferedReader;
+import java.io.EOFException;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Console entry point for the multi-player Jeopardy game.
@@ -25,6 +45,18 @@ import java.util.*;
  * </p>
  */
 public class App {
+
+    /**
+     * Seconds allowed per turn, from the {@code jeopardy.turnSeconds} system
+     * property; 0 (the default) means turns are not timed.
+     */
+    private static final int TURN_SECONDS = Integer.getInteger("jeopardy.turnSeconds", 0);
+
+    /** Work run in the background that may fail with an {@link IOException}. */
+    private interface IoTask {
+        void run() throws IOException;
+    }
+
 /**
      * Main entry point for the Jeopardy game application.
      * <p>
@@ -32,17 +64,21 @@ public class App {
      * </p>
      * <ul>
      *   <li>Prompts the user for the path to the game data file (CSV/JSON/XML).</li>
-     *   <li>Creates the appropriate {@link uwi.comp3607.jeopardy.io.FileParser}.</li>
-     *   <li>Loads questions into a {@link uwi.comp3607.jeopardy.model.QuestionBoard}.</li>
-     *   <li>Collects the number of players and their names.</li>
+     *   <li>Detects the file's format (and any gzip/zstd compression) from its content.</li>
+     *   <li>Validates every question record and stops with a report if any are invalid.</li>
+     *   <li>Loads questions into a {@link uwi.comp3607.jeopardy.model.QuestionBoard}
+     *       in the background while collecting the number of players and their names.</li>
      *   <li>Runs the main gameplay loop using {@link uwi.comp3607.jeopardy.game.GameEngine}.</li>
-     *   <li>Generates a text report and a process-mining event log CSV.</li>
+     *   <li>Generates text, JSON and HTML reports in one pass and, at the same
+     *       time, finishes the process-mining event log CSV.</li>
      * </ul>
      *
      * @param args command-line arguments (not used)
      */
     public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+        // A plain reader rather than Scanner, which loads locale and regex
+        // machinery before the first prompt
+        BufferedReader console = new BufferedReader(new InputStreamReader(System.in));
         String caseId = "GAME" + System.currentTimeMillis();
 
         try {
@@ -53,22 +89,26 @@ public class App {
             eventBus.publish(GameEvent.simple(caseId, null,
                     "Start Game", Instant.now()));
 
-            System.out.print("Enter path to game file (CSV/JSON/XML): ");
-            String path = scanner.nextLine().trim();
+            System.out.print("Enter path to game file or directory (CSV/JSON/XML, optionally .gz/.zst): ");
+            String path = readLine(console).trim();
             eventBus.publish(GameEvent.simple(caseId, null,
                     "Load File", Instant.now()));
 
-            FileParser parser = FileParserFactory.createParser(path);
-            QuestionBoard board = parser.parse(new File(path));
-
-            eventBus.publish(GameEvent.simple(caseId, null,
-                    "File Loaded Successfully", Instant.now()));
+            // Parse in the background while the players are entered
+            StringBuilder loadMessages = new StringBuilder();
+            CompletableFuture<QuestionBoard> loading = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return loadBoard(new File(path), loadMessages);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }, App::runInBackground);
 
             // ---- safer player count input (whole numbers 1–4 only) ----
             int playerCount = 0;
             while (true) {
                 System.out.print("Enter number of players (1-4): ");
-                String input = scanner.nextLine().trim();
+                String input = readLine(console).trim();
                 try {
                     playerCount = Integer.parseInt(input);
                     if (playerCount >= 1 && playerCount <= 4) {
@@ -88,32 +128,62 @@ public class App {
             List<Player> players = new ArrayList<>();
             for (int i = 1; i <= playerCount; i++) {
                 System.out.print("Enter name for Player " + i + ": ");
-                String name = scanner.nextLine().trim();
+                String name = readLine(console).trim();
                 players.add(new Player(i, name));
                 eventBus.publish(GameEvent.simple(caseId,
                         players.get(i - 1),
                         "Enter Player Name", Instant.now()));
             }
 
+            QuestionBoard board;
+            try {
+                // Publishing inside the awaited stage logs the event before play starts
+                board = await(loading.thenApply(loaded -> {
+                    if (loaded != null) {
+                        eventBus.publish(GameEvent.simple(caseId, null,
+                                "File Loaded Successfully", Instant.now()));
+                    }
+                    return loaded;
+                }));
+            } finally {
+                System.out.print(loadMessages);
+            }
+            if (board == null) {
+                logger.close();
+                return;
+            }
+
             GameState state = new GameState(caseId, players, board);
             GameEngine engine = new GameEngine(state, eventBus);
+            BoardRenderer renderer = new BoardRenderer(board, System.out);
+            eventBus.register(renderer, "Answer Question", "Turn Timeout");
 
-            gameLoop(scanner, engine);
+            HashedWheelTimer turnTimer = null;
+            if (TURN_SECONDS > 0) {
+                turnTimer = new HashedWheelTimer();
+                engine.setTurnTimeLimit(turnTimer, TURN_SECONDS, TimeUnit.SECONDS);
+                System.out.println("Each turn is limited to " + TURN_SECONDS + " seconds.");
+            }
 
-            // Generate report
-            TxtReportGenerator reportGen = new TxtReportGenerator();
-            reportGen.generate(new File("game_report.txt"),
-                    caseId,
-                    state.getPlayers(),
-                    engine.getTurnHistory());
+            gameLoop(console, engine, renderer);
+            if (turnTimer != null) {
+                turnTimer.close();
+            }
 
+            // Write the reports and the event log concurrently
             eventBus.publish(GameEvent.simple(caseId, null,
                     "Generate Report", Instant.now()));
             eventBus.publish(GameEvent.simple(caseId, null,
                     "Generate Event Log", Instant.now()));
 
-            logger.close();
-            System.out.println("Game over. Report saved to game_report.txt");
+            CompletableFuture<Void> report = runAsync(() -> new ReportPipeline()
+                    .add(new TxtReportSink(ReportPipeline.writer(new File("game_report.txt"))))
+                    .add(new JsonReportSink(ReportPipeline.stream(new File("game_report.json"))))
+                    .add(new HtmlReportSink(ReportPipeline.writer(new File("game_report.html"))))
+                    .run(caseId, state.getPlayers(), engine.getTurnHistory()));
+            CompletableFuture<Void> log = runAsync(logger::close);
+            await(CompletableFuture.allOf(report, log));
+            System.out.println("Game over. Report saved to game_report.txt (also .json and .html)");
             System.out.println("Event log saved to game_event_log.csv");
 
         } catch (Exception ex) {
@@ -134,56 +204,63 @@ public class App {
      *   <li>Captures the player's answer and delegates to {@link GameEngine}.</li>
      *   <li>Prints immediate feedback (correct/incorrect) and updated score.</li>
      * </ul>
+     * <p>
+     * If turns are timed and the turn expires while waiting for input, the
+     * input is discarded and the loop moves on to the next player.
+     * </p>
      *
-     * @param scanner the console scanner used to read user input
+     * @param console the console reader used to read user input
      * @param engine  the game engine that manages game state and scoring
-     * @param eventBus the event bus used for publishing gameplay events
+     * @param renderer the renderer that draws the board each turn
+     * @throws IOException if console input ends or cannot be read
      */
 
-    private static void gameLoop(Scanner scanner,
-                                 GameEngine engine) {
+    private static void gameLoop(BufferedReader console,
+                                 GameEngine engine,
+                                 BoardRenderer renderer) throws IOException {
 
         while (!engine.isGameOver()) {
             var state = engine.getState();
             var player = state.getCurrentPlayer();
-            System.out.println();
-            System.out.println("Current player: " + player.getName());
-            System.out.println("Current score: " + player.getScore());
-
-            System.out.println("Categories:");
-            for (String cat : state.getBoard().getCategories()) {
-                System.out.print(" - " + cat + " (");
-                var values = state.getBoard().getValuesForCategory(cat);
-                var iter = values.iterator();
-                while (iter.hasNext()) {
-                    int v = iter.next();
-                    String marker = state.getBoard().hasQuestion(cat, v) ? "" : "X";
-                    System.out.print(v + marker);
-                    if (iter.hasNext()) System.out.print(", ");
-                }
-                System.out.println(")");
-            }
-
-            System.out.println("Options: ");
-            System.out.println(" 1. Choose a question");
-            System.out.println(" 2. Quit game");
+            long turnNo = engine.getTurnNumber();
+            renderer.render(player);
 
-            System.out.print("Select option: ");
-            String opt = scanner.nextLine().trim();
+            String opt = readLine(console).trim();
+            if (engine.getTurnNumber() != turnNo) {
+                continue;
+            }
             if (opt.equals("2")) {
                 engine.quitGame();
                 break;
             }
 
-            System.out.print("Enter category exactly as shown: ");
-            String category = scanner.nextLine().trim();
+            System.out.print("Enter category (a prefix or close spelling is fine): ");
+            String category = resolveCategory(state.getBoard(), readLine(console).trim());
+            if (engine.getTurnNumber() != turnNo) {
+                continue;
+            }
+            if (category == null) {
+                continue;
+            }
+            // Lazy boards start reading the category while the value is typed
+            state.getBoard().prefetch(category);
 
             System.out.print("Enter question value (e.g., 100): ");
-            int value = Integer.parseInt(scanner.nextLine().trim());
+            int value = Integer.parseInt(readLine(console).trim());
 
-            Question q = engine.selectQuestion(player, category, value);
+            Question q;
+            try {
+                q = engine.selectQuestion(turnNo, player, category, value);
+            } catch (UncheckedIOException ex) {
+                System.out.println(ex.getMessage());
+                System.out.println("Please choose another category.");
+                continue;
+            }
             if (q == null || q.isUsed()) {
-                System.out.println("Invalid selection or question already used.");
+                // A turn that timed out meanwhile has already been reported
+                if (engine.getTurnNumber() == turnNo) {
+                    System.out.println("Invalid selection or question already used.");
+                }
                 continue;
             }
 
@@ -193,10 +270,13 @@ public class App {
             System.out.println("C) " + q.getOptionC());
             System.out.println("D) " + q.getOptionD());
             System.out.print("Your answer (A/B/C/D): ");
-            String ans = scanner.nextLine().trim().toUpperCase(Locale.ROOT);
+            String ans = readLine(console).trim().toUpperCase(Locale.ROOT);
 
             // ---- show immediate feedback after answering ----
-            Turn turn = engine.answerQuestion(player, q, ans);
+            Turn turn = engine.answerQuestion(turnNo, player, q, ans);
+            if (turn == null) {
+                continue;
+            }
 
             if (turn.isCorrect()) {
                 System.out.printf("✅ Correct! You gained %d points.%n",
@@ -210,4 +290,138 @@ public class App {
             // ------------------------------------------------
         }
     }
+
+    /**
+     * Loads the board for the path entered by the user.
+     * <p>
+     * A directory holding a {@link ShardedBank} manifest is opened lazily:
+     * only the manifest is read here, and each category is loaded when it is
+     * first played. Any other directory is loaded with a
+     * {@link DirectoryLoader}, which parses all
+     * question files in it concurrently and writes a per-file timing report.
+     * Every file, whether loaded alone or from a directory, is validated; if
+     * any has problems, the validation reports are written and {@code null}
+     * is returned. Output goes to
+     * {@code out} rather than the console because this runs in the
+     * background while the players are being entered.
+     * </p>
+     *
+     * @param file the game file or directory
+     * @param out  where load reports and validation problems are written
+     * @return the loaded board, or {@code null} if the file is invalid
+     * @throws IOException if the file cannot be read or parsed
+     */
+    private static QuestionBoard loadBoard(File file, Appendable out) throws IOException {
+        String nl = System.lineSeparator();
+        if (file.isDirectory() && new File(file, ShardedBank.MANIFEST).isFile()) {
+            ShardedBank bank = ShardedBank.open(file.toPath());
+            out.append("Opened sharded bank: " + bank.getCategories().size()
+                    + " categories, " + bank.getQuestionCount() + " questions").append(nl);
+            return bank.toBoard();
+        }
+        if (file.isDirectory()) {
+            DirectoryLoader.Result loaded = new DirectoryLoader(
+                    DirectoryLoader.ConflictPolicy.LAST_WINS).load(file.toPath());
+            loaded.writeReport(out);
+            if (!loaded.isValid()) {
+                out.append("Some game files have problems and cannot be loaded:").append(nl);
+                loaded.writeProblems(out);
+                return null;
+            }
+            return loaded.getBoard();
+        }
+
+        List<QuestionRecord> records = FileParserFactory.readRecords(file, new StringDictionary());
+        ValidationReport validation = new QuestionBankValidator().validate(records);
+        if (!validation.isValid()) {
+            out.append("The game file has problems and cannot be loaded:").append(nl);
+            validation.writeTo(out);
+            return null;
+        }
+        return FileParser.buildBoard(records);
+    }
+
+    /**
+     * Resolves typed category text to a category on the board.
+     * <p>
+     * Accepts exact names in any case, unique prefixes, and small typos.
+     * If the input matches nothing, or more than one category, suggestions
+     * are printed and {@code null} is returned.
+     * </p>
+     *
+     * @param board the board to look the category up on
+     * @param input the text entered by the user
+     * @return the category name as shown on the board, or {@code null}
+     */
+    private static String resolveCategory(QuestionBoard board, String input) {
+        CategoryIndex index = board.getCategoryIndex();
+        String category = index.resolve(input);
+        if (category != null) {
+            return category;
+        }
+        List<String> suggestions = index.suggest(input);
+        if (suggestions.isEmpty()) {
+            System.out.println("No category matches \"" + input + "\".");
+        } else {
+            System.out.println("Did you mean: " + String.join(", ", suggestions) + "?");
+        }
+        return null;
+    }
+
+    /**
+     * Reads one line of console input.
+     *
+     * @param console the console reader
+     * @return the line, without its terminator
+     * @throws IOException if the input has ended or cannot be read
+     */
+    private static String readLine(BufferedReader console) throws IOException {
+        String line = console.readLine();
+        if (line == null) {
+            throw new EOFException("No more input");
+        }
+        return line;
+    }
+
+    /** Runs a task on a new daemon thread, so the JVM can exit without it. */
+    private static void runInBackground(Runnable task) {
+        Thread t = new Thread(task, "app-background");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * Starts a task in the background.
+     *
+     * @param task the task
+     * @return a future that completes when the task does
+     */
+    private static CompletableFuture<Void> runAsync(IoTask task) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                task.run();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, App::runInBackground);
+    }
+
+    /**
+     * Waits for a background task and rethrows its I/O failure, if any.
+     *
+     * @param future the task's future
+     * @param <T>    the result type
+     * @return the task's result
+     * @throws IOException if the task failed with an I/O error
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) ex.getCause()).getCause();
+            }
+            throw ex;
+        }
+    }
 }
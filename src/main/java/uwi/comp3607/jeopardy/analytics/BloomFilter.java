@@ -0,0 +1,147 @@
+package uwi.comp3607.jeopardy.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Fixed-size set membership filter with a tunable false-positive rate.
+ * <p>
+ * A filter sized for {@code n} keys at false-positive rate {@code p} uses
+ * {@code m = -n ln p / (ln 2)^2} bits and {@code k = (m / n) ln 2} probes,
+ * derived from one 64-bit hash by double hashing. {@link #mightContain} never
+ * returns {@code false} for a key that was added, and returns {@code true}
+ * for other keys with probability about {@code p} while no more than
+ * {@code n} keys have been added.
+ * </p>
+ * <p>
+ * The filter is not thread-safe; callers that share one must synchronise.
+ * </p>
+ */
+public class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashes;
+    private final int capacity;
+    private int insertions;
+
+    /**
+     * Creates an empty filter sized for the given load.
+     *
+     * @param expectedInsertions number of keys the filter should hold
+     * @param falsePositiveRate  target false-positive rate, between 0 and 1
+     * @throws IllegalArgumentException if either argument is out of range
+     */
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions < 1 || !(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Invalid Bloom filter sizing: "
+                    + expectedInsertions + " keys at " + falsePositiveRate);
+        }
+        long m = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (LN2 * LN2));
+        this.bitCount = (int) Math.min(1L << 30, Math.max(64, m));
+        this.hashes = (int) Math.max(1, Math.min(30, Math.round((double) bitCount / expectedInsertions * LN2)));
+        this.capacity = expectedInsertions;
+        this.bits = new long[(bitCount + 63) >>> 6];
+    }
+
+    private BloomFilter(int bitCount, int hashes, int capacity, int insertions, long[] bits) {
+        this.bitCount = bitCount;
+        this.hashes = hashes;
+        this.capacity = capacity;
+        this.insertions = insertions;
+        this.bits = bits;
+    }
+
+    /** @return number of keys the filter was sized for */
+    public int getCapacity() { return capacity; }
+    /** @return number of {@link #add} calls that set at least one new bit */
+    public int getInsertions() { return insertions; }
+    /** @return size of the bit array */
+    public int getBitCount() { return bitCount; }
+    /** @return number of probes per key */
+    public int getHashCount() { return hashes; }
+
+    /**
+     * Adds a key.
+     *
+     * @param keyHash 64-bit hash of the key, e.g. from {@link CountMinSketch#hash}
+     * @return {@code true} if the key was definitely not present before
+     */
+    public boolean add(long keyHash) {
+        int h1 = (int) keyHash;
+        int h2 = (int) (keyHash >>> 32);
+        boolean changed = false;
+        for (int i = 1; i <= hashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+            long mask = 1L << bit;
+            if ((bits[bit >>> 6] & mask) == 0) {
+                bits[bit >>> 6] |= mask;
+                changed = true;
+            }
+        }
+        if (changed) {
+            insertions++;
+        }
+        return changed;
+    }
+
+    /**
+     * Tests whether a key may have been added.
+     *
+     * @param keyHash 64-bit hash of the key
+     * @return {@code false} if the key was never added; {@code true} if it
+     *         probably was
+     */
+    public boolean mightContain(long keyHash) {
+        int h1 = (int) keyHash;
+        int h2 = (int) (keyHash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bitCount;
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the filter's sizing and bits.
+     *
+     * @param out the destination
+     * @throws IOException if writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(bitCount);
+        out.writeInt(hashes);
+        out.writeInt(capacity);
+        out.writeInt(insertions);
+        for (long word : bits) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Reads a filter written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in the source
+     * @return the filter
+     * @throws IOException if reading fails or the data is not a filter
+     */
+    public static BloomFilter readFrom(DataInput in) throws IOException {
+        int bitCount = in.readInt();
+        int hashes = in.readInt();
+        int capacity = in.readInt();
+        int insertions = in.readInt();
+        if (bitCount < 64 || bitCount > (1 << 30) || hashes < 1 || hashes > 30 || capacity < 1) {
+            throw new IOException("Corrupt Bloom filter header");
+        }
+        long[] bits = new long[(bitCount + 63) >>> 6];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = in.readLong();
+        }
+        return new BloomFilter(bitCount, hashes, capacity, insertions, bits);
+    }
+}
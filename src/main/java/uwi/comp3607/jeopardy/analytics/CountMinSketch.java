@@ -0,0 +1,157 @@
+package uwi.comp3607.jeopardy.analytics;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size frequency sketch that over-estimates counts by a bounded amount.
+ * <p>
+ * The sketch has {@code depth} rows of {@code width} counters. Each key is
+ * hashed to one counter per row; adding increments all of them and an
+ * estimate is the minimum. With {@code N} total additions, an estimate
+ * exceeds the true count by more than {@code e * N / width} with probability
+ * at most {@code e^-depth}. Memory is {@code depth * width} longs regardless
+ * of how many distinct keys are added.
+ * </p>
+ * <p>
+ * Counters are atomic, so many threads may add at once without locking.
+ * Two sketches with the same dimensions can be merged by adding their
+ * counters, which makes per-process sketches combinable.
+ * </p>
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param depth number of rows (independent hashes)
+     * @param width counters per row; rounded up to a power of two
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || depth > 16 || width < 1 || width > (1 << 24)) {
+            throw new IllegalArgumentException("Invalid sketch size " + depth + "x" + width);
+        }
+        int w = 1;
+        while (w < width) {
+            w <<= 1;
+        }
+        this.depth = depth;
+        this.width = w;
+        this.mask = w - 1;
+        this.counters = new AtomicLongArray(depth * w);
+    }
+
+    /** @return number of rows */
+    public int getDepth() { return depth; }
+    /** @return counters per row */
+    public int getWidth() { return width; }
+
+    /**
+     * Adds {@code count} occurrences of a key.
+     *
+     * @param keyHash 64-bit hash of the key, e.g. from {@link #hash(CharSequence)}
+     * @param count   number of occurrences to add
+     */
+    public void add(long keyHash, long count) {
+        int h1 = (int) keyHash;
+        int h2 = (int) (keyHash >>> 32) | 1;
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(row * width + ((h1 + row * h2) & mask), count);
+        }
+    }
+
+    /**
+     * Estimates how many times a key was added.
+     *
+     * @param keyHash 64-bit hash of the key
+     * @return an estimate that is never below the true count
+     */
+    public long estimate(long keyHash) {
+        int h1 = (int) keyHash;
+        int h2 = (int) (keyHash >>> 32) | 1;
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(row * width + ((h1 + row * h2) & mask)));
+        }
+        return min;
+    }
+
+    /**
+     * Adds every counter of another sketch into this one.
+     *
+     * @param other a sketch with the same depth and width
+     * @throws IllegalArgumentException if the dimensions differ
+     */
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Cannot merge sketches of different sizes");
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            long v = other.counters.get(i);
+            if (v != 0) {
+                counters.addAndGet(i, v);
+            }
+        }
+    }
+
+    /**
+     * Writes the sketch's dimensions and counters.
+     *
+     * @param out the destination
+     * @throws IOException if writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(depth);
+        out.writeInt(width);
+        for (int i = 0; i < counters.length(); i++) {
+            out.writeLong(counters.get(i));
+        }
+    }
+
+    /**
+     * Reads a sketch written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in the source
+     * @return the sketch
+     * @throws IOException if reading fails
+     */
+    public static CountMinSketch readFrom(DataInput in) throws IOException {
+        CountMinSketch s = new CountMinSketch(in.readInt(), in.readInt());
+        for (int i = 0; i < s.counters.length(); i++) {
+            s.counters.set(i, in.readLong());
+        }
+        return s;
+    }
+
+    /**
+     * Computes a well-mixed 64-bit hash of a string.
+     * <p>
+     * The hash is stable across processes and JVM versions, so keys hash to
+     * the same counters in sketches that are later merged.
+     * </p>
+     *
+     * @param key the key text
+     * @return the hash
+     */
+    public static long hash(CharSequence key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        // splitmix64 finaliser
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h;
+    }
+}
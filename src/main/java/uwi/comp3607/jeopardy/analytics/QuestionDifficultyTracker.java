@@ -0,0 +1,320 @@
+package uwi.comp3607.jeopardy.analytics;
+
+import uwi.comp3607.jeopardy.logging.GameEvent;
+import uwi.comp3607.jeopardy.logging.GameEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks how often each question is answered correctly and incorrectly,
+ * across any number of sessions, in fixed memory.
+ * <p>
+ * Registered on a {@link uwi.comp3607.jeopardy.logging.GameEventBus}, the
+ * tracker feeds every "Answer Question" result into two
+ * {@link CountMinSketch}es, one for correct and one for incorrect answers.
+ * A question is identified by its category, value and, when the event
+ * carries it, question text.
+ * </p>
+ * <p>
+ * Questions whose estimated attempts reach the promotion threshold also get
+ * an entry in a bounded heavy-hitter table, which counts them exactly from
+ * then on, starting from the sketch estimate. Frequently asked questions,
+ * which matter most for tuning, therefore have precise rates, and
+ * {@link #heavyHitters(int)} lists them without scanning the sketches.
+ * </p>
+ * <p>
+ * Trackers from different processes can be combined with {@link #merge} and
+ * saved or loaded with {@link #writeTo(Path)} and {@link #readFrom(Path)}.
+ * </p>
+ */
+public class QuestionDifficultyTracker implements GameEventListener {
+
+    private static final int MAGIC = 0x4A514432; // "JQD2"
+
+    /** Approximate or exact answer counts for one question. */
+    public static final class Difficulty {
+        private final String key;
+        private final long correct;
+        private final long incorrect;
+        private final boolean exact;
+
+        Difficulty(String key, long correct, long incorrect, boolean exact) {
+            this.key = key;
+            this.correct = correct;
+            this.incorrect = incorrect;
+            this.exact = exact;
+        }
+
+        /** @return the question key, as built by {@link QuestionDifficultyTracker#key} */
+        public String getKey() { return key; }
+        /** @return number of correct answers */
+        public long getCorrect() { return correct; }
+        /** @return number of incorrect answers */
+        public long getIncorrect() { return incorrect; }
+        /** @return total answers */
+        public long getAttempts() { return correct + incorrect; }
+        /** @return {@code true} if counted in the heavy-hitter table */
+        public boolean isExact() { return exact; }
+
+        /** @return fraction of answers that were correct, or {@code NaN} if unanswered */
+        public double getCorrectRate() {
+            long n = getAttempts();
+            return n == 0 ? Double.NaN : (double) correct / n;
+        }
+    }
+
+    /**
+     * Exact counters for one heavy hitter, plus the part of them that came
+     * from the sketches when it was promoted and is therefore also counted
+     * there.
+     */
+    private static final class Counts {
+        final AtomicLong correct;
+        final AtomicLong incorrect;
+        final AtomicLong seedCorrect;
+        final AtomicLong seedIncorrect;
+
+        Counts(long correct, long incorrect, long seedCorrect, long seedIncorrect) {
+            this.correct = new AtomicLong(correct);
+            this.incorrect = new AtomicLong(incorrect);
+            this.seedCorrect = new AtomicLong(seedCorrect);
+            this.seedIncorrect = new AtomicLong(seedIncorrect);
+        }
+    }
+
+    private final CountMinSketch correct;
+    private final CountMinSketch incorrect;
+    private final ConcurrentHashMap<String, Counts> heavy = new ConcurrentHashMap<>();
+    private final int heavyCapacity;
+    private final long promoteAt;
+
+    /**
+     * Creates a tracker with 4 x 16384 sketches (1 MiB in total), promoting
+     * questions after 1000 attempts into a table of up to 4096 entries.
+     */
+    public QuestionDifficultyTracker() {
+        this(4, 1 << 14, 4096, 1000);
+    }
+
+    /**
+     * Creates a tracker with explicit sizes.
+     *
+     * @param depth         sketch rows
+     * @param width         sketch counters per row
+     * @param heavyCapacity maximum number of exactly-counted questions
+     * @param promoteAt     estimated attempts at which a question is promoted
+     */
+    public QuestionDifficultyTracker(int depth, int width, int heavyCapacity, long promoteAt) {
+        this(new CountMinSketch(depth, width), new CountMinSketch(depth, width), heavyCapacity, promoteAt);
+    }
+
+    private QuestionDifficultyTracker(CountMinSketch correct, CountMinSketch incorrect,
+                                      int heavyCapacity, long promoteAt) {
+        this.correct = correct;
+        this.incorrect = incorrect;
+        this.heavyCapacity = heavyCapacity;
+        this.promoteAt = promoteAt;
+    }
+
+    /**
+     * Builds the key that identifies a question.
+     *
+     * @param category     the question's category
+     * @param value        the question's value
+     * @param questionText the question's text, or {@code null} if unknown
+     * @return the key
+     */
+    public static String key(String category, int value, String questionText) {
+        return category + '\u001f' + value + '\u001f' + (questionText == null ? "" : questionText);
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        if (!"Answer Question".equals(event.getActivity()) || event.getQuestionValue() == null) {
+            return;
+        }
+        record(key(event.getCategory(), event.getQuestionValue(), event.getQuestionText()),
+                "Correct".equals(event.getResult()));
+    }
+
+    /**
+     * Records one answer to a question.
+     *
+     * @param key   the question key
+     * @param right whether the answer was correct
+     */
+    public void record(String key, boolean right) {
+        Counts exact = heavy.get(key);
+        if (exact != null) {
+            (right ? exact.correct : exact.incorrect).incrementAndGet();
+            return;
+        }
+        long h = CountMinSketch.hash(key);
+        (right ? correct : incorrect).add(h, 1);
+        if (heavy.size() < heavyCapacity) {
+            long c = correct.estimate(h);
+            long i = incorrect.estimate(h);
+            if (c + i >= promoteAt) {
+                heavy.putIfAbsent(key, new Counts(c, i, c, i));
+            }
+        }
+    }
+
+    /**
+     * Looks up a question's answer counts.
+     *
+     * @param key the question key
+     * @return exact counts for heavy hitters, otherwise sketch estimates
+     */
+    public Difficulty query(String key) {
+        Counts exact = heavy.get(key);
+        if (exact != null) {
+            return new Difficulty(key, exact.correct.get(), exact.incorrect.get(), true);
+        }
+        long h = CountMinSketch.hash(key);
+        return new Difficulty(key, correct.estimate(h), incorrect.estimate(h), false);
+    }
+
+    /**
+     * Lists the most frequently answered questions.
+     *
+     * @param limit maximum number of entries
+     * @return heavy hitters by descending attempts
+     */
+    public List<Difficulty> heavyHitters(int limit) {
+        List<Difficulty> all = new ArrayList<>(heavy.size());
+        for (Map.Entry<String, Counts> e : heavy.entrySet()) {
+            all.add(new Difficulty(e.getKey(), e.getValue().correct.get(),
+                    e.getValue().incorrect.get(), true));
+        }
+        all.sort(Comparator.comparingLong(Difficulty::getAttempts).reversed());
+        return all.size() > limit ? new ArrayList<>(all.subList(0, limit)) : all;
+    }
+
+    /**
+     * Adds another tracker's counts into this one.
+     * <p>
+     * Sketch counters are summed. Heavy hitters present in both trackers
+     * have their exact counts summed. One only in {@code other} is added
+     * while capacity allows, starting from this tracker's own estimate for
+     * it; otherwise only the answers {@code other} counted after promoting
+     * it are folded into the sketches, since the earlier ones are already in
+     * {@code other}'s sketches. A heavy hitter only in this tracker gains
+     * {@code other}'s sketch estimate for it, because queries read its exact
+     * counts and would never see answers added to the sketches.
+     * </p>
+     *
+     * @param other a tracker with the same sketch dimensions
+     */
+    public void merge(QuestionDifficultyTracker other) {
+        // Heavy hitters go first so that new entries are seeded from this
+        // tracker's sketches alone.
+        for (Map.Entry<String, Counts> e : other.heavy.entrySet()) {
+            Counts theirs = e.getValue();
+            long c = theirs.correct.get();
+            long i = theirs.incorrect.get();
+            long sc = theirs.seedCorrect.get();
+            long si = theirs.seedIncorrect.get();
+            long h = CountMinSketch.hash(e.getKey());
+            Counts mine = heavy.get(e.getKey());
+            if (mine == null && heavy.size() < heavyCapacity) {
+                long myC = correct.estimate(h);
+                long myI = incorrect.estimate(h);
+                mine = heavy.putIfAbsent(e.getKey(), new Counts(myC + c, myI + i,
+                        myC + sc, myI + si));
+                if (mine == null) {
+                    continue;
+                }
+            }
+            if (mine != null) {
+                // Their seed reaches our sketches through the merge below.
+                mine.correct.addAndGet(c);
+                mine.incorrect.addAndGet(i);
+                mine.seedCorrect.addAndGet(sc);
+                mine.seedIncorrect.addAndGet(si);
+            } else {
+                correct.add(h, c - sc);
+                incorrect.add(h, i - si);
+            }
+        }
+        for (Map.Entry<String, Counts> e : heavy.entrySet()) {
+            if (other.heavy.containsKey(e.getKey())) {
+                continue;
+            }
+            long h = CountMinSketch.hash(e.getKey());
+            long c = other.correct.estimate(h);
+            long i = other.incorrect.estimate(h);
+            Counts mine = e.getValue();
+            // The same answers reach our sketches through the merge below.
+            mine.correct.addAndGet(c);
+            mine.incorrect.addAndGet(i);
+            mine.seedCorrect.addAndGet(c);
+            mine.seedIncorrect.addAndGet(i);
+        }
+        correct.merge(other.correct);
+        incorrect.merge(other.incorrect);
+    }
+
+    /**
+     * Saves the tracker to a file.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void writeTo(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(heavyCapacity);
+            out.writeLong(promoteAt);
+            correct.writeTo(out);
+            incorrect.writeTo(out);
+            List<Map.Entry<String, Counts>> entries = new ArrayList<>(heavy.entrySet());
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Counts> e : entries) {
+                out.writeUTF(e.getKey());
+                out.writeLong(e.getValue().correct.get());
+                out.writeLong(e.getValue().incorrect.get());
+                out.writeLong(e.getValue().seedCorrect.get());
+                out.writeLong(e.getValue().seedIncorrect.get());
+            }
+        }
+    }
+
+    /**
+     * Loads a tracker saved with {@link #writeTo(Path)}.
+     *
+     * @param file the file to read
+     * @return the tracker
+     * @throws IOException if the file cannot be read or is not a tracker
+     */
+    public static QuestionDifficultyTracker readFrom(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a question difficulty file: " + file);
+            }
+            int capacity = in.readInt();
+            long promoteAt = in.readLong();
+            QuestionDifficultyTracker t = new QuestionDifficultyTracker(
+                    CountMinSketch.readFrom(in), CountMinSketch.readFrom(in), capacity, promoteAt);
+            int n = in.readInt();
+            for (int i = 0; i < n; i++) {
+                t.heavy.put(in.readUTF(), new Counts(in.readLong(), in.readLong(), in.readLong(), in.readLong()));
+            }
+            return t;
+        }
+    }
+}
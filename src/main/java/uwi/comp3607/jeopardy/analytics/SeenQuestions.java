@@ -0,0 +1,224 @@
+package uwi.comp3607.jeopardy.analytics;
+
+import uwi.comp3607.jeopardy.model.Question;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Remembers which questions each player has already answered, across
+ * sessions, so that new boards can avoid repeating them.
+ * <p>
+ * Each player has a {@link BloomFilter} of question keys (category, value
+ * and text). When the current filter has received its planned number of
+ * questions it becomes the previous generation and a new, empty filter takes
+ * over; the one before that is dropped. A player therefore never uses more
+ * than two filters, lookups never cost more than two filter probes, and the
+ * false-positive rate stays near the configured rate however many questions
+ * the player answers. Questions from two generations ago become eligible
+ * again, which for a large bank is a reasonable recycling policy.
+ * </p>
+ * <p>
+ * Players are identified by name, case-insensitively. Histories are loaded
+ * lazily from the storage directory, one small file per player, and
+ * {@link #save()} writes back those that changed. All methods are
+ * thread-safe.
+ * </p>
+ */
+public class SeenQuestions {
+
+    private static final int MAGIC = 0x4A53454E; // "JSEN"
+
+    /** One player's current and previous filters. */
+    private final class History {
+        private BloomFilter current;
+        private BloomFilter previous;
+        private boolean dirty;
+
+        History(BloomFilter current, BloomFilter previous) {
+            this.current = current;
+            this.previous = previous;
+        }
+
+        synchronized void add(long hash) {
+            if (!current.add(hash)) {
+                return;
+            }
+            dirty = true;
+            if (current.getInsertions() >= perGeneration) {
+                previous = current;
+                current = new BloomFilter(perGeneration, falsePositiveRate);
+            }
+        }
+
+        synchronized boolean contains(long hash) {
+            return current.mightContain(hash) || previous != null && previous.mightContain(hash);
+        }
+    }
+
+    private final Path dir;
+    private final int perGeneration;
+    private final double falsePositiveRate;
+    private final Map<String, History> histories = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a store with generations of 20,000 questions at a 1%
+     * false-positive rate, about 48 KiB per player.
+     *
+     * @param dir directory holding the players' files, or {@code null} to
+     *            keep histories in memory only
+     */
+    public SeenQuestions(Path dir) {
+        this(dir, 20_000, 0.01);
+    }
+
+    /**
+     * Creates a store with explicit filter sizing.
+     *
+     * @param dir               directory holding the players' files, or {@code null}
+     * @param perGeneration     questions per filter generation
+     * @param falsePositiveRate chance that an unseen question is reported as seen
+     */
+    public SeenQuestions(Path dir, int perGeneration, double falsePositiveRate) {
+        if (perGeneration < 1 || !(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("Invalid history sizing: "
+                    + perGeneration + " questions at " + falsePositiveRate);
+        }
+        this.dir = dir;
+        this.perGeneration = perGeneration;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    /**
+     * Builds the key that identifies a question across banks and sessions.
+     *
+     * @param q the question
+     * @return the key
+     */
+    public static String key(Question q) {
+        return QuestionDifficultyTracker.key(q.getCategory(), q.getValue(), q.getQuestionText());
+    }
+
+    /**
+     * Records that a player has answered a question.
+     *
+     * @param playerName the player's name
+     * @param q          the question
+     */
+    public void markSeen(String playerName, Question q) {
+        history(playerName).add(CountMinSketch.hash(key(q)));
+    }
+
+    /**
+     * Tests whether a player has probably answered a question before.
+     *
+     * @param playerName the player's name
+     * @param q          the question
+     * @return {@code false} if the player has definitely not seen it
+     */
+    public boolean hasSeen(String playerName, Question q) {
+        return history(playerName).contains(CountMinSketch.hash(key(q)));
+    }
+
+    /**
+     * Returns a test for questions that any of the given players has seen,
+     * for use with {@link uwi.comp3607.jeopardy.bank.BoardSampler}.
+     *
+     * @param playerNames the players who will share the board
+     * @return a predicate that is {@code true} for seen questions
+     */
+    public Predicate<Question> seenByAny(Collection<String> playerNames) {
+        List<History> players = new ArrayList<>(playerNames.size());
+        for (String name : playerNames) {
+            players.add(history(name));
+        }
+        return q -> {
+            long hash = CountMinSketch.hash(key(q));
+            for (History h : players) {
+                if (h.contains(hash)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Writes every history that changed since it was loaded or last saved.
+     * Each file is replaced atomically.
+     *
+     * @throws IOException if a file cannot be written
+     */
+    public void save() throws IOException {
+        if (dir == null) {
+            return;
+        }
+        Files.createDirectories(dir);
+        for (Map.Entry<String, History> e : histories.entrySet()) {
+            History h = e.getValue();
+            synchronized (h) {
+                if (!h.dirty) {
+                    continue;
+                }
+                Path file = fileFor(e.getKey());
+                Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                    out.writeInt(MAGIC);
+                    out.writeBoolean(h.previous != null);
+                    h.current.writeTo(out);
+                    if (h.previous != null) {
+                        h.previous.writeTo(out);
+                    }
+                }
+                Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                h.dirty = false;
+            }
+        }
+    }
+
+    private History history(String playerName) {
+        return histories.computeIfAbsent(normalise(playerName), this::load);
+    }
+
+    /** Loads a player's history; a missing or unreadable file gives an empty one. */
+    private History load(String name) {
+        if (dir != null) {
+            Path file = fileFor(name);
+            if (Files.isRegularFile(file)) {
+                try (DataInputStream in = new DataInputStream(
+                        new BufferedInputStream(Files.newInputStream(file)))) {
+                    if (in.readInt() == MAGIC) {
+                        boolean hasPrevious = in.readBoolean();
+                        BloomFilter current = BloomFilter.readFrom(in);
+                        return new History(current, hasPrevious ? BloomFilter.readFrom(in) : null);
+                    }
+                } catch (IOException ex) {
+                    // Fall through: a damaged history only costs some repeats
+                }
+            }
+        }
+        return new History(new BloomFilter(perGeneration, falsePositiveRate), null);
+    }
+
+    private Path fileFor(String name) {
+        return dir.resolve(String.format("%016x.seen", CountMinSketch.hash(name)));
+    }
+
+    private static String normalise(String playerName) {
+        return playerName.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,202 @@
+package uwi.comp3607.jeopardy.bank;
+
+import uwi.comp3607.jeopardy.io.FileParser;
+import uwi.comp3607.jeopardy.io.FileParserFactory;
+import uwi.comp3607.jeopardy.io.QuestionRecord;
+import uwi.comp3607.jeopardy.io.StringDictionary;
+import uwi.comp3607.jeopardy.model.Question;
+import uwi.comp3607.jeopardy.model.QuestionBoard;
+import uwi.comp3607.jeopardy.validation.QuestionBankValidator;
+import uwi.comp3607.jeopardy.validation.ValidationReport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches question bank files and reloads them in the background when they change.
+ * <p>
+ * Each registered file is exposed as a {@link ReloadableBoard}. A
+ * {@link WatchService} thread notices writes to registered files; after a
+ * short quiet period (so that a burst of writes causes one reload) the file
+ * is re-parsed and validated on a separate reload thread. If it is valid, a
+ * new template board is published atomically; if not, the old board stays in
+ * place and the problem is recorded on the {@link ReloadableBoard}.
+ * </p>
+ * <p>
+ * Questions whose content did not change keep the instance from the
+ * previous template, so a small edit to a large bank only leaves the
+ * changed questions as new objects. Game threads are never blocked: they
+ * only read the published template when starting a session.
+ * </p>
+ */
+public class BankReloader implements Closeable {
+
+    /** Quiet period after the last change before a file is reloaded. */
+    private static final long DEBOUNCE_MILLIS = 200;
+
+    private final WatchService watchService;
+    /** Registered boards keyed by absolute file path. */
+    private final Map<Path, ReloadableBoard> boards = new ConcurrentHashMap<>();
+    /** Directories already registered with the watch service. */
+    private final Set<Path> watchedDirs = ConcurrentHashMap.newKeySet();
+    /**
+     * Latest reload scheduled for each file. A new change cancels it and
+     * schedules another, so the reload waits for the last change.
+     */
+    private final Map<Path, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+    /** Runs reloads off the watch thread and off game threads. */
+    private final ScheduledExecutorService reloads;
+    private final Thread watcher;
+
+    /**
+     * Creates a reloader and starts its background threads.
+     *
+     * @throws IOException if the watch service cannot be created
+     */
+    public BankReloader() throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.reloads = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "bank-reload");
+            t.setDaemon(true);
+            return t;
+        });
+        this.watcher = new Thread(this::watchLoop, "bank-watcher");
+        this.watcher.setDaemon(true);
+        this.watcher.start();
+    }
+
+    /**
+     * Loads a bank file and starts watching it for changes.
+     * <p>
+     * Registering the same file twice returns the same board.
+     * </p>
+     *
+     * @param file the bank file (CSV, JSON or XML, optionally compressed)
+     * @return the reloadable board for the file
+     * @throws IOException if the initial load fails or the file is invalid
+     */
+    public ReloadableBoard register(Path file) throws IOException {
+        Path key = file.toAbsolutePath().normalize();
+        ReloadableBoard existing = boards.get(key);
+        if (existing != null) return existing;
+
+        ReloadableBoard board = new ReloadableBoard(key, load(key, null));
+        existing = boards.putIfAbsent(key, board);
+        if (existing != null) return existing;
+
+        Path dir = key.getParent();
+        if (watchedDirs.add(dir)) {
+            dir.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+        return board;
+    }
+
+    /**
+     * Stops watching and reloading. Boards already handed out stay usable.
+     *
+     * @throws IOException if the watch service cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        reloads.shutdownNow();
+        watchService.close();
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        boards.keySet().forEach(this::schedule);
+                    } else {
+                        schedule(dir.resolve((Path) event.context()));
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // reloader closed
+        }
+    }
+
+    private void schedule(Path file) {
+        Path key = file.toAbsolutePath().normalize();
+        if (!boards.containsKey(key)) return;
+        pending.compute(key, (k, previous) -> {
+            // A reload that has already started runs to completion.
+            if (previous != null) previous.cancel(false);
+            return reloads.schedule(() -> reload(k), DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+        });
+    }
+
+    private void reload(Path file) {
+        ReloadableBoard board = boards.get(file);
+        try {
+            board.publish(load(file, board.template()));
+        } catch (IOException | RuntimeException e) {
+            board.reject(e.getMessage());
+        }
+    }
+
+    /**
+     * Parses and validates a bank file into a new template board.
+     *
+     * @param file     the file to load
+     * @param previous the current template whose unchanged questions are
+     *                 reused, or {@code null}
+     * @return the new template
+     * @throws IOException if the file cannot be read or fails validation
+     */
+    private QuestionBoard load(Path file, QuestionBoard previous) throws IOException {
+        List<QuestionRecord> records = FileParserFactory.readRecords(file.toFile(), new StringDictionary());
+        ValidationReport report = new QuestionBankValidator().validate(records);
+        if (!report.isValid()) {
+            StringBuilder msg = new StringBuilder("Rejected ").append(file.getFileName()).append(":")
+                    .append(System.lineSeparator());
+            report.writeTo(msg);
+            throw new IOException(msg.toString());
+        }
+
+        QuestionBoard fresh = FileParser.buildBoard(records);
+        if (previous == null) return fresh;
+
+        QuestionBoard merged = new QuestionBoard();
+        for (String category : fresh.getCategories()) {
+            for (int value : fresh.getValuesForCategory(category)) {
+                Question q = fresh.getQuestion(category, value);
+                Question old = previous.getQuestion(category, value);
+                merged.addQuestion(old != null && sameContent(old, q) ? old : q);
+            }
+        }
+        return merged;
+    }
+
+    private static boolean sameContent(Question a, Question b) {
+        return Objects.equals(a.getQuestionText(), b.getQuestionText())
+                && Objects.equals(a.getOptionA(), b.getOptionA())
+                && Objects.equals(a.getOptionB(), b.getOptionB())
+                && Objects.equals(a.getOptionC(), b.getOptionC())
+                && Objects.equals(a.getOptionD(), b.getOptionD())
+                && Objects.equals(a.getCorrectAnswer(), b.getCorrectAnswer());
+    }
+}
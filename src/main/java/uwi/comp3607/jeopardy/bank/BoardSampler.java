@@ -0,0 +1,128 @@
+package uwi.comp3607.jeopardy.bank;
+
+import uwi.comp3607.jeopardy.model.Question;
+import uwi.comp3607.jeopardy.model.QuestionBoard;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Builds fresh session boards by sampling from a {@link QuestionBank}.
+ * <p>
+ * A board has {@code N} categories, each with its lowest {@code T} value
+ * tiers (e.g. 100&ndash;500), and one question drawn uniformly at random from
+ * each tier. Categories are chosen uniformly among those with at least
+ * {@code T} tiers using a sparse Fisher&ndash;Yates shuffle, so the work done
+ * is proportional to the board size, not the bank size.
+ * </p>
+ * <p>
+ * The sampler holds no mutable state. Each call uses its own seeded
+ * {@link SplittableRandom}, so any number of threads can draw boards at the
+ * same time, and the same seed always yields the same board.
+ * </p>
+ * <p>
+ * An optional exclusion test, such as
+ * {@link uwi.comp3607.jeopardy.analytics.SeenQuestions#seenByAny}, steers
+ * each draw away from questions the players have already seen. Each tier is
+ * probed from a random position for at most {@value #MAX_PROBES} questions;
+ * if all of them are excluded the first random pick is used, so a board can
+ * always be built and sampling cost does not grow with tier size.
+ * </p>
+ */
+public class BoardSampler {
+
+    /** Most questions examined per tier when looking for an unexcluded one. */
+    static final int MAX_PROBES = 64;
+
+    /** Bank that questions are drawn from. */
+    private final QuestionBank bank;
+
+    /**
+     * Creates a sampler over the given bank.
+     *
+     * @param bank the bank to sample from
+     */
+    public BoardSampler(QuestionBank bank) {
+        this.bank = bank;
+    }
+
+    /**
+     * Samples a board using a random seed.
+     *
+     * @param categoryCount number of categories on the board
+     * @param tierCount     number of value tiers per category
+     * @return a new board of unused question copies
+     * @throws IllegalArgumentException if the bank cannot fill such a board
+     */
+    public QuestionBoard sample(int categoryCount, int tierCount) {
+        return sample(categoryCount, tierCount, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * Samples a board deterministically from a seed.
+     *
+     * @param categoryCount number of categories on the board
+     * @param tierCount     number of value tiers per category
+     * @param seed          random seed; equal seeds give equal boards
+     * @return a new board of unused question copies
+     * @throws IllegalArgumentException if the bank cannot fill such a board
+     */
+    public QuestionBoard sample(int categoryCount, int tierCount, long seed) {
+        return sample(categoryCount, tierCount, seed, q -> false);
+    }
+
+    /**
+     * Samples a board deterministically, avoiding excluded questions where
+     * the bank allows.
+     *
+     * @param categoryCount number of categories on the board
+     * @param tierCount     number of value tiers per category
+     * @param seed          random seed; equal seeds and exclusions give equal boards
+     * @param exclude       {@code true} for questions that should not be drawn
+     * @return a new board of unused question copies
+     * @throws IllegalArgumentException if the bank cannot fill such a board
+     */
+    public QuestionBoard sample(int categoryCount, int tierCount, long seed, Predicate<Question> exclude) {
+        if (categoryCount < 1 || tierCount < 1) {
+            throw new IllegalArgumentException("Board must have at least one category and tier");
+        }
+        int eligible = bank.countCategoriesWithTiers(tierCount);
+        if (eligible < categoryCount) {
+            throw new IllegalArgumentException("Bank has only " + eligible
+                    + " categories with " + tierCount + " tiers; " + categoryCount + " requested");
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        QuestionBank.CategoryTiers[] categories = bank.byTierCount();
+        // Sparse Fisher-Yates: only swapped positions are remembered
+        Map<Integer, Integer> swapped = new HashMap<>(categoryCount * 2);
+        QuestionBoard board = new QuestionBoard();
+
+        for (int i = 0; i < categoryCount; i++) {
+            int j = i + random.nextInt(eligible - i);
+            int picked = swapped.getOrDefault(j, j);
+            swapped.put(j, swapped.getOrDefault(i, i));
+
+            QuestionBank.CategoryTiers c = categories[picked];
+            for (int t = 0; t < tierCount; t++) {
+                board.addQuestion(pick(c.questions[t], random, exclude).copy());
+            }
+        }
+        return board;
+    }
+
+    /** Picks a random question from a tier, preferring ones not excluded. */
+    private static Question pick(Question[] tier, SplittableRandom random, Predicate<Question> exclude) {
+        int start = random.nextInt(tier.length);
+        int probes = Math.min(tier.length, MAX_PROBES);
+        for (int i = 0, j = start; i < probes; i++, j = j + 1 == tier.length ? 0 : j + 1) {
+            if (!exclude.test(tier[j])) {
+                return tier[j];
+            }
+        }
+        return tier[start];
+    }
+}
@@ -0,0 +1,169 @@
+package uwi.comp3607.jeopardy.bank;
+
+import uwi.comp3607.jeopardy.io.FileParser;
+import uwi.comp3607.jeopardy.io.FileParserFactory;
+import uwi.comp3607.jeopardy.io.QuestionRecord;
+import uwi.comp3607.jeopardy.io.StringDictionary;
+import uwi.comp3607.jeopardy.model.Question;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Immutable index over a large master bank of questions.
+ * <p>
+ * Unlike a {@link uwi.comp3607.jeopardy.model.QuestionBoard}, which holds one
+ * question per (category, value), a bank keeps every question and groups them
+ * by category and then by value tier. Each tier is stored as an array so a
+ * question can be picked by index in constant time.
+ * </p>
+ * <p>
+ * A bank is never modified after construction and can be shared freely
+ * between threads. Questions handed out for play should be copied with
+ * {@link Question#copy()} so that each board has its own used flags.
+ * </p>
+ */
+public class QuestionBank {
+
+    /** All questions of one category, grouped by value tier. */
+    static final class CategoryTiers {
+        /** Category name. */
+        final String name;
+        /** Distinct point values, ascending. */
+        final int[] values;
+        /** Questions for each entry of {@link #values}. */
+        final Question[][] questions;
+
+        CategoryTiers(String name, int[] values, Question[][] questions) {
+            this.name = name;
+            this.values = values;
+            this.questions = questions;
+        }
+    }
+
+    /** Category name &rarr; tiers, in first-seen order. */
+    private final Map<String, CategoryTiers> categories;
+    /** Categories sorted by number of tiers, most tiers first. */
+    private final CategoryTiers[] byTierCount;
+    /** Total number of questions in the bank. */
+    private final int questionCount;
+
+    private QuestionBank(Map<String, CategoryTiers> categories, int questionCount) {
+        this.categories = categories;
+        this.questionCount = questionCount;
+        this.byTierCount = categories.values().toArray(new CategoryTiers[0]);
+        Arrays.sort(byTierCount, (a, b) -> Integer.compare(b.values.length, a.values.length));
+    }
+
+    /**
+     * Builds a bank from the given questions.
+     *
+     * @param questions the questions to index
+     * @return a new immutable bank
+     */
+    public static QuestionBank of(Collection<? extends Question> questions) {
+        Map<String, SortedMap<Integer, List<Question>>> grouped = new LinkedHashMap<>();
+        for (Question q : questions) {
+            grouped.computeIfAbsent(q.getCategory(), c -> new TreeMap<>())
+                   .computeIfAbsent(q.getValue(), v -> new ArrayList<>())
+                   .add(q);
+        }
+
+        Map<String, CategoryTiers> categories = new LinkedHashMap<>();
+        for (Map.Entry<String, SortedMap<Integer, List<Question>>> e : grouped.entrySet()) {
+            int[] values = new int[e.getValue().size()];
+            Question[][] tiers = new Question[values.length][];
+            int i = 0;
+            for (Map.Entry<Integer, List<Question>> tier : e.getValue().entrySet()) {
+                values[i] = tier.getKey();
+                tiers[i] = tier.getValue().toArray(new Question[0]);
+                i++;
+            }
+            categories.put(e.getKey(), new CategoryTiers(e.getKey(), values, tiers));
+        }
+        return new QuestionBank(Collections.unmodifiableMap(categories), questions.size());
+    }
+
+    /**
+     * Loads every question from a game file into a bank.
+     * <p>
+     * Unlike {@link FileParser#parse(File)}, questions that share a category
+     * and value are all kept.
+     * </p>
+     *
+     * @param file a CSV, JSON or XML game file, optionally gzip/zstd compressed
+     * @return a new immutable bank
+     * @throws IOException if the file cannot be read or has an invalid value
+     */
+    public static QuestionBank load(File file) throws IOException {
+        List<Question> questions = new ArrayList<>();
+        for (QuestionRecord r : FileParserFactory.readRecords(file, new StringDictionary())) {
+            if (r.hasAllColumns()) {
+                questions.add(r.toQuestion());
+            }
+        }
+        return of(questions);
+    }
+
+    /** @return total number of questions in the bank */
+    public int getQuestionCount() { return questionCount; }
+
+    /** @return number of distinct categories in the bank */
+    public int getCategoryCount() { return categories.size(); }
+
+    /** @return category names in first-seen order */
+    public Set<String> getCategories() { return categories.keySet(); }
+
+    /**
+     * Returns the distinct point values available for a category.
+     *
+     * @param category the category name
+     * @return sorted set of values, empty if the category is unknown
+     */
+    public SortedSet<Integer> getTiers(String category) {
+        SortedSet<Integer> result = new TreeSet<>();
+        CategoryTiers c = categories.get(category);
+        if (c != null) {
+            for (int v : c.values) result.add(v);
+        }
+        return result;
+    }
+
+    /**
+     * Returns all questions for a category and value.
+     *
+     * @param category the category name
+     * @param value    the point value
+     * @return unmodifiable list of questions, empty if none
+     */
+    public List<Question> getQuestions(String category, int value) {
+        CategoryTiers c = categories.get(category);
+        if (c == null) return List.of();
+        int i = Arrays.binarySearch(c.values, value);
+        return i < 0 ? List.of() : Collections.unmodifiableList(Arrays.asList(c.questions[i]));
+    }
+
+    /**
+     * Counts the categories that have at least the given number of tiers.
+     * <p>
+     * These are exactly the first {@code n} entries of {@link #byTierCount()}.
+     * </p>
+     *
+     * @param tierCount the minimum number of tiers
+     * @return number of eligible categories
+     */
+    int countCategoriesWithTiers(int tierCount) {
+        int lo = 0;
+        int hi = byTierCount.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (byTierCount[mid].values.length >= tierCount) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** @return categories sorted by tier count, most tiers first */
+    CategoryTiers[] byTierCount() { return byTierCount; }
+}
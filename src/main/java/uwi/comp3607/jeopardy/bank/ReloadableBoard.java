@@ -0,0 +1,82 @@
+package uwi.comp3607.jeopardy.bank;
+
+import uwi.comp3607.jeopardy.model.QuestionBoard;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A question bank file whose board is kept up to date by a {@link BankReloader}.
+ * <p>
+ * The current board is held as a template that is never played on directly.
+ * Each call to {@link #newSession()} returns a private copy of the template
+ * that is current at that moment. A reload swaps in a new template with a
+ * single atomic write, so sessions that have already started keep their
+ * board, and no game thread ever waits for a reload.
+ * </p>
+ */
+public class ReloadableBoard {
+
+    /** Snapshot of the published template together with its version. */
+    private static final class Snapshot {
+        final QuestionBoard template;
+        final long version;
+
+        Snapshot(QuestionBoard template, long version) {
+            this.template = template;
+            this.version = version;
+        }
+    }
+
+    /** The bank file this board is loaded from. */
+    private final Path file;
+    /** Currently published template. */
+    private final AtomicReference<Snapshot> current;
+    /** Description of the most recent failed reload, or {@code null}. */
+    private volatile String lastError;
+
+    ReloadableBoard(Path file, QuestionBoard initial) {
+        this.file = file;
+        this.current = new AtomicReference<>(new Snapshot(initial, 1));
+    }
+
+    /** @return the bank file this board is loaded from */
+    public Path getFile() { return file; }
+
+    /** @return number of times a board has been published, starting at 1 */
+    public long getVersion() { return current.get().version; }
+
+    /**
+     * Returns the reason the most recent reload was rejected, if it was.
+     * <p>
+     * A rejected reload leaves the previous board published.
+     * </p>
+     *
+     * @return error description, or {@code null} if the last reload succeeded
+     */
+    public String getLastError() { return lastError; }
+
+    /**
+     * Returns a fresh, unused board for a new game session.
+     *
+     * @return a copy of the currently published board
+     */
+    public QuestionBoard newSession() {
+        return current.get().template.copy();
+    }
+
+    /** @return the published template; callers must not modify it */
+    QuestionBoard template() {
+        return current.get().template;
+    }
+
+    void publish(QuestionBoard template) {
+        Snapshot prev = current.get();
+        current.set(new Snapshot(template, prev.version + 1));
+        lastError = null;
+    }
+
+    void reject(String error) {
+        lastError = error;
+    }
+}
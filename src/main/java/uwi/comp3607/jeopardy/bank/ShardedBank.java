@@ -0,0 +1,359 @@
+package uwi.comp3607.jeopardy.bank;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import uwi.comp3607.jeopardy.io.FileParserFactory;
+import uwi.comp3607.jeopardy.io.Mappers;
+import uwi.comp3607.jeopardy.io.QuestionRecord;
+import uwi.comp3607.jeopardy.io.StringDictionary;
+import uwi.comp3607.jeopardy.model.CategorySource;
+import uwi.comp3607.jeopardy.model.Question;
+import uwi.comp3607.jeopardy.model.QuestionBoard;
+import uwi.comp3607.jeopardy.validation.QuestionBankValidator;
+import uwi.comp3607.jeopardy.validation.ValidationReport;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A question bank stored as one shard file per category plus a small
+ * manifest, opened without reading any shard.
+ * <p>
+ * The manifest ({@value #MANIFEST}) lists every category with its shard file,
+ * question count and point values. {@link #open(Path)} reads only the
+ * manifest, so opening a bank costs time proportional to the number of
+ * categories, not the number of questions. Each shard is a gzip-compressed
+ * JSON game file, readable by the ordinary parsers.
+ * </p>
+ * <p>
+ * {@link #toBoard()} returns a board that loads a category's shard the first
+ * time one of its questions is needed. Shards are read on a small pool of
+ * background threads: the first few categories are prefetched when the bank
+ * is opened, and whenever a shard is requested the next categories in
+ * manifest order are prefetched after it. A loaded shard is cached, so later
+ * boards from the same bank share it.
+ * </p>
+ * <p>
+ * Every shard is checked with {@link QuestionBankValidator} as it is read,
+ * since shard files can be edited or damaged after the bank was written. A
+ * shard with any invalid record, or with a record from another category,
+ * fails to load as a whole instead of silently losing questions.
+ * </p>
+ */
+public class ShardedBank implements CategorySource, Closeable {
+
+    /** File name of the manifest inside a bank directory. */
+    public static final String MANIFEST = "manifest.json";
+
+    /** Manifest entry for one category. */
+    private static final class Shard {
+        final String category;
+        final int position;
+        final String file;
+        final int questionCount;
+        final SortedSet<Integer> values;
+
+        Shard(String category, int position, String file, int questionCount, SortedSet<Integer> values) {
+            this.category = category;
+            this.position = position;
+            this.file = file;
+            this.questionCount = questionCount;
+            this.values = values;
+        }
+    }
+
+    private final Path dir;
+    private final List<Shard> shards;
+    private final Map<String, Shard> byCategory;
+    private final int prefetchCount;
+    private final ExecutorService loader;
+    private final Map<String, CompletableFuture<List<Question>>> loaded = new ConcurrentHashMap<>();
+
+    private ShardedBank(Path dir, List<Shard> shards, int prefetchCount) {
+        this.dir = dir;
+        this.shards = shards;
+        this.byCategory = new LinkedHashMap<>();
+        for (Shard s : shards) {
+            byCategory.put(s.category, s);
+        }
+        this.prefetchCount = prefetchCount;
+        this.loader = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "shard-loader");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Opens a bank, prefetching the next two categories after each one used.
+     *
+     * @param dir the bank directory
+     * @return the opened bank
+     * @throws IOException if the manifest cannot be read
+     */
+    public static ShardedBank open(Path dir) throws IOException {
+        return open(dir, 2);
+    }
+
+    /**
+     * Opens a bank by reading its manifest.
+     *
+     * @param dir           the bank directory
+     * @param prefetchCount categories to prefetch at open and after each use
+     * @return the opened bank
+     * @throws IOException if the manifest cannot be read or is malformed
+     */
+    public static ShardedBank open(Path dir, int prefetchCount) throws IOException {
+        JsonNode root = Mappers.json().readTree(dir.resolve(MANIFEST).toFile());
+        JsonNode categories = root.path("categories");
+        if (!categories.isArray()) {
+            throw new IOException("Manifest has no categories: " + dir.resolve(MANIFEST));
+        }
+        List<Shard> shards = new ArrayList<>(categories.size());
+        for (JsonNode c : categories) {
+            SortedSet<Integer> values = new TreeSet<>();
+            for (JsonNode v : c.path("values")) {
+                values.add(v.asInt());
+            }
+            String name = c.path("name").asText(null);
+            String file = c.path("shard").asText(null);
+            if (name == null || file == null) {
+                throw new IOException("Manifest entry " + shards.size() + " lacks a name or shard");
+            }
+            shards.add(new Shard(name, shards.size(), file, c.path("questions").asInt(),
+                    Collections.unmodifiableSortedSet(values)));
+        }
+        ShardedBank bank = new ShardedBank(dir, shards, prefetchCount);
+        for (int i = 0; i < Math.min(prefetchCount, shards.size()); i++) {
+            bank.prefetch(shards.get(i).category);
+        }
+        return bank;
+    }
+
+    /**
+     * Writes questions as a sharded bank, one shard per category.
+     *
+     * @param questions the questions, in the order categories should appear
+     * @param dir       the bank directory; created if needed
+     * @throws IOException if a file cannot be written
+     */
+    public static void write(Collection<? extends Question> questions, Path dir) throws IOException {
+        Map<String, List<Question>> grouped = new LinkedHashMap<>();
+        for (Question q : questions) {
+            grouped.computeIfAbsent(q.getCategory(), c -> new ArrayList<>()).add(q);
+        }
+        Files.createDirectories(dir);
+
+        try (JsonGenerator manifest = Mappers.jsonFactory().createGenerator(
+                Files.newOutputStream(dir.resolve(MANIFEST)), JsonEncoding.UTF8)) {
+            manifest.useDefaultPrettyPrinter();
+            manifest.writeStartObject();
+            manifest.writeNumberField("version", 1);
+            manifest.writeNumberField("questions", questions.size());
+            manifest.writeArrayFieldStart("categories");
+            int n = 0;
+            for (Map.Entry<String, List<Question>> e : grouped.entrySet()) {
+                String file = String.format("%05d.json.gz", n++);
+                SortedSet<Integer> values = new TreeSet<>();
+                try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(dir.resolve(file)), 1 << 16), 1 << 16)) {
+                    writeShard(e.getValue(), out, values);
+                }
+                manifest.writeStartObject();
+                manifest.writeStringField("name", e.getKey());
+                manifest.writeStringField("shard", file);
+                manifest.writeNumberField("questions", e.getValue().size());
+                manifest.writeArrayFieldStart("values");
+                for (int v : values) {
+                    manifest.writeNumber(v);
+                }
+                manifest.writeEndArray();
+                manifest.writeEndObject();
+            }
+            manifest.writeEndArray();
+            manifest.writeEndObject();
+        }
+    }
+
+    /** Writes one category's questions in the JSON game file format. */
+    private static void writeShard(List<Question> questions, OutputStream out,
+                                   SortedSet<Integer> values) throws IOException {
+        try (JsonGenerator gen = Mappers.jsonFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.writeStartArray();
+            for (Question q : questions) {
+                values.add(q.getValue());
+                gen.writeStartObject();
+                gen.writeStringField("Category", q.getCategory());
+                gen.writeNumberField("Value", q.getValue());
+                gen.writeStringField("Question", q.getQuestionText());
+                gen.writeObjectFieldStart("Options");
+                gen.writeStringField("A", q.getOptionA());
+                gen.writeStringField("B", q.getOptionB());
+                gen.writeStringField("C", q.getOptionC());
+                gen.writeStringField("D", q.getOptionD());
+                gen.writeEndObject();
+                gen.writeStringField("CorrectAnswer", q.getCorrectAnswer());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    /** @return category names in manifest order */
+    public List<String> getCategories() {
+        return List.copyOf(byCategory.keySet());
+    }
+
+    /** @return total number of questions listed in the manifest */
+    public int getQuestionCount() {
+        int total = 0;
+        for (Shard s : shards) {
+            total += s.questionCount;
+        }
+        return total;
+    }
+
+    /**
+     * Checks whether a category's shard has been read or is being read.
+     *
+     * @param category the category name
+     * @return {@code true} if a load has been started
+     */
+    public boolean isRequested(String category) {
+        return loaded.containsKey(category);
+    }
+
+    /**
+     * Returns a board over every category that loads each one on first use.
+     *
+     * @return a new lazy board
+     */
+    public QuestionBoard toBoard() {
+        Map<String, SortedSet<Integer>> values = new LinkedHashMap<>();
+        for (Shard s : shards) {
+            values.put(s.category, s.values);
+        }
+        return QuestionBoard.lazy(values, this);
+    }
+
+    @Override
+    public List<Question> load(String category) throws IOException {
+        Shard s = byCategory.get(category);
+        if (s == null) {
+            return List.of();
+        }
+        CompletableFuture<List<Question>> f = request(s);
+        for (int i = 1; i <= prefetchCount && s.position + i < shards.size(); i++) {
+            request(shards.get(s.position + i));
+        }
+        try {
+            return f.join();
+        } catch (CompletionException ex) {
+            // Forget the failure so that a later request retries the shard
+            loaded.remove(category, f);
+            if (ex.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) ex.getCause()).getCause();
+            }
+            throw ex;
+        }
+    }
+
+    @Override
+    public void prefetch(String category) {
+        Shard s = byCategory.get(category);
+        if (s != null) {
+            request(s);
+        }
+    }
+
+    /** Stops the background loader; shards already loaded stay available. */
+    @Override
+    public void close() {
+        loader.shutdownNow();
+    }
+
+    private CompletableFuture<List<Question>> request(Shard s) {
+        return loaded.computeIfAbsent(s.category, c -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return readShard(s);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, loader));
+    }
+
+    private List<Question> readShard(Shard s) throws IOException {
+        File file = dir.resolve(s.file).toFile();
+        List<QuestionRecord> records = FileParserFactory.readRecords(file, new StringDictionary());
+        ValidationReport report = new QuestionBankValidator().validate(records);
+        if (!report.isValid()) {
+            StringBuilder problems = new StringBuilder();
+            report.writeTo(problems);
+            throw new IOException("Shard " + s.file + " of category " + s.category
+                    + " is invalid:" + System.lineSeparator() + problems);
+        }
+        List<Question> questions = new ArrayList<>(records.size());
+        for (QuestionRecord r : records) {
+            if (!s.category.equals(r.getCategory())) {
+                throw new IOException("Shard " + s.file + " of category " + s.category
+                        + " holds a question from category " + r.getCategory());
+            }
+            questions.add(r.toQuestion());
+        }
+        return Collections.unmodifiableList(questions);
+    }
+
+    /**
+     * Splits a game file into a sharded bank.
+     * <p>
+     * Usage: {@code ShardedBank <game file> <bank directory>}
+     * </p>
+     *
+     * <p>
+     * The game file is validated first; if any record is invalid, the
+     * problems are printed and no bank is written.
+     * </p>
+     *
+     * @param args the input file and output directory
+     * @throws IOException if the file cannot be read or the bank written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: ShardedBank <game file> <bank directory>");
+            System.exit(2);
+        }
+        List<QuestionRecord> records = FileParserFactory.readRecords(new File(args[0]), new StringDictionary());
+        ValidationReport report = new QuestionBankValidator().validate(records);
+        if (!report.isValid()) {
+            report.writeTo(System.err);
+            System.exit(1);
+        }
+        List<Question> questions = new ArrayList<>(records.size());
+        for (QuestionRecord r : records) {
+            questions.add(r.toQuestion());
+        }
+        write(questions, Path.of(args[1]));
+        System.out.println("Wrote " + questions.size() + " questions to " + args[1]);
+    }
+}
@@ -0,0 +1,124 @@
+package uwi.comp3607.jeopardy.console;
+
+import uwi.comp3607.jeopardy.logging.GameEvent;
+import uwi.comp3607.jeopardy.logging.GameEventListener;
+import uwi.comp3607.jeopardy.model.Player;
+import uwi.comp3607.jeopardy.model.QuestionBoard;
+
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Renders the per-turn board listing for the console game loop.
+ * <p>
+ * Each category's line (e.g. {@code  - Arrays (100, 200X, 300)}) is built
+ * once and cached. When a question is answered, the renderer receives the
+ * "Answer Question" event and rebuilds only that category's line. Every frame
+ * &mdash; player, score, categories and the option menu &mdash; is assembled
+ * in memory and written to the terminal with a single {@code print} and
+ * {@code flush}, instead of dozens of small writes.
+ * </p>
+ * <p>
+ * When a timed turn expires, the "Turn Timeout" event is announced right
+ * away, since the game loop is still blocked waiting for the player's input.
+ * </p>
+ */
+public class BoardRenderer implements GameEventListener {
+
+    /** Board being displayed. */
+    private final QuestionBoard board;
+    /** Terminal output. */
+    private final PrintStream out;
+    /** Cached line per category, in board order; {@code null} when stale. */
+    private final Map<String, String> lines = new LinkedHashMap<>();
+    /** Reused buffer for assembling a frame. */
+    private final StringBuilder frame = new StringBuilder(1024);
+
+    /**
+     * Creates a renderer for a board.
+     *
+     * @param board the board to display
+     * @param out   the stream to write frames to
+     */
+    public BoardRenderer(QuestionBoard board, PrintStream out) {
+        this.board = board;
+        this.out = out;
+        for (String category : board.getCategories()) {
+            lines.put(category, null);
+        }
+    }
+
+    /**
+     * Writes one frame for the given player, ending with the option prompt.
+     *
+     * @param current the player whose turn it is
+     */
+    public synchronized void render(Player current) {
+        String nl = System.lineSeparator();
+        frame.setLength(0);
+        frame.append(nl)
+             .append("Current player: ").append(current.getName()).append(nl)
+             .append("Current score: ").append(current.getScore()).append(nl)
+             .append("Categories:").append(nl);
+        for (Map.Entry<String, String> e : lines.entrySet()) {
+            String line = e.getValue();
+            if (line == null) {
+                line = renderCategory(e.getKey());
+                e.setValue(line);
+            }
+            frame.append(line).append(nl);
+        }
+        frame.append("Options: ").append(nl)
+             .append(" 1. Choose a question").append(nl)
+             .append(" 2. Quit game").append(nl)
+             .append("Select option: ");
+
+        out.print(frame);
+        out.flush();
+    }
+
+    /**
+     * Marks a category's cached line as stale.
+     *
+     * @param category the category whose questions changed
+     */
+    public synchronized void invalidate(String category) {
+        if (lines.containsKey(category)) {
+            lines.put(category, null);
+        }
+    }
+
+    /**
+     * Invalidates the answered category when an "Answer Question" event
+     * arrives.
+     *
+     * @param event the published event
+     */
+    @Override
+    public void onEvent(GameEvent event) {
+        if ("Answer Question".equals(event.getActivity())) {
+            invalidate(event.getCategory());
+        } else if ("Turn Timeout".equals(event.getActivity())) {
+            String nl = System.lineSeparator();
+            synchronized (this) {
+                out.print(nl + "Time is up! " + event.getPlayerName()
+                        + " forfeits the turn. Press Enter to continue." + nl);
+                out.flush();
+            }
+        }
+    }
+
+    private String renderCategory(String category) {
+        StringBuilder sb = new StringBuilder(" - ").append(category).append(" (");
+        Iterator<Integer> iter = board.getValuesForCategory(category).iterator();
+        while (iter.hasNext()) {
+            int v = iter.next();
+            sb.append(v);
+            if (!board.hasQuestion(category, v)) sb.append('X');
+            if (iter.hasNext()) sb.append(", ");
+        }
+        return sb.append(')').toString();
+    }
+}
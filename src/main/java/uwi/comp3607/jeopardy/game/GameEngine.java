@@ -1,13 +1,16 @@
 package uwi.comp3607.jeopardy.game;
 
+import uwi.comp3607.jeopardy.analytics.SeenQuestions;
 import uwi.comp3607.jeopardy.logging.*;
 import uwi.comp3607.jeopardy.model.Player;
 import uwi.comp3607.jeopardy.model.Question;
 import uwi.comp3607.jeopardy.model.QuestionBoard;
 
+import java.io.UncheckedIOException;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Coordinates the core Jeopardy gameplay for a single session.
@@ -20,6 +23,14 @@ import java.util.List;
  * This class does not perform any console I/O itself. User interaction is
  * handled by higher-level code such as {@link uwi.comp3607.jeopardy.App}.
  * </p>
+ * <p>
+ * Turns can optionally be time-limited with {@link #setTurnTimeLimit}. The
+ * deadline lives on a {@link HashedWheelTimer} that may be shared by many
+ * engines; when it fires before the player answers, the turn is forfeited,
+ * recorded in the history and published as a "Turn Timeout" event. Because
+ * the timer fires on its own thread, the methods that change turn state are
+ * synchronized.
+ * </p>
  */
 public class GameEngine {
 /** Current game state (players, board, and current player index). */
@@ -29,6 +40,23 @@ public class GameEngine {
     private final GameEventBus eventBus;
     /** Chronological history of all turns taken during this game. */
     private final List<Turn> turnHistory = new ArrayList<>();
+    /** Per-player statistics, updated as each turn ends. */
+    private final PlayerStats stats;
+
+    /** Timer used for turn deadlines, or {@code null} if turns are untimed. */
+    private HashedWheelTimer timer;
+    /** Time allowed per turn, in nanoseconds. */
+    private long turnLimitNanos;
+    /** Deadline of the current turn, if one is scheduled. */
+    private HashedWheelTimer.Timeout deadline;
+    /** Number of the current turn; increases whenever a turn ends. */
+    private long turnNumber;
+    /** Question selected during the current turn but not yet answered. */
+    private Question pendingQuestion;
+    /** Players' question histories, or {@code null} if not tracked. */
+    private SeenQuestions seenQuestions;
+    /** Events held back while {@link #applyMoves} runs, otherwise {@code null}. */
+    private List<GameEvent> batch;
 
      /**
      * Creates a new game engine wired to a game state and event bus.
@@ -39,6 +67,7 @@ public class GameEngine {
     public GameEngine(GameState state, GameEventBus eventBus) {
         this.state = state;
         this.eventBus = eventBus;
+        this.stats = new PlayerStats(state.getPlayers(), state.getBoard().getCategories(), this);
     }
 
     /**
@@ -63,6 +92,21 @@ public class GameEngine {
         return turnHistory;
     }
 
+    /**
+     * Returns the per-player statistics for this game.
+     * <p>
+     * The statistics are updated in constant time as each turn is answered
+     * or forfeited, so they can be queried at any point without rescanning
+     * the turn history. Queries hold this engine's lock, so synchronize on
+     * the engine to read several figures from the same turn.
+     * </p>
+     *
+     * @return the statistics
+     */
+    public PlayerStats getStats() {
+        return stats;
+    }
+
     /**
      * Determines whether the game is over.
      * <p>
@@ -75,7 +119,7 @@ public class GameEngine {
      *
      * @return {@code true} if no more turns should be played
      */
-    public boolean isGameOver() {
+    public synchronized boolean isGameOver() {
         return state.isQuit() || state.getBoard().allQuestionsUsed();
     }
 
@@ -86,9 +130,10 @@ public class GameEngine {
      * "Exit Game" event on the event bus.
      * </p>
      */
-    public void quitGame() {
+    public synchronized void quitGame() {
         state.setQuit(true);
-        eventBus.publish(GameEvent.simple(state.getCaseId(), null,
+        cancelDeadline();
+        publish(GameEvent.simple(state.getCaseId(), null,
                 "Exit Game", Instant.now()));
     }
 
@@ -107,25 +152,56 @@ public class GameEngine {
      * @param category the question category name
      * @param value    the point value of the chosen question
      * @return the selected {@link Question}, or {@code null} if not available
+     * @throws UncheckedIOException if the category is on a lazy board and
+     *                              cannot be loaded; nothing is published
      */
-    public Question selectQuestion(Player player, String category, int value) {
+    public synchronized Question selectQuestion(Player player, String category, int value) {
         QuestionBoard board = state.getBoard();
         if (!board.hasQuestion(category, value)) {
             return null;
         }
+        // Load the question first, so a category that fails to load leaves no events
+        Question q = board.getQuestion(category, value);
+        if (q == null || q.isUsed()) {
+            return null;
+        }
 
-        eventBus.publish(GameEvent.withQuestion(state.getCaseId(),
+        publish(GameEvent.withQuestion(state.getCaseId(),
                 player, "Select Category", Instant.now(),
                 category, value, "", "", player.getScore()));
 
-        eventBus.publish(GameEvent.withQuestion(state.getCaseId(),
+        publish(GameEvent.withQuestion(state.getCaseId(),
                 player, "Select Question", Instant.now(),
                 category, value, "", "", player.getScore()));
 
-        Question q = board.getQuestion(category, value);
+        pendingQuestion = q;
         return q;
     }
 
+    /**
+     * Selects a question only if the given turn is still in progress.
+     * <p>
+     * Use this with time-limited turns: the turn check and the selection
+     * happen under the same lock, so a deadline that fires between them
+     * cannot leave a selection logged against the next player's turn.
+     * </p>
+     *
+     * @param turnNumber the value of {@link #getTurnNumber()} when the turn began
+     * @param player     the player whose turn it is
+     * @param category   the question category name
+     * @param value      the point value of the chosen question
+     * @return the selected question, or {@code null} if the turn had already
+     *         ended or the question is not available
+     * @throws UncheckedIOException if the category is on a lazy board and
+     *                              cannot be loaded; nothing is published
+     */
+    public synchronized Question selectQuestion(long turnNumber, Player player, String category, int value) {
+        if (turnNumber != this.turnNumber) {
+            return null;
+        }
+        return selectQuestion(player, category, value);
+    }
+
     /**
      * Processes a player's answer to a question.
      * <p>
@@ -135,7 +211,7 @@ public class GameEngine {
      *   <li>Checks the answer against the question's correct option.</li>
      *   <li>Adjusts the player's score (positive for correct, negative for incorrect).</li>
      *   <li>Marks the question as used so it cannot be chosen again.</li>
-     *   <li>Records a {@link Turn} in the history list.</li>
+     *   <li>Records a {@link Turn} in the history list and updates {@link PlayerStats}.</li>
      *   <li>Publishes "Answer Question" and "Score Updated" events.</li>
      *   <li>Advances to the next player's turn.</li>
      * </ul>
@@ -144,8 +220,12 @@ public class GameEngine {
      * @param q      the question that was answered
      * @param answer the answer given by the player (e.g., "A", "B", "C", or "D")
      * @return a {@link Turn} describing the outcome of this interaction
+     * @throws IllegalArgumentException if the player is not in this game; the
+     *                                  engine is left unchanged
      */
-    public Turn answerQuestion(Player player, Question q, String answer) {
+    public synchronized Turn answerQuestion(Player player, Question q, String answer) {
+        // Reject a player from another game before changing anything
+        int p = stats.indexOf(player);
         boolean correct = q.getCorrectAnswer()
                            .equalsIgnoreCase(answer.trim());
         int delta = correct ? q.getValue() : -q.getValue();
@@ -155,20 +235,21 @@ public class GameEngine {
         String result = correct ? "Correct" : "Incorrect";
 
         // log answer
-        eventBus.publish(GameEvent.withQuestion(
+        publish(new GameEvent(
                 state.getCaseId(),
-                player,
+                player.getName(),
                 "Answer Question",
                 Instant.now(),
                 q.getCategory(),
                 q.getValue(),
                 answer,
                 result,
-                player.getScore()
+                player.getScore(),
+                q.getQuestionText()
         ));
 
         // log score update
-        eventBus.publish(GameEvent.withQuestion(
+        publish(GameEvent.withQuestion(
                 state.getCaseId(),
                 player,
                 "Score Updated",
@@ -181,8 +262,190 @@ public class GameEngine {
         ));
 
         Turn t = new Turn(player, q, answer, correct, delta, player.getScore());
+        stats.recordAnswer(p, q.getCategory(), correct, delta);
+        if (seenQuestions != null) {
+            seenQuestions.markSeen(player.getName(), q);
+        }
+        endTurn(t);
+        return t;
+    }
+
+    /**
+     * Processes an answer only if it belongs to the given turn.
+     * <p>
+     * Use this with time-limited turns: if the turn has already been
+     * forfeited, the late answer is ignored and {@code null} is returned.
+     * </p>
+     *
+     * @param turnNumber the value of {@link #getTurnNumber()} when the turn began
+     * @param player     the player who answered
+     * @param q          the question that was answered
+     * @param answer     the answer given by the player
+     * @return the resulting turn, or {@code null} if the turn had already ended
+     */
+    public synchronized Turn answerQuestion(long turnNumber, Player player, Question q, String answer) {
+        if (turnNumber != this.turnNumber) {
+            return null;
+        }
+        return answerQuestion(player, q, answer);
+    }
+
+    /**
+     * Validates and applies a sequence of moves in order.
+     * <p>
+     * Each move is played with the same rules as {@link #selectQuestion}
+     * followed by {@link #answerQuestion(Player, Question, String)}. Moves are
+     * applied until the first one that is not valid: the game is over, it is
+     * not the move's player's turn, or the question is not on the board. That
+     * move and every later one are skipped, so the number of turns returned
+     * tells the caller how many moves were applied.
+     * </p>
+     * <p>
+     * The events of all applied moves are published together with
+     * {@link GameEventBus#publishBatch} once the sequence has been
+     * processed, so a logger can write them in a single write.
+     * </p>
+     *
+     * @param moves the moves to apply, in order
+     * @return the turns of the applied moves, in order
+     */
+    public synchronized List<Turn> applyMoves(List<Move> moves) {
+        List<Turn> turns = new ArrayList<>(moves.size());
+        batch = new ArrayList<>(moves.size() * 4);
+        try {
+            for (Move m : moves) {
+                // A used question fails selectQuestion, so only quitting needs
+                // checking here; isGameOver() would rescan the board every move.
+                if (state.isQuit() || m.getPlayer() != state.getCurrentPlayer()) {
+                    break;
+                }
+                Question q = selectQuestion(m.getPlayer(), m.getCategory(), m.getValue());
+                if (q == null) {
+                    break;
+                }
+                turns.add(answerQuestion(m.getPlayer(), q, m.getAnswer()));
+            }
+        } finally {
+            List<GameEvent> events = batch;
+            batch = null;
+            if (!events.isEmpty()) {
+                eventBus.publishBatch(events);
+            }
+        }
+        return turns;
+    }
+
+    /**
+     * Returns the number of the current turn.
+     * <p>
+     * The number increases every time a turn is answered or forfeited, so
+     * callers can detect that a turn ended while they were waiting for input.
+     * </p>
+     *
+     * @return the current turn number, starting at 0
+     */
+    public synchronized long getTurnNumber() {
+        return turnNumber;
+    }
+
+    /**
+     * Limits the time each player has to complete a turn.
+     * <p>
+     * The current turn's deadline starts immediately; each later turn's
+     * deadline starts when the previous turn ends. Pass a non-positive limit
+     * to turn the limit off.
+     * </p>
+     *
+     * @param timer the timer that tracks deadlines, usually shared between games
+     * @param limit time allowed per turn
+     * @param unit  unit of {@code limit}
+     */
+    public synchronized void setTurnTimeLimit(HashedWheelTimer timer, long limit, TimeUnit unit) {
+        cancelDeadline();
+        this.timer = limit > 0 ? timer : null;
+        this.turnLimitNanos = unit.toNanos(limit);
+        scheduleDeadline();
+    }
+
+    /**
+     * Records every answered question in the players' histories, so that
+     * later boards can avoid repeating it.
+     *
+     * @param seenQuestions the histories to update, or {@code null} to stop
+     */
+    public synchronized void setSeenQuestions(SeenQuestions seenQuestions) {
+        this.seenQuestions = seenQuestions;
+    }
+
+    /**
+     * Forfeits the current player's turn.
+     * <p>
+     * This is called by the turn timer but may also be called directly. The
+     * player's score is unchanged, any selected question stays on the board,
+     * and a "Turn Timeout" event is published.
+     * </p>
+     *
+     * @return the forfeited turn
+     */
+    public synchronized Turn forfeitTurn() {
+        Player player = state.getCurrentPlayer();
+        Question q = pendingQuestion;
+        publish(GameEvent.withQuestion(
+                state.getCaseId(),
+                player,
+                "Turn Timeout",
+                Instant.now(),
+                q == null ? "" : q.getCategory(),
+                q == null ? null : q.getValue(),
+                "",
+                "Forfeited",
+                player.getScore()
+        ));
+
+        Turn t = Turn.forfeited(player, q, player.getScore());
+        stats.recordForfeit(stats.indexOf(player));
+        endTurn(t);
+        return t;
+    }
+
+    /** Publishes an event, or holds it for the current batch. */
+    private void publish(GameEvent event) {
+        if (batch != null) {
+            batch.add(event);
+        } else {
+            eventBus.publish(event);
+        }
+    }
+
+    /** Records a finished turn and starts the next one. */
+    private void endTurn(Turn t) {
         turnHistory.add(t);
         state.nextPlayer();
-        return t;
+        turnNumber++;
+        pendingQuestion = null;
+        cancelDeadline();
+        scheduleDeadline();
+    }
+
+    private void scheduleDeadline() {
+        if (timer == null || isGameOver()) {
+            return;
+        }
+        long turn = turnNumber;
+        deadline = timer.schedule(() -> expire(turn), turnLimitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void cancelDeadline() {
+        if (deadline != null) {
+            deadline.cancel();
+            deadline = null;
+        }
+    }
+
+    /** Timer callback; ignored if the turn it was scheduled for has ended. */
+    private synchronized void expire(long turn) {
+        if (turn == turnNumber && !isGameOver()) {
+            forfeitTurn();
+        }
     }
 }
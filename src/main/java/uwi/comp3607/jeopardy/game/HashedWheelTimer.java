@@ -0,0 +1,271 @@
+package uwi.comp3607.jeopardy.game;
+
+import java.io.Closeable;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A coarse-grained timer for very large numbers of short-lived deadlines,
+ * such as one per-turn time limit for every running game session.
+ * <p>
+ * Time is divided into ticks, and a ring ("wheel") of buckets holds the
+ * deadlines due in each tick; deadlines further away than one revolution
+ * carry a count of remaining rounds. Scheduling appends to a lock-free queue,
+ * and cancelling flips a state flag and queues the entry for unlinking, so
+ * both are O(1) for the caller regardless of how many deadlines are pending.
+ * A single worker thread drains both queues once per tick and expires the
+ * current bucket.
+ * </p>
+ * <p>
+ * Deadlines fire up to one tick late. Tasks run on the worker thread and
+ * should return quickly; a task that throws does not stop the timer.
+ * </p>
+ */
+public class HashedWheelTimer implements Closeable {
+
+    /** A scheduled task that can be cancelled before it fires. */
+    public static final class Timeout {
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+
+        private final HashedWheelTimer timer;
+        private final Runnable task;
+        /** Deadline in nanoseconds relative to the timer's start time. */
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        // Owned by the worker thread.
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout next;
+        private Timeout prev;
+
+        Timeout(HashedWheelTimer timer, Runnable task, long deadline) {
+            this.timer = timer;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancels this timeout if it has not fired yet.
+         *
+         * @return {@code true} if the task will not run because of this call
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            timer.cancelled.add(this);
+            return true;
+        }
+
+        /** @return {@code true} if {@link #cancel()} succeeded */
+        public boolean isCancelled() { return state.get() == CANCELLED; }
+        /** @return {@code true} if the task has been run */
+        public boolean isExpired() { return state.get() == EXPIRED; }
+
+        private void expire() {
+            if (!state.compareAndSet(PENDING, EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (RuntimeException ex) {
+                // A failing task must not take down every other deadline.
+                Thread t = Thread.currentThread();
+                t.getUncaughtExceptionHandler().uncaughtException(t, ex);
+            }
+        }
+    }
+
+    /** Doubly linked list of timeouts due in one slot of the wheel. */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        void add(Timeout t) {
+            t.bucket = this;
+            if (head == null) {
+                head = tail = t;
+            } else {
+                tail.next = t;
+                t.prev = tail;
+                tail = t;
+            }
+        }
+
+        Timeout remove(Timeout t) {
+            Timeout next = t.next;
+            if (t.prev != null) t.prev.next = next;
+            if (t.next != null) t.next.prev = t.prev;
+            if (t == head) head = next;
+            if (t == tail) tail = t.prev;
+            t.prev = t.next = null;
+            t.bucket = null;
+            return next;
+        }
+
+        void expire() {
+            Timeout t = head;
+            while (t != null) {
+                if (t.remainingRounds <= 0) {
+                    Timeout next = remove(t);
+                    t.expire();
+                    t = next;
+                } else if (t.isCancelled()) {
+                    t = remove(t);
+                } else {
+                    t.remainingRounds--;
+                    t = t.next;
+                }
+            }
+        }
+    }
+
+    /** Maximum number of new timeouts moved into the wheel per tick. */
+    private static final int TRANSFER_LIMIT = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final Thread worker;
+    private final long startTime;
+    private volatile boolean running = true;
+
+    /**
+     * Creates a timer with a 100 ms tick and 512 slots.
+     */
+    public HashedWheelTimer() {
+        this(100, TimeUnit.MILLISECONDS, 512);
+    }
+
+    /**
+     * Creates a timer and starts its worker thread.
+     *
+     * @param tick      duration of one tick
+     * @param unit      unit of {@code tick}
+     * @param wheelSize number of slots; rounded up to a power of two
+     */
+    public HashedWheelTimer(long tick, TimeUnit unit, int wheelSize) {
+        if (tick <= 0) {
+            throw new IllegalArgumentException("tick must be positive: " + tick);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 20)) {
+            throw new IllegalArgumentException("wheelSize out of range: " + wheelSize);
+        }
+        int size = 1;
+        while (size < wheelSize) {
+            size <<= 1;
+        }
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.tickNanos = unit.toNanos(tick);
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::run, "turn-timer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Schedules a task to run once after the given delay.
+     *
+     * @param task  the task to run on the timer thread
+     * @param delay how long to wait
+     * @param unit  unit of {@code delay}
+     * @return a handle that can cancel the task
+     * @throws IllegalStateException if the timer has been closed
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running) {
+            throw new IllegalStateException("Timer is closed");
+        }
+        long deadline = System.nanoTime() + unit.toNanos(Math.max(0, delay)) - startTime;
+        Timeout t = new Timeout(this, task, deadline);
+        pending.add(t);
+        return t;
+    }
+
+    /**
+     * Stops the worker thread. Timeouts that have not fired are discarded.
+     */
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        if (Thread.currentThread() != worker) {
+            try {
+                worker.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void run() {
+        long tick = 0;
+        while (running) {
+            if (!waitForTick(tick)) {
+                break;
+            }
+            removeCancelled();
+            transferPending(tick);
+            wheel[(int) (tick & mask)].expire();
+            tick++;
+        }
+        pending.clear();
+        cancelled.clear();
+    }
+
+    /** Sleeps until the end of the given tick; returns {@code false} if closed meanwhile. */
+    private boolean waitForTick(long tick) {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long now = System.nanoTime() - startTime;
+            long sleepNanos = deadline - now;
+            if (sleepNanos <= 0) {
+                return true;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException ex) {
+                if (!running) {
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        Timeout t;
+        while ((t = cancelled.poll()) != null) {
+            if (t.bucket != null) {
+                t.bucket.remove(t);
+            }
+        }
+    }
+
+    private void transferPending(long tick) {
+        for (int i = 0; i < TRANSFER_LIMIT; i++) {
+            Timeout t = pending.poll();
+            if (t == null) {
+                return;
+            }
+            if (t.isCancelled()) {
+                continue;
+            }
+            long calculated = t.deadline / tickNanos;
+            t.remainingRounds = (calculated - tick) / wheel.length;
+            // Deadlines already in the past go into the current slot.
+            long slot = Math.max(calculated, tick);
+            wheel[(int) (slot & mask)].add(t);
+        }
+    }
+}
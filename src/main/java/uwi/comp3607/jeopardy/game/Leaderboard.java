@@ -0,0 +1,275 @@
+package uwi.comp3607.jeopardy.game;
+
+import uwi.comp3607.jeopardy.logging.GameEvent;
+import uwi.comp3607.jeopardy.logging.GameEventListener;
+import uwi.comp3607.jeopardy.model.Player;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Process-wide leaderboard of player scores across game sessions.
+ * <p>
+ * A player is identified by the session's case ID and the player's name.
+ * Entries are kept in a {@link ConcurrentSkipListSet} ordered by score, which
+ * answers top-K queries by walking its head. Rank and percentile queries use
+ * a Fenwick tree of per-bucket counts held in an {@link AtomicLongArray}, so
+ * they take O(log buckets) instead of counting every entry above the player;
+ * only entries in the player's own bucket are counted from the skip list.
+ * </p>
+ * <p>
+ * Updates for different players do not share a lock: each one replaces a
+ * single map entry, skip-list node and pair of tree counters using
+ * lock-free structures, so many game threads can update at once. Queries are
+ * weakly consistent and may miss an update that is in progress.
+ * </p>
+ * <p>
+ * Final scores are recorded with {@link #recordFinal(GameState)}. Registered
+ * on a {@link uwi.comp3607.jeopardy.logging.GameEventBus} for "Score Updated"
+ * events, the leaderboard also follows live scores during play.
+ * </p>
+ */
+public class Leaderboard implements GameEventListener {
+
+    /** One player's standing. */
+    public static final class Entry {
+        private final String caseId;
+        private final String playerName;
+        private final int score;
+        private final boolean fin;
+
+        Entry(String caseId, String playerName, int score, boolean fin) {
+            this.caseId = caseId;
+            this.playerName = playerName;
+            this.score = score;
+            this.fin = fin;
+        }
+
+        /** @return the session the player belongs to */
+        public String getCaseId() { return caseId; }
+        /** @return the player's name */
+        public String getPlayerName() { return playerName; }
+        /** @return the player's score */
+        public int getScore() { return score; }
+        /** @return {@code true} if this is the player's final score */
+        public boolean isFinal() { return fin; }
+    }
+
+    /** Identity of a player across sessions. */
+    private static final class Key {
+        final String caseId;
+        final String playerName;
+
+        Key(String caseId, String playerName) {
+            this.caseId = caseId;
+            this.playerName = playerName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return caseId.equals(k.caseId) && playerName.equals(k.playerName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(caseId, playerName);
+        }
+    }
+
+    /** Highest score first; ties broken by case ID and name so entries are distinct. */
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingInt((Entry e) -> -e.score)
+            .thenComparing(e -> e.caseId)
+            .thenComparing(e -> e.playerName);
+
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>(ORDER);
+    private final ConcurrentHashMap<Key, Entry> entries = new ConcurrentHashMap<>();
+    /** Fenwick tree over score buckets; bucket 0 holds the lowest scores. */
+    private final AtomicLongArray tree;
+    private final int minScore;
+    private final int bucketWidth;
+    private final int buckets;
+
+    /**
+     * Creates a leaderboard for scores between -100,000 and 100,000 in
+     * buckets of 100 points.
+     */
+    public Leaderboard() {
+        this(-100_000, 100_000, 100);
+    }
+
+    /**
+     * Creates a leaderboard with an explicit score range.
+     * <p>
+     * Scores outside the range are still ranked exactly, but they share the
+     * edge bucket, so queries near them are slower.
+     * </p>
+     *
+     * @param minScore    lowest expected score
+     * @param maxScore    highest expected score
+     * @param bucketWidth points per bucket; the question value step is ideal
+     */
+    public Leaderboard(int minScore, int maxScore, int bucketWidth) {
+        if (maxScore <= minScore || bucketWidth <= 0) {
+            throw new IllegalArgumentException("Invalid score range");
+        }
+        this.minScore = minScore;
+        this.bucketWidth = bucketWidth;
+        this.buckets = (int) (((long) maxScore - minScore) / bucketWidth) + 1;
+        this.tree = new AtomicLongArray(buckets + 1);
+    }
+
+    /**
+     * Sets a player's current score.
+     *
+     * @param caseId     the player's session
+     * @param playerName the player's name
+     * @param score      the new score
+     */
+    public void update(String caseId, String playerName, int score) {
+        put(caseId, playerName, score, false);
+    }
+
+    /**
+     * Records the final scores of every player in a finished game.
+     *
+     * @param state the game's state
+     */
+    public void recordFinal(GameState state) {
+        for (Player p : state.getPlayers()) {
+            put(state.getCaseId(), p.getName(), p.getScore(), true);
+        }
+    }
+
+    /**
+     * Follows live scores from "Score Updated" events.
+     *
+     * @param event the event to apply
+     */
+    @Override
+    public void onEvent(GameEvent event) {
+        if ("Score Updated".equals(event.getActivity()) && event.getScoreAfter() != null) {
+            update(event.getCaseId(), event.getPlayerName(), event.getScoreAfter());
+        }
+    }
+
+    /** @return the number of players on the board */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the highest-scoring players.
+     *
+     * @param k maximum number of entries to return
+     * @return up to {@code k} entries, best first
+     */
+    public List<Entry> topK(int k) {
+        List<Entry> top = new ArrayList<>(Math.min(k, 64));
+        Iterator<Entry> it = ranking.iterator();
+        while (top.size() < k && it.hasNext()) {
+            top.add(it.next());
+        }
+        return top;
+    }
+
+    /**
+     * Returns a player's 1-based rank; tied players share a rank.
+     *
+     * @param caseId     the player's session
+     * @param playerName the player's name
+     * @return the rank, or -1 if the player is not on the board
+     */
+    public int rank(String caseId, String playerName) {
+        Entry e = entries.get(new Key(caseId, playerName));
+        if (e == null) {
+            return -1;
+        }
+        return (int) countAbove(e.score) + 1;
+    }
+
+    /**
+     * Returns the percentage of players with a lower score.
+     *
+     * @param caseId     the player's session
+     * @param playerName the player's name
+     * @return a value from 0 to 100, or -1 if the player is not on the board
+     */
+    public double percentile(String caseId, String playerName) {
+        Entry e = entries.get(new Key(caseId, playerName));
+        if (e == null) {
+            return -1;
+        }
+        long total = total();
+        long below = total - countAbove(e.score - 1L);
+        return total == 0 ? 0 : 100.0 * below / total;
+    }
+
+    private void put(String caseId, String playerName, int score, boolean fin) {
+        Entry next = new Entry(caseId, playerName, score, fin);
+        entries.compute(new Key(caseId, playerName), (k, old) -> {
+            if (old != null) {
+                ranking.remove(old);
+                add(bucket(old.score), -1);
+            }
+            ranking.add(next);
+            add(bucket(score), 1);
+            return next;
+        });
+    }
+
+    /** Number of entries with a score strictly greater than {@code score}. */
+    private long countAbove(long score) {
+        int b = bucket(score);
+        long higherBuckets = total() - prefix(b + 1);
+        // Entries in the same bucket but with a higher score are counted directly.
+        long sameBucket = 0;
+        for (Entry e : ranking.tailSet(new Entry("", "", topScoreOf(b), false))) {
+            if (e.score <= score) break;
+            sameBucket++;
+        }
+        return higherBuckets + sameBucket;
+    }
+
+    /** Highest score that falls into bucket {@code b}. */
+    private int topScoreOf(int b) {
+        if (b == buckets - 1) {
+            return Integer.MAX_VALUE;
+        }
+        return (int) Math.min(Integer.MAX_VALUE, (long) minScore + (long) (b + 1) * bucketWidth - 1);
+    }
+
+    private long total() {
+        return prefix(buckets);
+    }
+
+    private int bucket(long score) {
+        long b = (score - minScore) / bucketWidth;
+        if (score < minScore) return 0;
+        return (int) Math.min(b, buckets - 1);
+    }
+
+    /** Adds {@code delta} to a bucket's count. */
+    private void add(int bucket, long delta) {
+        for (int i = bucket + 1; i <= buckets; i += i & -i) {
+            tree.addAndGet(i, delta);
+        }
+    }
+
+    /** Sum of the counts of buckets {@code [0, n)}. */
+    private long prefix(int n) {
+        long sum = 0;
+        for (int i = n; i > 0; i -= i & -i) {
+            sum += tree.get(i);
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,57 @@
+package uwi.comp3607.jeopardy.game;
+
+import uwi.comp3607.jeopardy.model.Player;
+
+/**
+ * One complete move, as passed to {@link GameEngine#applyMoves}: a player
+ * choosing the question at a category and value and answering it.
+ * <p>
+ * Moves are immutable and carry no game state, so they can be built ahead of
+ * time, for example when replaying a recorded game or driving a simulation.
+ * </p>
+ */
+public class Move {
+    /** Player making the move. */
+    private final Player player;
+    /** Category of the chosen question. */
+    private final String category;
+    /** Point value of the chosen question. */
+    private final int value;
+    /** Answer given, e.g. "A", "B", "C", or "D". */
+    private final String answer;
+
+    /**
+     * Creates a move.
+     *
+     * @param player   the player making the move
+     * @param category the question category name
+     * @param value    the point value of the chosen question
+     * @param answer   the answer given by the player
+     */
+    public Move(Player player, String category, int value, String answer) {
+        this.player = player;
+        this.category = category;
+        this.value = value;
+        this.answer = answer;
+    }
+
+    /** @return the player making the move */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /** @return the category of the chosen question */
+    public String getCategory() {
+        return category;
+    }
+
+    /** @return the point value of the chosen question */
+    public int getValue() {
+        return value;
+    }
+
+    /** @return the answer given by the player */
+    public String getAnswer() {
+        return answer;
+    }
+}
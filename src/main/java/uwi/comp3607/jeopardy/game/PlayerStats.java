@@ -0,0 +1,246 @@
+package uwi.comp3607.jeopardy.game;
+
+import uwi.comp3607.jeopardy.model.Player;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-player statistics for one game, updated as each turn is played.
+ * <p>
+ * Counters are primitive arrays indexed by player index (the player's
+ * position in {@link GameState#getPlayers()}) and, for per-category figures,
+ * by a category id assigned in board order. Recording a turn is O(1) and
+ * every query is a direct array read, so nothing ever rescans the turn
+ * history.
+ * </p>
+ * <p>
+ * Statistics created by a {@link GameEngine} share the engine's lock: the
+ * engine updates them while holding it and every getter acquires it, so a
+ * reader on another thread sees each figure as of the end of a whole turn.
+ * To read several figures from the same turn, synchronize on the engine
+ * around the calls.
+ * </p>
+ */
+public class PlayerStats {
+
+    /** Lock held by every update and query. */
+    private final Object lock;
+    private final Map<Player, Integer> playerIds = new IdentityHashMap<>();
+    private final Map<String, Integer> categoryIds = new HashMap<>();
+
+    private final int[] answered;
+    private final int[] correct;
+    private final int[] forfeits;
+    /** Current run: positive for consecutive correct answers, negative for incorrect. */
+    private final int[] streak;
+    private final int[] bestStreak;
+    private final int[] worstStreak;
+    private final int[] pointsGained;
+    private final int[] pointsLost;
+    private final int[] largestSwing;
+    /** Net points per player, per category id. */
+    private final int[][] categoryPoints;
+    /** Answers per player, per category id. */
+    private final int[][] categoryAnswered;
+
+    /**
+     * Creates empty statistics for a game.
+     *
+     * @param players    the players, in turn order
+     * @param categories the board's categories; others are added as they appear
+     */
+    public PlayerStats(List<Player> players, Collection<String> categories) {
+        this(players, categories, null);
+    }
+
+    /**
+     * Creates empty statistics guarded by another object's lock.
+     *
+     * @param players    the players, in turn order
+     * @param categories the board's categories; others are added as they appear
+     * @param lock       the lock to hold, or {@code null} to lock on these statistics
+     */
+    PlayerStats(List<Player> players, Collection<String> categories, Object lock) {
+        this.lock = lock == null ? this : lock;
+        int n = players.size();
+        for (int i = 0; i < n; i++) {
+            playerIds.put(players.get(i), i);
+        }
+        for (String c : categories) {
+            categoryIds.putIfAbsent(c, categoryIds.size());
+        }
+        answered = new int[n];
+        correct = new int[n];
+        forfeits = new int[n];
+        streak = new int[n];
+        bestStreak = new int[n];
+        worstStreak = new int[n];
+        pointsGained = new int[n];
+        pointsLost = new int[n];
+        largestSwing = new int[n];
+        categoryPoints = new int[n][Math.max(1, categoryIds.size())];
+        categoryAnswered = new int[n][Math.max(1, categoryIds.size())];
+    }
+
+    /**
+     * Returns a player's index, so that a caller can reject an unknown
+     * player before changing any other state.
+     *
+     * @param player the player
+     * @return the player's index
+     * @throws IllegalArgumentException if the player is not in this game
+     */
+    int indexOf(Player player) {
+        return id(player);
+    }
+
+    /**
+     * Records an answered question.
+     *
+     * @param p        the index of the player who answered, from {@link #indexOf}
+     * @param category the question's category
+     * @param right    whether the answer was correct
+     * @param delta    points gained (positive) or lost (negative)
+     */
+    void recordAnswer(int p, String category, boolean right, int delta) {
+        synchronized (lock) {
+            int c = categoryId(category);
+            answered[p]++;
+            categoryAnswered[p][c]++;
+            categoryPoints[p][c] += delta;
+            if (delta >= 0) pointsGained[p] += delta;
+            else pointsLost[p] -= delta;
+            largestSwing[p] = Math.max(largestSwing[p], Math.abs(delta));
+
+            if (right) {
+                correct[p]++;
+                streak[p] = streak[p] > 0 ? streak[p] + 1 : 1;
+                bestStreak[p] = Math.max(bestStreak[p], streak[p]);
+            } else {
+                streak[p] = streak[p] < 0 ? streak[p] - 1 : -1;
+                worstStreak[p] = Math.max(worstStreak[p], -streak[p]);
+            }
+        }
+    }
+
+    /**
+     * Records a turn the player forfeited by running out of time.
+     * A forfeit ends the current streak.
+     *
+     * @param p the index of the player whose turn expired, from {@link #indexOf}
+     */
+    void recordForfeit(int p) {
+        synchronized (lock) {
+            forfeits[p]++;
+            streak[p] = 0;
+        }
+    }
+
+    /** @return questions answered by the player */
+    public int getAnswered(Player player) { return read(answered, player); }
+    /** @return questions the player answered correctly */
+    public int getCorrect(Player player) { return read(correct, player); }
+    /** @return turns the player forfeited */
+    public int getForfeits(Player player) { return read(forfeits, player); }
+    /** @return total points the player gained from correct answers */
+    public int getPointsGained(Player player) { return read(pointsGained, player); }
+    /** @return total points the player lost to incorrect answers */
+    public int getPointsLost(Player player) { return read(pointsLost, player); }
+    /** @return the largest single-turn change in the player's score */
+    public int getLargestSwing(Player player) { return read(largestSwing, player); }
+    /** @return the longest run of consecutive correct answers */
+    public int getLongestCorrectStreak(Player player) { return read(bestStreak, player); }
+    /** @return the longest run of consecutive incorrect answers */
+    public int getLongestIncorrectStreak(Player player) { return read(worstStreak, player); }
+
+    /**
+     * Returns the player's current run of results.
+     *
+     * @param player the player
+     * @return consecutive correct answers if positive, consecutive incorrect
+     *         answers if negative, or 0 if no run is in progress
+     */
+    public int getCurrentStreak(Player player) {
+        return read(streak, player);
+    }
+
+    /**
+     * Returns the fraction of the player's answers that were correct.
+     *
+     * @param player the player
+     * @return accuracy from 0 to 1, or 0 if the player has not answered
+     */
+    public double getAccuracy(Player player) {
+        int p = id(player);
+        synchronized (lock) {
+            return answered[p] == 0 ? 0 : (double) correct[p] / answered[p];
+        }
+    }
+
+    /**
+     * Returns the player's net points in one category.
+     *
+     * @param player   the player
+     * @param category the category name
+     * @return points gained minus points lost in the category
+     */
+    public int getCategoryPoints(Player player, String category) {
+        int p = id(player);
+        synchronized (lock) {
+            Integer c = categoryIds.get(category);
+            return c == null ? 0 : categoryPoints[p][c];
+        }
+    }
+
+    /**
+     * Returns how many questions the player answered in one category.
+     *
+     * @param player   the player
+     * @param category the category name
+     * @return the number of answers
+     */
+    public int getCategoryAnswered(Player player, String category) {
+        int p = id(player);
+        synchronized (lock) {
+            Integer c = categoryIds.get(category);
+            return c == null ? 0 : categoryAnswered[p][c];
+        }
+    }
+
+    private int read(int[] counter, Player player) {
+        int p = id(player);
+        synchronized (lock) {
+            return counter[p];
+        }
+    }
+
+    private int id(Player player) {
+        Integer p = playerIds.get(player);
+        if (p == null) {
+            throw new IllegalArgumentException("Player is not in this game: " + player.getName());
+        }
+        return p;
+    }
+
+    private int categoryId(String category) {
+        Integer c = categoryIds.get(category);
+        if (c != null) {
+            return c;
+        }
+        int id = categoryIds.size();
+        categoryIds.put(category, id);
+        if (categoryPoints.length > 0 && id >= categoryPoints[0].length) {
+            int size = categoryPoints[0].length * 2;
+            for (int p = 0; p < categoryPoints.length; p++) {
+                categoryPoints[p] = Arrays.copyOf(categoryPoints[p], size);
+                categoryAnswered[p] = Arrays.copyOf(categoryAnswered[p], size);
+            }
+        }
+        return id;
+    }
+}
@@ -18,6 +18,11 @@ import uwi.comp3607.jeopardy.model.Question;
  *   <li>The player's score after the turn.</li>
  * </ul>
  * <p>
+ * A turn can also be forfeited when the player runs out of time. A forfeited
+ * turn has no answer, earns no points, and has a question only if one had
+ * already been selected when time ran out.
+ * </p>
+ * <p>
  * Turn objects are used both for game history and for generating the final
  * text report.
  * </p>
@@ -35,6 +40,8 @@ public class Turn {
     private final int pointsEarned;
     /** The player's score after this turn has been processed. */
     private final int scoreAfter;
+    /** Indicates whether the player ran out of time on this turn. */
+    private final boolean forfeited;
 
     /**
      * Constructs a turn with all relevant outcome details.
@@ -48,16 +55,34 @@ public class Turn {
      */
     public Turn(Player player, Question question, String givenAnswer,
                 boolean correct, int pointsEarned, int scoreAfter) {
+        this(player, question, givenAnswer, correct, pointsEarned, scoreAfter, false);
+    }
+
+    private Turn(Player player, Question question, String givenAnswer,
+                 boolean correct, int pointsEarned, int scoreAfter, boolean forfeited) {
         this.player = player;
         this.question = question;
         this.givenAnswer = givenAnswer;
         this.correct = correct;
         this.pointsEarned = pointsEarned;
         this.scoreAfter = scoreAfter;
+        this.forfeited = forfeited;
+    }
+
+    /**
+     * Creates a turn that the player forfeited by running out of time.
+     *
+     * @param player     the player whose turn expired
+     * @param question   the question selected before time ran out, or {@code null}
+     * @param scoreAfter the player's (unchanged) score
+     * @return the forfeited turn
+     */
+    public static Turn forfeited(Player player, Question question, int scoreAfter) {
+        return new Turn(player, question, "", false, 0, scoreAfter, true);
     }
 /** @return the player who took this turn */
     public Player getPlayer() { return player; }
-    /** @return the question that was asked on this turn */
+    /** @return the question that was asked on this turn, or {@code null} for a forfeit before selection */
     public Question getQuestion() { return question; }
     /** @return the answer provided by the player */
     public String getGivenAnswer() { return givenAnswer; }
@@ -67,4 +92,6 @@ public class Turn {
     public int getPointsEarned() { return pointsEarned; }
     /** @return the player's score after this turn */
     public int getScoreAfter() { return scoreAfter; }
+    /** @return {@code true} if the player ran out of time on this turn */
+    public boolean isForfeited() { return forfeited; }
 }
@@ -1,16 +1,14 @@
 package uwi.comp3607.jeopardy.io;
 
-import uwi.comp3607.jeopardy.model.Question;
-import uwi.comp3607.jeopardy.model.QuestionBoard;
-
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * CSV implementation of {@link FileParser}.
@@ -23,97 +21,145 @@ import java.util.List;
  *     </li>
  * </ul>
  * <p>
- * If a line has fewer than 8 columns, it is skipped.
+ * Rows with fewer than 8 columns are still returned by
+ * {@link #readRecords(File)} so validation can report them; {@link #parse(File)}
+ * skips them.
  * </p>
  */
 public class CsvFileParser implements FileParser {
 
-    @Override
-    public QuestionBoard parse(File file) throws IOException {
-        QuestionBoard board = new QuestionBoard();
-
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
-
-            // Skip header row
-            String line = reader.readLine();
-            if (line == null) {
-                return board;
-            }
+    /** Registers this parser with {@link ParserRegistry}; CSV is the fallback for unrecognised content. */
+    public static final class Provider implements ParserProvider {
+        @Override
+        public Set<String> extensions() {
+            return Set.of("csv");
+        }
 
-            while ((line = reader.readLine()) != null) {
-                if (line.trim().isEmpty()) {
-                    continue; // skip blank lines
-                }
+        @Override
+        public boolean matches(byte first) {
+            return false;
+        }
 
-                List<String> parts = splitCsvLine(line);
+        @Override
+        public FileParser create() {
+            return new CsvFileParser();
+        }
+    }
 
-                // We only need 8 columns
-                if (parts.size() < 8) {
-                    continue;
+    @Override
+    public RecordReader openReader(InputStream in, String source,
+                                   StringDictionary dictionary) throws IOException {
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8));
+
+        // Skip header row
+        reader.readLine();
+
+        return new RecordReader() {
+            private int lineNumber = 1;
+            private int recordNumber = 0;
+
+            @Override
+            public QuestionRecord next() throws IOException {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.trim().isEmpty()) {
+                        continue; // skip blank lines
+                    }
+
+                    List<String> parts = splitCsvLine(line);
+                    return new QuestionRecord(
+                            source,
+                            lineNumber,
+                            ++recordNumber,
+                            parts.size(),
+                            dictionary.canonical(field(parts, 0)),
+                            field(parts, 1),
+                            field(parts, 2),
+                            dictionary.canonical(field(parts, 3)),
+                            dictionary.canonical(field(parts, 4)),
+                            dictionary.canonical(field(parts, 5)),
+                            dictionary.canonical(field(parts, 6)),
+                            dictionary.answerKey(field(parts, 7))
+                    );
                 }
+                return null;
+            }
 
-                String category = parts.get(0).trim();
-                int value = Integer.parseInt(parts.get(1).trim());
-                String qText = parts.get(2).trim();
-                String optionA = parts.get(3).trim();
-                String optionB = parts.get(4).trim();
-                String optionC = parts.get(5).trim();
-                String optionD = parts.get(6).trim();
-                String correct = parts.get(7).trim();
-
-                Question q = new Question(
-                        category,
-                        value,
-                        qText,
-                        optionA,
-                        optionB,
-                        optionC,
-                        optionD,
-                        correct
-                );
-
-                board.addQuestion(q);
+            @Override
+            public void close() throws IOException {
+                reader.close();
             }
-        }
+        };
+    }
 
-        return board;
+    /**
+     * Returns the trimmed field at the given column, or {@code null} if the
+     * row is too short to have it.
+     *
+     * @param parts  the split CSV row
+     * @param column 0-based column index
+     * @return trimmed field text, or {@code null}
+     */
+    private String field(List<String> parts, int column) {
+        return column < parts.size() ? parts.get(column).trim() : null;
     }
 
     /**
      * Splits a CSV line into fields while respecting double quotes.
-     * This allows commas inside quotes to be handled correctly.
+     * This allows commas inside quotes to be handled correctly, and a
+     * doubled quote inside a quoted field stands for one quote character.
      *
      * Example:
      * <pre>
      *   "Hello, world",A,B,C → ["Hello, world", "A", "B", "C"]
+     *   "Say ""hi""",A       → ["Say "hi"", "A"]
      * </pre>
      *
      * @param line raw CSV line
      * @return list of parsed fields
      */
-    private List<String> splitCsvLine(String line) {
-        List<String> fields = new ArrayList<>();
-        StringBuilder current = new StringBuilder();
-        boolean inQuotes = false;
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-
-            if (c == '"') {
-                inQuotes = !inQuotes; // toggle quoted state
-            } else if (c == ',' && !inQuotes) {
-                // End of field
-                fields.add(current.toString());
-                current.setLength(0);
+    public static List<String> splitCsvLine(String line) {
+        List<String> fields = new ArrayList<>(8);
+        int n = line.length();
+        int i = 0;
+
+        while (true) {
+            int start = i;
+            // Most fields have no quotes and are copied out in one piece
+            while (i < n && line.charAt(i) != ',' && line.charAt(i) != '"') {
+                i++;
+            }
+            if (i == n || line.charAt(i) == ',') {
+                fields.add(line.substring(start, i));
             } else {
-                current.append(c);
+                StringBuilder current = new StringBuilder(n - start);
+                boolean inQuotes = false;
+                int run = start; // first character not yet copied
+                for (; i < n; i++) {
+                    char c = line.charAt(i);
+
+                    if (c == '"') {
+                        current.append(line, run, i);
+                        if (inQuotes && i + 1 < n && line.charAt(i + 1) == '"') {
+                            current.append('"'); // escaped quote
+                            i++;
+                        } else {
+                            inQuotes = !inQuotes; // toggle quoted state
+                        }
+                        run = i + 1;
+                    } else if (c == ',' && !inQuotes) {
+                        break; // end of field
+                    }
+                }
+                current.append(line, run, i);
+                fields.add(current.toString());
             }
+            if (i == n) {
+                return fields;
+            }
+            i++; // skip the comma
         }
-
-        // Add the final field
-        fields.add(current.toString());
-
-        return fields;
     }
 }
\ No newline at end of file
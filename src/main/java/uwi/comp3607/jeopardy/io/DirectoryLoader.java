@@ -0,0 +1,400 @@
+package uwi.comp3607.jeopardy.io;
+
+import uwi.comp3607.jeopardy.model.Question;
+import uwi.comp3607.jeopardy.model.QuestionBoard;
+import uwi.comp3607.jeopardy.validation.QuestionBankValidator;
+import uwi.comp3607.jeopardy.validation.ValidationReport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Loads every question file in a directory tree concurrently and merges them
+ * into one {@link QuestionBoard}.
+ * <p>
+ * Each file goes through two stages: its bytes are read on an I/O pool, then
+ * decompressed, format-sniffed and parsed on a CPU pool sized to the number
+ * of processors. Reading one file therefore overlaps with parsing others.
+ * The bytes that have been read but not yet parsed are capped, so reading
+ * never gets far ahead of parsing, and large files skip the I/O stage and are
+ * streamed from disk while they are parsed. All files share one
+ * {@link StringDictionary}.
+ * </p>
+ * <p>
+ * Known limitation: the overlap hides I/O, not parsing. Parsing and
+ * validation are CPU-bound, so a load takes about the sum of the per-file
+ * times divided by the number of processors, and only approaches the time of
+ * the slowest file when there are about as many processors as files. The
+ * {@link Result} reports both times so the gap can be seen.
+ * </p>
+ * <p>
+ * Each file's records are checked with a {@link QuestionBankValidator} after
+ * parsing, as a single game file is. A file with problems contributes no
+ * questions; its report is kept in the {@link Result}, so every bad file is
+ * reported at once instead of the first bad record failing the whole load.
+ * </p>
+ * <p>
+ * Merging is deterministic: files are merged in sorted path order, and
+ * questions within a file in file order. When two questions share a
+ * category and value, the {@link ConflictPolicy} decides which one is kept.
+ * </p>
+ */
+public class DirectoryLoader {
+
+    /** How to resolve two questions with the same category and value. */
+    public enum ConflictPolicy {
+        /** Keep the question merged first. */
+        FIRST_WINS,
+        /** Keep the question merged last, as a single-file parse does. */
+        LAST_WINS,
+        /** Fail the load, naming both files. */
+        FAIL
+    }
+
+    /** Time spent on one file, and what it produced. */
+    public static final class FileTiming {
+        private final Path file;
+        private final long bytes;
+        private final int questions;
+        private final long readNanos;
+        private final long parseNanos;
+        private final ValidationReport validation;
+
+        FileTiming(Path file, long bytes, int questions, long readNanos, long parseNanos,
+                   ValidationReport validation) {
+            this.file = file;
+            this.bytes = bytes;
+            this.questions = questions;
+            this.readNanos = readNanos;
+            this.parseNanos = parseNanos;
+            this.validation = validation;
+        }
+
+        public Path getFile() { return file; }
+        public long getBytes() { return bytes; }
+        public int getQuestions() { return questions; }
+        public long getReadNanos() { return readNanos; }
+        public long getParseNanos() { return parseNanos; }
+        /** @return the result of validating the file's records */
+        public ValidationReport getValidation() { return validation; }
+    }
+
+    /** Outcome of a directory load: the merged board and per-file timings. */
+    public static final class Result {
+        private final QuestionBoard board;
+        private final List<FileTiming> timings;
+        private final int conflicts;
+        private final long wallNanos;
+
+        Result(QuestionBoard board, List<FileTiming> timings, int conflicts, long wallNanos) {
+            this.board = board;
+            this.timings = timings;
+            this.conflicts = conflicts;
+            this.wallNanos = wallNanos;
+        }
+
+        /** @return the merged board */
+        public QuestionBoard getBoard() { return board; }
+        /** @return timings for each file, in merge order */
+        public List<FileTiming> getTimings() { return timings; }
+        /** @return number of questions dropped by the conflict policy */
+        public int getConflicts() { return conflicts; }
+        /** @return elapsed time of the whole load */
+        public long getWallNanos() { return wallNanos; }
+
+        /** @return read plus parse time of the slowest file, the lower bound for the load */
+        public long getSlowestFileNanos() {
+            long slowest = 0;
+            for (FileTiming t : timings) {
+                slowest = Math.max(slowest, t.readNanos + t.parseNanos);
+            }
+            return slowest;
+        }
+
+        /** @return {@code true} if every file passed validation */
+        public boolean isValid() {
+            for (FileTiming t : timings) {
+                if (!t.validation.isValid()) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Writes the validation report of every file that has problems.
+         *
+         * @param out the target to write to
+         * @throws IOException if writing fails
+         */
+        public void writeProblems(Appendable out) throws IOException {
+            for (FileTiming t : timings) {
+                if (!t.validation.isValid()) {
+                    out.append(t.file.toString()).append(':').append(System.lineSeparator());
+                    t.validation.writeTo(out);
+                }
+            }
+        }
+
+        /**
+         * Writes one line per file plus a total line that also gives the
+         * slowest file's time.
+         *
+         * @param out the target to write to
+         * @throws IOException if writing fails
+         */
+        public void writeReport(Appendable out) throws IOException {
+            String nl = System.lineSeparator();
+            for (FileTiming t : timings) {
+                out.append(String.format(Locale.ROOT, "%-40s %10d bytes %7d questions  read %8.1f ms  parse %8.1f ms",
+                        t.file, t.bytes, t.questions, t.readNanos / 1e6, t.parseNanos / 1e6)).append(nl);
+            }
+            out.append(String.format(Locale.ROOT, "%d file(s), %d conflict(s), total %.1f ms, slowest file %.1f ms",
+                    timings.size(), conflicts, wallNanos / 1e6, getSlowestFileNanos() / 1e6)).append(nl);
+        }
+    }
+
+    /** Questions parsed from one file. */
+    private static final class Parsed {
+        final List<Question> questions;
+        final FileTiming timing;
+
+        Parsed(List<Question> questions, FileTiming timing) {
+            this.questions = questions;
+            this.timing = timing;
+        }
+    }
+
+    /** Files larger than this are streamed by the parse stage instead of read up front. */
+    private static final long STREAM_THRESHOLD = 32L << 20;
+
+    private final ConflictPolicy policy;
+    private final int ioThreads;
+    private final int parseThreads;
+    private final int maxBufferedBytes;
+
+    /**
+     * Creates a loader with default pool sizes.
+     *
+     * @param policy how to resolve duplicate category/value pairs
+     */
+    public DirectoryLoader(ConflictPolicy policy) {
+        this(policy, 16, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a loader with explicit pool sizes, buffering at most 256 MiB of
+     * file data at a time.
+     *
+     * @param policy       how to resolve duplicate category/value pairs
+     * @param ioThreads    maximum number of files read at once
+     * @param parseThreads maximum number of files parsed at once
+     */
+    public DirectoryLoader(ConflictPolicy policy, int ioThreads, int parseThreads) {
+        this(policy, ioThreads, parseThreads, 256 << 20);
+    }
+
+    /**
+     * Creates a loader with explicit pool sizes and read-ahead limit.
+     * <p>
+     * The I/O stage stops reading ahead once {@code maxBufferedBytes} of
+     * file data is waiting to be parsed. Files bigger than the limit, or than
+     * 32 MiB, are not buffered at all: the parse stage streams them from
+     * disk, so their size is not limited by the heap or by array length.
+     * </p>
+     *
+     * @param policy           how to resolve duplicate category/value pairs
+     * @param ioThreads        maximum number of files read at once
+     * @param parseThreads     maximum number of files parsed at once
+     * @param maxBufferedBytes maximum bytes read but not yet parsed
+     */
+    public DirectoryLoader(ConflictPolicy policy, int ioThreads, int parseThreads, int maxBufferedBytes) {
+        if (maxBufferedBytes <= 0) {
+            throw new IllegalArgumentException("Buffer limit must be positive: " + maxBufferedBytes);
+        }
+        this.policy = policy;
+        this.ioThreads = ioThreads;
+        this.parseThreads = parseThreads;
+        this.maxBufferedBytes = maxBufferedBytes;
+    }
+
+    /**
+     * Loads all {@code .csv}, {@code .json} and {@code .xml} files (optionally
+     * ending in {@code .gz} or {@code .zst}) under a directory.
+     *
+     * @param dir the directory to load
+     * @return the merged board and timing report
+     * @throws IOException if a file cannot be read or parsed, or a conflict
+     *                     occurs under {@link ConflictPolicy#FAIL}
+     */
+    public Result load(Path dir) throws IOException {
+        long start = System.nanoTime();
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(dir)) {
+            files = walk.filter(Files::isRegularFile)
+                        .filter(DirectoryLoader::isQuestionFile)
+                        .sorted()
+                        .collect(Collectors.toList());
+        }
+
+        StringDictionary dictionary = new StringDictionary();
+        Semaphore buffered = new Semaphore(maxBufferedBytes);
+        ExecutorService io = Executors.newFixedThreadPool(Math.max(1, Math.min(ioThreads, files.size())));
+        ExecutorService cpu = Executors.newFixedThreadPool(Math.max(1, Math.min(parseThreads, files.size())));
+        try {
+            List<CompletableFuture<Parsed>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                Path name = dir.relativize(file);
+                long size = Files.size(file);
+                if (size > Math.min(STREAM_THRESHOLD, maxBufferedBytes)) {
+                    futures.add(CompletableFuture.supplyAsync(() -> stream(file, name, size, dictionary), cpu));
+                } else {
+                    futures.add(CompletableFuture
+                            .supplyAsync(() -> read(file, (int) size, buffered), io)
+                            .thenApplyAsync(raw -> {
+                                try {
+                                    return parse(name, new ByteArrayInputStream(raw.value), raw.value.length,
+                                            raw.nanos, dictionary);
+                                } finally {
+                                    buffered.release(raw.permits);
+                                }
+                            }, cpu));
+                }
+            }
+
+            List<Parsed> parsed = new ArrayList<>(futures.size());
+            for (CompletableFuture<Parsed> f : futures) {
+                try {
+                    parsed.add(f.join());
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof UncheckedIOException) throw ((UncheckedIOException) cause).getCause();
+                    throw e;
+                }
+            }
+            return merge(parsed, start);
+        } finally {
+            io.shutdownNow();
+            cpu.shutdownNow();
+        }
+    }
+
+    private static boolean isQuestionFile(Path p) {
+        return ParserRegistry.isSupported(p.getFileName().toString());
+    }
+
+    /**
+     * I/O stage: reads the raw (possibly compressed) bytes of a file, first
+     * waiting until the bytes fit within the read-ahead limit. The caller
+     * releases the permits once the bytes have been parsed.
+     */
+    private static Timed<byte[]> read(Path file, int size, Semaphore buffered) {
+        try {
+            buffered.acquire(size);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+        long t0 = System.nanoTime();
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            return new Timed<>(bytes, System.nanoTime() - t0, size);
+        } catch (IOException e) {
+            buffered.release(size);
+            throw new UncheckedIOException(new IOException("Failed to read " + file + ": " + e.getMessage(), e));
+        } catch (RuntimeException | Error e) {
+            buffered.release(size);
+            throw e;
+        }
+    }
+
+    /** Parse stage for a large file: reads it from disk while parsing. */
+    private static Parsed stream(Path file, Path name, long size, StringDictionary dictionary) {
+        try (InputStream in = Files.newInputStream(file)) {
+            return parse(name, in, size, 0, dictionary);
+        } catch (IOException e) {
+            throw new UncheckedIOException(new IOException("Failed to read " + file + ": " + e.getMessage(), e));
+        }
+    }
+
+    /**
+     * CPU stage: decompresses, sniffs, parses and validates the data of one
+     * file. A file that fails validation yields no questions.
+     */
+    private static Parsed parse(Path name, InputStream raw, long bytes, long readNanos,
+                                StringDictionary dictionary) {
+        long t0 = System.nanoTime();
+        List<Question> questions = new ArrayList<>();
+        ValidationReport validation;
+        try {
+            InputStream data = FileParserFactory.open(raw);
+            List<QuestionRecord> records = FileParserFactory.detectParser(data)
+                    .readRecords(data, name.toString(), dictionary);
+            validation = new QuestionBankValidator().validate(records);
+            if (validation.isValid()) {
+                for (QuestionRecord r : records) {
+                    questions.add(r.toQuestion());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(new IOException("Failed to parse " + name + ": " + e.getMessage(), e));
+        }
+        FileTiming timing = new FileTiming(name, bytes, questions.size(),
+                readNanos, System.nanoTime() - t0, validation);
+        return new Parsed(questions, timing);
+    }
+
+    private Result merge(List<Parsed> parsed, long start) throws IOException {
+        QuestionBoard board = new QuestionBoard();
+        Map<String, Path> origin = policy == ConflictPolicy.FAIL ? new HashMap<>() : null;
+        List<FileTiming> timings = new ArrayList<>(parsed.size());
+        int conflicts = 0;
+
+        for (Parsed p : parsed) {
+            timings.add(p.timing);
+            for (Question q : p.questions) {
+                if (board.getQuestion(q.getCategory(), q.getValue()) != null) {
+                    conflicts++;
+                    if (policy == ConflictPolicy.FIRST_WINS) continue;
+                    if (policy == ConflictPolicy.FAIL) {
+                        throw new IOException("Duplicate question " + q.getCategory() + "/" + q.getValue()
+                                + " in " + p.timing.file + " (already in "
+                                + origin.get(q.getCategory() + '\0' + q.getValue()) + ")");
+                    }
+                }
+                if (origin != null) origin.put(q.getCategory() + '\0' + q.getValue(), p.timing.file);
+                board.addQuestion(q);
+            }
+        }
+        return new Result(board, Collections.unmodifiableList(timings), conflicts,
+                System.nanoTime() - start);
+    }
+
+    /** A value together with the time it took to produce and the read-ahead it holds. */
+    private static final class Timed<T> {
+        final T value;
+        final long nanos;
+        final int permits;
+
+        Timed(T value, long nanos, int permits) {
+            this.value = value;
+            this.nanos = nanos;
+            this.permits = permits;
+        }
+    }
+}
@@ -1,8 +1,18 @@
 package uwi.comp3607.jeopardy.io;
 
+import uwi.comp3607.jeopardy.model.Question;
 import uwi.comp3607.jeopardy.model.QuestionBoard;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Strategy interface for loading Jeopardy questions from different file formats.
@@ -10,9 +20,191 @@ import java.io.IOException;
  * Implementations of this interface support CSV, JSON, XML, or other formats,
  * and produce a populated {@link QuestionBoard} from the given file.
  * </p>
+ * <p>
+ * Each implementation only has to provide {@link #openReader}, a pull-based
+ * {@link RecordReader}. Everything else is built on it: one-pass consumers
+ * can use {@link #forEachQuestion} or {@link #stream} and run in constant
+ * memory, while {@link #parse(File)} is just a collector into a board.
+ * </p>
  */
 public interface FileParser {
 
+    /**
+     * Opens a reader that returns the question entries of a stream one by one.
+     * <p>
+     * No field is interpreted here, so malformed entries are returned rather
+     * than rejected. Closing the reader closes the stream.
+     * </p>
+     *
+     * @param in         the stream of question data
+     * @param source     name used for the stream in record locations
+     * @param dictionary the load-scoped dictionary for repeated strings
+     * @return a reader positioned before the first record
+     * @throws IOException if the stream cannot be read or is not well-formed
+     */
+    RecordReader openReader(InputStream in, String source,
+                            StringDictionary dictionary) throws IOException;
+
+    /**
+     * Reads every question entry in the file as a raw {@link QuestionRecord}.
+     * <p>
+     * No field is interpreted here, so malformed entries are returned rather
+     * than rejected. This is the input to
+     * {@link uwi.comp3607.jeopardy.validation.QuestionBankValidator}.
+     * </p>
+     *
+     * @param file the input file containing Jeopardy questions
+     * @return the records in file order
+     * @throws IOException if the file cannot be read or is not well-formed
+     */
+    default List<QuestionRecord> readRecords(File file) throws IOException {
+        return readRecords(file, new StringDictionary());
+    }
+
+    /**
+     * Reads every question entry in the file, sharing repeated strings
+     * through the given dictionary.
+     * <p>
+     * Pass the same dictionary to every parser used during one load so that
+     * categories, options and answer keys are stored once across all files.
+     * </p>
+     *
+     * @param file       the input file containing Jeopardy questions
+     * @param dictionary the load-scoped dictionary for repeated strings
+     * @return the records in file order
+     * @throws IOException if the file cannot be read or is not well-formed
+     */
+    default List<QuestionRecord> readRecords(File file, StringDictionary dictionary) throws IOException {
+        return readRecords(new FileInputStream(file), file.getName(), dictionary);
+    }
+
+    /**
+     * Reads every question entry from a stream, such as a pipe or a
+     * decompressed archive.
+     * <p>
+     * The stream is read once, front to back, and is closed when reading
+     * completes or fails. Use {@link FileParserFactory#open(InputStream)} to detect
+     * the format and undo compression first.
+     * </p>
+     *
+     * @param in         the stream of question data
+     * @param source     name used for the stream in record locations
+     * @param dictionary the load-scoped dictionary for repeated strings
+     * @return the records in stream order
+     * @throws IOException if the stream cannot be read or is not well-formed
+     */
+    default List<QuestionRecord> readRecords(InputStream in, String source,
+                                             StringDictionary dictionary) throws IOException {
+        List<QuestionRecord> records = new ArrayList<>();
+        // Closing the raw stream as well covers an openReader that fails
+        try (InputStream raw = in; RecordReader reader = openReader(raw, source, dictionary)) {
+            QuestionRecord r;
+            while ((r = reader.next()) != null) {
+                records.add(r);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Reads every question entry from a byte channel.
+     *
+     * @param channel    the channel of question data; closed when done
+     * @param source     name used for the channel in record locations
+     * @param dictionary the load-scoped dictionary for repeated strings
+     * @return the records in channel order
+     * @throws IOException if the channel cannot be read or is not well-formed
+     */
+    default List<QuestionRecord> readRecords(ReadableByteChannel channel, String source,
+                                             StringDictionary dictionary) throws IOException {
+        return readRecords(Channels.newInputStream(channel), source, dictionary);
+    }
+
+    /**
+     * Pushes each question in a stream to a sink, one at a time.
+     * <p>
+     * Records missing CSV columns are skipped. Reading stops at the end of
+     * the input or as soon as the sink returns {@code false}; either way, or
+     * if reading fails, the stream is closed before this method returns.
+     * </p>
+     *
+     * @param in         the stream of question data
+     * @param source     name used for the stream in error messages
+     * @param dictionary the load-scoped dictionary for repeated strings
+     * @param sink       receives each question
+     * @return {@code true} if the whole input was read, {@code false} if the
+     *         sink stopped early
+     * @throws IOException if reading fails, a value is invalid, or the sink fails
+     */
+    default boolean forEachQuestion(InputStream in, String source, StringDictionary dictionary,
+                                    QuestionSink sink) throws IOException {
+        try (InputStream raw = in; RecordReader reader = openReader(raw, source, dictionary)) {
+            QuestionRecord r;
+            while ((r = reader.next()) != null) {
+                if (r.hasAllColumns() && !sink.accept(r.toQuestion())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns a lazily read stream of the questions in the input.
+     * <p>
+     * Records missing CSV columns are skipped. Short-circuiting operations
+     * stop reading early, and the stream's spliterator can be split, so
+     * {@code .parallel()} spreads question processing over several threads.
+     * Read errors are thrown as {@link UncheckedIOException}. Close the
+     * stream (e.g. with try-with-resources) to close the input.
+     * </p>
+     *
+     * @param in         the stream of question data
+     * @param source     name used for the stream in error messages
+     * @param dictionary the load-scoped dictionary for repeated strings
+     * @return a stream of questions in input order
+     * @throws IOException if the input cannot be opened; it is closed first
+     */
+    default Stream<Question> stream(InputStream in, String source,
+                                    StringDictionary dictionary) throws IOException {
+        RecordReader reader;
+        try {
+            reader = openReader(in, source, dictionary);
+        } catch (IOException | RuntimeException ex) {
+            try {
+                in.close();
+            } catch (IOException suppressed) {
+                ex.addSuppressed(suppressed);
+            }
+            throw ex;
+        }
+        return StreamSupport.stream(new QuestionSpliterator(reader), false)
+                .onClose(() -> {
+                    try {
+                        reader.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Parses question data from a stream and returns a question board.
+     *
+     * @param in     the stream of question data; closed when done
+     * @param source name used for the stream in error messages
+     * @return a {@link QuestionBoard} populated with questions from the stream
+     * @throws IOException if the stream cannot be read or parsed
+     */
+    default QuestionBoard parse(InputStream in, String source) throws IOException {
+        QuestionBoard board = new QuestionBoard();
+        forEachQuestion(in, source, new StringDictionary(), q -> {
+            board.addQuestion(q);
+            return true;
+        });
+        return board;
+    }
+
     /**
      * Parses the specified file and returns a question board.
      *
@@ -20,5 +212,40 @@ public interface FileParser {
      * @return a {@link QuestionBoard} populated with questions from the file
      * @throws IOException if the file cannot be read or parsed
      */
-    QuestionBoard parse(File file) throws IOException;
+    default QuestionBoard parse(File file) throws IOException {
+        return parse(new FileInputStream(file), file.getName());
+    }
+
+    /**
+     * Builds a question board from records returned by {@link #readRecords(File)}.
+     * <p>
+     * Records missing CSV columns are skipped. A value that is not a whole
+     * number fails with the location of the offending record.
+     * </p>
+     *
+     * @param records the records to convert
+     * @return a {@link QuestionBoard} holding the converted questions
+     * @throws IOException if a record has an invalid value
+     */
+    static QuestionBoard buildBoard(List<QuestionRecord> records) throws IOException {
+        return buildBoard(records, new QuestionBoard());
+    }
+
+    /**
+     * Adds questions built from records to an existing board, such as one
+     * created with {@link QuestionBoard#withArena()}.
+     *
+     * @param records the records to convert
+     * @param board   the board to add the questions to
+     * @return {@code board}
+     * @throws IOException if a record has an invalid value
+     */
+    static QuestionBoard buildBoard(List<QuestionRecord> records, QuestionBoard board) throws IOException {
+        for (QuestionRecord r : records) {
+            if (r.hasAllColumns()) {
+                board.addQuestion(r.toQuestion());
+            }
+        }
+        return board;
+    }
 }
@@ -1,31 +1,201 @@
 package uwi.comp3607.jeopardy.io;
 
+import io.airlift.compress.zstd.ZstdInputStream;
+import uwi.comp3607.jeopardy.model.Question;
+import uwi.comp3607.jeopardy.model.QuestionBoard;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
 /**
- * Factory for creating {@link FileParser} instances based on file extension.
+ * Factory for creating {@link FileParser} instances based on file extension
+ * or file content.
  * <p>
  * This class encapsulates the logic for choosing the correct parser implementation
  * (CSV, JSON, XML) and keeps the rest of the application decoupled from
  * concrete parser classes.
  * </p>
+ * <p>
+ * Besides choosing by extension, the factory can look at the first bytes of
+ * a stream: gzip and Zstandard data are decompressed on the fly, then a
+ * leading {@code [} or <code>{</code> selects JSON, {@code <} selects XML,
+ * and anything else is read as CSV. This lets banks be loaded straight from
+ * {@code .gz}/{@code .zst} archives or pipes without temporary files.
+ * </p>
  */
 public class FileParserFactory {
 
+    /** Read buffer size for file and decompressed streams. */
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /** Number of leading bytes examined when sniffing a stream. */
+    private static final int SNIFF_LIMIT = 512;
+
     /**
-     * Creates an appropriate {@link FileParser} for the given filename.
+     * Returns the {@link FileParser} for the given filename from the
+     * {@link ParserRegistry}.
+     * <p>
+     * A trailing {@code .gz} or {@code .zst} is ignored, so
+     * {@code bank.csv.gz} selects the CSV parser. Parsers are shared and
+     * thread-safe.
+     * </p>
      *
      * @param filename the name or path of the game data file
      * @return a {@link FileParser} suitable for the file's extension
      * @throws IllegalArgumentException if the file type is unsupported
      */
     public static FileParser createParser(String filename) {
-        String lower = filename.toLowerCase();
-        if (lower.endsWith(".csv")) {
-            return new CsvFileParser();
-        } else if (lower.endsWith(".json")) {
-            return new JsonFileParser();
-        } else if (lower.endsWith(".xml")) {
-            return new XmlFileParser();
-        }
-        throw new IllegalArgumentException("Unsupported file type: " + filename);
+        FileParser parser = ParserRegistry.forFileName(filename);
+        if (parser == null) {
+            throw new IllegalArgumentException("Unsupported file type: " + filename);
+        }
+        return parser;
+    }
+
+    /**
+     * Reads all records from a file, detecting compression and format from
+     * its content rather than its name.
+     *
+     * @param file       the game data file, possibly compressed
+     * @param dictionary the load-scoped dictionary for repeated strings
+     * @return the records in file order
+     * @throws IOException if the file cannot be read or parsed
+     */
+    public static List<QuestionRecord> readRecords(File file, StringDictionary dictionary)
+            throws IOException {
+        return readRecords(new FileInputStream(file), file.getName(), dictionary);
+    }
+
+    /**
+     * Reads all records from a stream, detecting compression and format from
+     * its content.
+     *
+     * @param in         the stream of question data; closed when done, even
+     *                   if it cannot be read
+     * @param source     name used for the stream in record locations
+     * @param dictionary the load-scoped dictionary for repeated strings
+     * @return the records in stream order
+     * @throws IOException if the stream cannot be read or parsed
+     */
+    public static List<QuestionRecord> readRecords(InputStream in, String source,
+                                                   StringDictionary dictionary) throws IOException {
+        try (InputStream raw = in; InputStream data = open(raw)) {
+            return detectParser(data).readRecords(data, source, dictionary);
+        }
+    }
+
+    /**
+     * Loads a board from a file, detecting compression and format from its
+     * content. Questions are added to the board as they are read.
+     *
+     * @param file the game data file, possibly compressed
+     * @return the loaded board
+     * @throws IOException if the file cannot be read or parsed
+     */
+    public static QuestionBoard load(File file) throws IOException {
+        try (InputStream raw = new FileInputStream(file); InputStream data = open(raw)) {
+            return detectParser(data).parse(data, file.getName());
+        }
+    }
+
+    /**
+     * Returns a lazily read stream of the questions in a file, detecting
+     * compression and format from its content.
+     * <p>
+     * See {@link FileParser#stream(InputStream, String, StringDictionary)};
+     * close the returned stream to close the file.
+     * </p>
+     *
+     * @param file       the game data file, possibly compressed
+     * @param dictionary the load-scoped dictionary for repeated strings
+     * @return a stream of questions in file order
+     * @throws IOException if the file cannot be opened
+     */
+    public static Stream<Question> stream(File file, StringDictionary dictionary) throws IOException {
+        InputStream raw = new FileInputStream(file);
+        InputStream data = raw;
+        try {
+            data = open(raw);
+            return detectParser(data).stream(data, file.getName(), dictionary);
+        } catch (IOException | RuntimeException ex) {
+            // The stream was never handed out, so nobody else will close the file
+            try {
+                data.close();
+            } catch (IOException suppressed) {
+                ex.addSuppressed(suppressed);
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Wraps a stream in a buffer and transparently undoes gzip or Zstandard
+     * compression, detected from the stream's magic bytes.
+     * <p>
+     * The returned stream supports {@code mark}/{@code reset}, so it can be
+     * passed to {@link #detectParser(InputStream)}.
+     * </p>
+     *
+     * @param in the raw stream
+     * @return a buffered stream of uncompressed data
+     * @throws IOException if the stream cannot be read
+     */
+    public static InputStream open(InputStream in) throws IOException {
+        InputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        byte[] head = peek(buffered, 4);
+        if (isGzip(head)) {
+            return new BufferedInputStream(new GZIPInputStream(buffered, BUFFER_SIZE), BUFFER_SIZE);
+        }
+        if (isZstd(head)) {
+            return new BufferedInputStream(new ZstdInputStream(buffered), BUFFER_SIZE);
+        }
+        return buffered;
+    }
+
+    /**
+     * Chooses a parser from the first non-blank character of a stream.
+     * <p>
+     * The stream must support {@code mark}/{@code reset}; it is left
+     * positioned at its start.
+     * </p>
+     *
+     * @param in an uncompressed, markable stream
+     * @return the JSON, XML or CSV parser
+     * @throws IOException if the stream cannot be read
+     */
+    public static FileParser detectParser(InputStream in) throws IOException {
+        byte[] head = peek(in, SNIFF_LIMIT);
+        int i = 0;
+        // Skip a UTF-8 byte order mark and leading whitespace
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xEF
+                && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            i = 3;
+        }
+        while (i < head.length && Character.isWhitespace(head[i])) {
+            i++;
+        }
+        return ParserRegistry.forContent(i < head.length ? head[i] & 0xFF : -1);
+    }
+
+    /** Reads up to {@code n} bytes and resets the stream to where it was. */
+    private static byte[] peek(InputStream in, int n) throws IOException {
+        in.mark(n);
+        byte[] head = in.readNBytes(n);
+        in.reset();
+        return head;
+    }
+
+    private static boolean isGzip(byte[] head) {
+        return head.length >= 2 && (head[0] & 0xFF) == 0x1F && (head[1] & 0xFF) == 0x8B;
+    }
+
+    private static boolean isZstd(byte[] head) {
+        return head.length >= 4 && (head[0] & 0xFF) == 0x28 && (head[1] & 0xFF) == 0xB5
+                && (head[2] & 0xFF) == 0x2F && (head[3] & 0xFF) == 0xFD;
     }
 }
@@ -1,12 +1,13 @@
 package uwi.comp3607.jeopardy.io;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import uwi.comp3607.jeopardy.model.Question;
-import uwi.comp3607.jeopardy.model.QuestionBoard;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
 
 /**
  * {@link FileParser} implementation that loads questions from a JSON file.
@@ -15,35 +16,88 @@ import java.io.IOException;
  * such as {@code Category}, {@code Value}, {@code Question}, {@code Options},
  * and {@code CorrectAnswer}.
  * </p>
+ * <p>
+ * The array is read with Jackson's streaming parser, so only one question
+ * object is materialised at a time.
+ * </p>
  */
 public class JsonFileParser implements FileParser {
 
-    /** Jackson object mapper used to read JSON input. */
-    private final ObjectMapper mapper = new ObjectMapper();
+    /** Shared Jackson object mapper used to read JSON input. */
+    private final ObjectMapper mapper = Mappers.json();
 
-    @Override
-    public QuestionBoard parse(File file) throws IOException {
-        QuestionBoard board = new QuestionBoard();
-        JsonNode root = mapper.readTree(file);
-        if (!root.isArray()) return board;
-
-        for (JsonNode node : root) {
-            String category = node.get("Category").asText();
-            int value = node.get("Value").asInt();
-            String question = node.get("Question").asText();
-
-            JsonNode options = node.get("Options");
-            String optionA = options.get("A").asText();
-            String optionB = options.get("B").asText();
-            String optionC = options.get("C").asText();
-            String optionD = options.get("D").asText();
-
-            String correct = node.get("CorrectAnswer").asText();
-
-            board.addQuestion(new Question(category, value, question,
-                    optionA, optionB, optionC, optionD, correct));
+    /** Registers this parser with {@link ParserRegistry}. */
+    public static final class Provider implements ParserProvider {
+        @Override
+        public Set<String> extensions() {
+            return Set.of("json");
+        }
+
+        @Override
+        public boolean matches(byte first) {
+            return first == '[' || first == '{';
+        }
+
+        @Override
+        public FileParser create() {
+            return new JsonFileParser();
         }
+    }
+
+    @Override
+    public RecordReader openReader(InputStream in, String source,
+                                   StringDictionary dictionary) throws IOException {
+        JsonParser p = mapper.getFactory().createParser(in);
+        boolean isArray = p.nextToken() == JsonToken.START_ARRAY;
+
+        return new RecordReader() {
+            private int recordNumber = 0;
+            private boolean done = !isArray;
+
+            @Override
+            public QuestionRecord next() throws IOException {
+                if (done || p.nextToken() != JsonToken.START_OBJECT) {
+                    done = true;
+                    return null;
+                }
+
+                // Each record keeps the line it started on
+                int line = p.currentLocation().getLineNr();
+                JsonNode node = mapper.readTree(p);
+                JsonNode options = node.path("Options");
+
+                return new QuestionRecord(
+                        source,
+                        line,
+                        ++recordNumber,
+                        -1,
+                        dictionary.canonical(text(node, "Category")),
+                        text(node, "Value"),
+                        text(node, "Question"),
+                        dictionary.canonical(text(options, "A")),
+                        dictionary.canonical(text(options, "B")),
+                        dictionary.canonical(text(options, "C")),
+                        dictionary.canonical(text(options, "D")),
+                        dictionary.answerKey(text(node, "CorrectAnswer")));
+            }
+
+            @Override
+            public void close() throws IOException {
+                p.close();
+            }
+        };
+    }
 
-        return board;
+    /**
+     * Returns the trimmed text of a field, or {@code null} if it is absent.
+     *
+     * @param node  the object node
+     * @param field the field name
+     * @return trimmed field text, or {@code null}
+     */
+    private String text(JsonNode node, String field) {
+        JsonNode child = node.get(field);
+        if (child == null || child.isNull()) return null;
+        return child.asText().trim();
     }
 }
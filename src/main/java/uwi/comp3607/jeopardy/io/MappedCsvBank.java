@@ -0,0 +1,242 @@
+package uwi.comp3607.jeopardy.io;
+
+import uwi.comp3607.jeopardy.model.Question;
+import uwi.comp3607.jeopardy.model.QuestionBoard;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Memory-mapped view of a CSV game file whose questions load their text lazily.
+ * <p>
+ * Opening the bank scans the mapped file once and keeps, for each row, only
+ * the key fields (category, value and answer key) and the row's offset in the
+ * file. Question text and options stay in the page cache until one of the
+ * text getters is first called, at which point that single row is decoded
+ * and cached. Category names are shared between all questions of a category.
+ * </p>
+ * <p>
+ * Questions from this bank are ordinary {@link Question}s, so they can be put
+ * on a {@link QuestionBoard} or in a {@link uwi.comp3607.jeopardy.bank.QuestionBank}
+ * without the rest of the game noticing. The CSV layout and row-skipping
+ * rules are the same as {@link CsvFileParser}. Files must be smaller than
+ * 2&nbsp;GiB so that a row offset fits in an {@code int}.
+ * </p>
+ */
+public class MappedCsvBank {
+
+    /** Read-only mapping of the whole file; rows are read with absolute gets. */
+    private final MappedByteBuffer buffer;
+    /** Lazily loaded questions in file order. */
+    private final List<Question> questions;
+
+    private MappedCsvBank(MappedByteBuffer buffer, List<Question> questions) {
+        this.buffer = buffer;
+        this.questions = questions;
+    }
+
+    /**
+     * Maps a CSV game file and indexes its rows.
+     *
+     * @param file the CSV file to open
+     * @return the opened bank
+     * @throws IOException if the file cannot be mapped, is too large, or has
+     *                     an invalid value
+     */
+    public static MappedCsvBank open(File file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map (over 2 GiB): " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        List<Question> questions = new ArrayList<>();
+        MappedCsvBank bank = new MappedCsvBank(buffer, Collections.unmodifiableList(questions));
+        bank.index(file.getName(), questions);
+        return bank;
+    }
+
+    /** @return all questions in file order */
+    public List<Question> getQuestions() { return questions; }
+
+    /**
+     * Builds a board from this bank, keeping the last question for each
+     * (category, value) as {@link CsvFileParser#parse(File)} does.
+     *
+     * @return a board of lazily loaded questions
+     */
+    public QuestionBoard toBoard() {
+        QuestionBoard board = new QuestionBoard();
+        for (Question q : questions) {
+            board.addQuestion(q.copy());
+        }
+        return board;
+    }
+
+    /**
+     * Scans every row once and records its key fields and offset.
+     */
+    private void index(String source, List<Question> out) throws IOException {
+        int limit = buffer.limit();
+        StringDictionary dictionary = new StringDictionary();
+        int[] bounds = new int[16];
+        int pos = nextLine(0, limit); // skip header row
+        int lineNumber = 1;
+
+        while (pos < limit) {
+            int end = nextLine(pos, limit);
+            lineNumber++;
+            int rowEnd = trimLineEnd(pos, end);
+            int fields = splitRow(pos, rowEnd, bounds);
+
+            if (fields >= 8) {
+                String category = dictionary.canonical(field(bounds, 0));
+                String valueText = field(bounds, 1);
+                int value;
+                try {
+                    value = Integer.parseInt(valueText);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Invalid question value '" + valueText
+                            + "' at " + source + ":" + lineNumber, e);
+                }
+                String answer = dictionary.answerKey(field(bounds, 7));
+                out.add(new MappedQuestion(this, category, value, answer,
+                        pos, rowEnd - pos));
+            }
+            pos = end;
+        }
+    }
+
+    /** Returns the offset just past the next newline, or {@code limit}. */
+    private int nextLine(int from, int limit) {
+        for (int i = from; i < limit; i++) {
+            if (buffer.get(i) == '\n') return i + 1;
+        }
+        return limit;
+    }
+
+    /** Returns the end of a row with any trailing line terminator removed. */
+    private int trimLineEnd(int start, int end) {
+        while (end > start && (buffer.get(end - 1) == '\n' || buffer.get(end - 1) == '\r')) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Finds field boundaries of a row, honouring double quotes like
+     * {@link CsvFileParser}. Fills {@code bounds} with start/end pairs for
+     * the first 8 fields.
+     *
+     * @return the number of fields in the row (0 for a blank row)
+     */
+    private int splitRow(int start, int end, int[] bounds) {
+        boolean blank = true;
+        for (int i = start; i < end && blank; i++) {
+            blank = buffer.get(i) <= ' ';
+        }
+        if (blank) return 0;
+
+        int fields = 0;
+        int fieldStart = start;
+        boolean inQuotes = false;
+        for (int i = start; i < end; i++) {
+            byte b = buffer.get(i);
+            if (b == '"') {
+                inQuotes = !inQuotes;
+            } else if (b == ',' && !inQuotes) {
+                if (fields < 8) {
+                    bounds[fields * 2] = fieldStart;
+                    bounds[fields * 2 + 1] = i;
+                }
+                fields++;
+                fieldStart = i + 1;
+            }
+        }
+        if (fields < 8) {
+            bounds[fields * 2] = fieldStart;
+            bounds[fields * 2 + 1] = end;
+        }
+        return fields + 1;
+    }
+
+    /**
+     * Decodes one field found by {@link #splitRow}, trimmed, with quotes
+     * removed and doubled quotes kept as one, as {@link CsvFileParser} does.
+     */
+    private String field(int[] bounds, int column) {
+        String raw = decode(bounds[column * 2], bounds[column * 2 + 1] - bounds[column * 2]);
+        // The field holds no unquoted comma, so it splits into itself.
+        return (raw.indexOf('"') < 0 ? raw : CsvFileParser.splitCsvLine(raw).get(0)).trim();
+    }
+
+    /**
+     * Decodes bytes from the mapping as UTF-8. Uses an absolute bulk get so
+     * concurrent readers never disturb each other.
+     */
+    String decode(int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Question that holds only its key fields and a row offset, and decodes
+     * its text from the mapped file on first access.
+     */
+    static final class MappedQuestion extends Question {
+        private final MappedCsvBank bank;
+        private final int offset;
+        private final int length;
+        /** Question text and options A&ndash;D once decoded. */
+        private volatile String[] text;
+
+        MappedQuestion(MappedCsvBank bank, String category, int value, String correctAnswer,
+                       int offset, int length) {
+            super(category, value, correctAnswer);
+            this.bank = bank;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        /**
+         * Decodes and caches the row text. Two threads may race to decode
+         * the same row; both produce equal values, so either result is kept.
+         */
+        private String[] text() {
+            String[] t = text;
+            if (t == null) {
+                List<String> parts = CsvFileParser.splitCsvLine(bank.decode(offset, length));
+                t = new String[5];
+                for (int i = 0; i < 5; i++) {
+                    t[i] = parts.get(i + 2).trim();
+                }
+                text = t;
+            }
+            return t;
+        }
+
+        @Override public String getQuestionText() { return text()[0]; }
+        @Override public String getOptionA() { return text()[1]; }
+        @Override public String getOptionB() { return text()[2]; }
+        @Override public String getOptionC() { return text()[3]; }
+        @Override public String getOptionD() { return text()[4]; }
+
+        @Override
+        public Question copy() {
+            MappedQuestion q = new MappedQuestion(bank, getCategory(), getValue(),
+                    getCorrectAnswer(), offset, length);
+            q.text = text;
+            return q;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package uwi.comp3607.jeopardy.io;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.xml.stream.XMLInputFactory;
+
+/**
+ * Shared, lazily created JSON and XML reader factories.
+ * <p>
+ * Creating an {@link ObjectMapper} or {@link XMLInputFactory} is expensive
+ * and both are thread-safe once configured, so the application uses one of
+ * each. Each lives in its own holder class and is only built, with its
+ * library's classes loaded, the first time it is asked for.
+ * </p>
+ */
+public final class Mappers {
+
+    private static final class Json {
+        static final ObjectMapper MAPPER = new ObjectMapper();
+    }
+
+    private static final class Xml {
+        static final XMLInputFactory INPUT = createXmlInput();
+
+        private static XMLInputFactory createXmlInput() {
+            XMLInputFactory factory = XMLInputFactory.newFactory();
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+            factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+            factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+            return factory;
+        }
+    }
+
+    private Mappers() {
+    }
+
+    /**
+     * Returns the shared object mapper. It must not be reconfigured.
+     *
+     * @return the mapper
+     */
+    public static ObjectMapper json() {
+        return Json.MAPPER;
+    }
+
+    /**
+     * Returns the shared mapper's streaming factory.
+     *
+     * @return the JSON factory
+     */
+    public static JsonFactory jsonFactory() {
+        return Json.MAPPER.getFactory();
+    }
+
+    /**
+     * Returns the shared StAX factory, configured not to process DTDs or
+     * external entities. It must not be reconfigured.
+     *
+     * @return the XML input factory
+     */
+    public static XMLInputFactory xmlInput() {
+        return Xml.INPUT;
+    }
+}
@@ -0,0 +1,42 @@
+package uwi.comp3607.jeopardy.io;
+
+import java.util.Set;
+
+/**
+ * Service interface through which {@link ParserRegistry} discovers
+ * {@link FileParser} implementations.
+ * <p>
+ * Providers are listed in
+ * {@code META-INF/services/uwi.comp3607.jeopardy.io.ParserProvider} and loaded
+ * with {@link java.util.ServiceLoader}. A provider must be cheap to create:
+ * it should not touch its parser's dependencies (such as Jackson) until
+ * {@link #create()} is called, so that formats that are never used cost
+ * nothing at startup.
+ * </p>
+ */
+public interface ParserProvider {
+
+    /**
+     * Returns the file extensions this format uses.
+     *
+     * @return lower-case extensions without the dot, e.g. {@code "json"}
+     */
+    Set<String> extensions();
+
+    /**
+     * Tells whether content starting with the given character is in this
+     * format. The CSV provider, used as the fallback, matches nothing.
+     *
+     * @param first the first non-blank byte of the content
+     * @return {@code true} if this provider's parser should read the content
+     */
+    boolean matches(byte first);
+
+    /**
+     * Creates the parser. It is called at most once per registry, and the
+     * parser is then shared, so it must be thread-safe.
+     *
+     * @return a new parser
+     */
+    FileParser create();
+}
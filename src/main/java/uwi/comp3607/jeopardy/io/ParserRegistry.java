@@ -0,0 +1,123 @@
+package uwi.comp3607.jeopardy.io;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ServiceLoader;
+
+/**
+ * Lazily populated registry of the {@link FileParser}s available at runtime.
+ * <p>
+ * Providers are discovered once with {@link ServiceLoader}, the first time a
+ * parser is looked up. Each parser is created only when a file of its format
+ * is first read and is then shared, so a session that plays a CSV game never
+ * loads the JSON or XML parsing stacks.
+ * </p>
+ */
+public final class ParserRegistry {
+
+    /** One discovered format and its parser, created on first use. */
+    private static final class Entry {
+        final ParserProvider provider;
+        volatile FileParser parser;
+
+        Entry(ParserProvider provider) {
+            this.provider = provider;
+        }
+
+        FileParser parser() {
+            FileParser p = parser;
+            if (p == null) {
+                synchronized (this) {
+                    p = parser;
+                    if (p == null) {
+                        parser = p = provider.create();
+                    }
+                }
+            }
+            return p;
+        }
+    }
+
+    /** Providers, discovered when this class is first used. */
+    private static final class Holder {
+        static final List<Entry> ENTRIES = discover();
+
+        private static List<Entry> discover() {
+            List<Entry> entries = new ArrayList<>();
+            for (ParserProvider p : ServiceLoader.load(ParserProvider.class, ParserRegistry.class.getClassLoader())) {
+                entries.add(new Entry(p));
+            }
+            return entries;
+        }
+    }
+
+    private ParserRegistry() {
+    }
+
+    /**
+     * Finds the parser for a file name, ignoring a trailing {@code .gz} or
+     * {@code .zst}.
+     *
+     * @param filename the file's name or path
+     * @return the shared parser, or {@code null} if no format uses the extension
+     */
+    public static FileParser forFileName(String filename) {
+        String ext = extension(filename);
+        for (Entry e : Holder.ENTRIES) {
+            if (e.provider.extensions().contains(ext)) {
+                return e.parser();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the parser for content starting with the given byte.
+     *
+     * @param first the first non-blank byte, or -1 if the content is blank
+     * @return the matching parser, or the CSV parser if none matches
+     */
+    public static FileParser forContent(int first) {
+        if (first >= 0) {
+            for (Entry e : Holder.ENTRIES) {
+                if (e.provider.matches((byte) first)) {
+                    return e.parser();
+                }
+            }
+        }
+        FileParser csv = forFileName("fallback.csv");
+        if (csv == null) {
+            throw new IllegalStateException("No CSV parser is registered");
+        }
+        return csv;
+    }
+
+    /**
+     * Tells whether a file name has an extension some parser reads.
+     *
+     * @param filename the file's name or path
+     * @return {@code true} if a parser is registered for it
+     */
+    public static boolean isSupported(String filename) {
+        String ext = extension(filename);
+        for (Entry e : Holder.ENTRIES) {
+            if (e.provider.extensions().contains(ext)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Lower-case extension of a file name, skipping a compression suffix. */
+    private static String extension(String filename) {
+        String lower = filename.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".gz")) {
+            lower = lower.substring(0, lower.length() - 3);
+        } else if (lower.endsWith(".zst")) {
+            lower = lower.substring(0, lower.length() - 4);
+        }
+        int dot = lower.lastIndexOf('.');
+        return dot < 0 ? "" : lower.substring(dot + 1);
+    }
+}
@@ -0,0 +1,131 @@
+package uwi.comp3607.jeopardy.io;
+
+import uwi.comp3607.jeopardy.model.Question;
+
+import java.io.IOException;
+
+/**
+ * Raw, unvalidated question data as read from a game file.
+ * <p>
+ * A record keeps every field exactly as it appeared in the source (trimmed),
+ * including the {@code Value} column as text, together with where it came
+ * from. This lets the validation stage report every problem in a file with
+ * its location instead of aborting on the first bad row.
+ * </p>
+ */
+public class QuestionRecord {
+    /** Name of the file (or stream) the record was read from. */
+    private final String source;
+    /** 1-based line number of the record in the source, or 0 if unknown. */
+    private final int lineNumber;
+    /** 1-based position of the record among all records in the source. */
+    private final int recordNumber;
+    /** Number of columns found for CSV rows, or -1 for structured formats. */
+    private final int fieldCount;
+
+    private final String category;
+    /** The {@code Value} field as text; converted by {@link #toQuestion()}. */
+    private final String value;
+    private final String questionText;
+    private final String optionA;
+    private final String optionB;
+    private final String optionC;
+    private final String optionD;
+    private final String correctAnswer;
+
+    /**
+     * Creates a record. Missing fields are passed as {@code null}.
+     *
+     * @param source        name of the source file
+     * @param lineNumber    1-based line number, or 0 if unknown
+     * @param recordNumber  1-based record position
+     * @param fieldCount    number of CSV columns, or -1 for JSON/XML
+     * @param category      category text
+     * @param value         value text
+     * @param questionText  question text
+     * @param optionA       option A text
+     * @param optionB       option B text
+     * @param optionC       option C text
+     * @param optionD       option D text
+     * @param correctAnswer correct answer key text
+     */
+    public QuestionRecord(String source, int lineNumber, int recordNumber, int fieldCount,
+                          String category, String value, String questionText,
+                          String optionA, String optionB, String optionC, String optionD,
+                          String correctAnswer) {
+        this.source = source;
+        this.lineNumber = lineNumber;
+        this.recordNumber = recordNumber;
+        this.fieldCount = fieldCount;
+        this.category = category;
+        this.value = value;
+        this.questionText = questionText;
+        this.optionA = optionA;
+        this.optionB = optionB;
+        this.optionC = optionC;
+        this.optionD = optionD;
+        this.correctAnswer = correctAnswer;
+    }
+
+    public String getSource() { return source; }
+    public int getLineNumber() { return lineNumber; }
+    public int getRecordNumber() { return recordNumber; }
+    public int getFieldCount() { return fieldCount; }
+    public String getCategory() { return category; }
+    public String getValue() { return value; }
+    public String getQuestionText() { return questionText; }
+    public String getOptionA() { return optionA; }
+    public String getOptionB() { return optionB; }
+    public String getOptionC() { return optionC; }
+    public String getOptionD() { return optionD; }
+    public String getCorrectAnswer() { return correctAnswer; }
+
+    /**
+     * Indicates whether the record has all the columns a question needs.
+     * <p>
+     * Only CSV rows can be short; structured formats always report
+     * {@code true} here and rely on validation to catch missing fields.
+     * </p>
+     *
+     * @return {@code false} if this is a CSV row with fewer than 8 columns
+     */
+    public boolean hasAllColumns() {
+        return fieldCount < 0 || fieldCount >= 8;
+    }
+
+    /**
+     * Appends a human-readable location such as {@code bank.csv:12 (record 11)}.
+     *
+     * @param out the target to append to
+     * @return the same appendable
+     * @throws IOException if appending fails
+     */
+    public Appendable appendLocation(Appendable out) throws IOException {
+        out.append(source);
+        if (lineNumber > 0) {
+            out.append(':').append(Integer.toString(lineNumber));
+        }
+        return out.append(" (record ").append(Integer.toString(recordNumber)).append(')');
+    }
+
+    /**
+     * Converts this record into a {@link Question}.
+     *
+     * @return the question
+     * @throws IOException if the value is not a whole number; the
+     *         message names the location of this record
+     */
+    public Question toQuestion() throws IOException {
+        int parsed;
+        try {
+            parsed = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            StringBuilder msg = new StringBuilder("Invalid question value '")
+                    .append(value).append("' at ");
+            appendLocation(msg);
+            throw new IOException(msg.toString(), e);
+        }
+        return new Question(category, parsed, questionText,
+                optionA, optionB, optionC, optionD, correctAnswer);
+    }
+}
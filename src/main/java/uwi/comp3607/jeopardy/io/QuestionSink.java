@@ -0,0 +1,22 @@
+package uwi.comp3607.jeopardy.io;
+
+import uwi.comp3607.jeopardy.model.Question;
+
+import java.io.IOException;
+
+/**
+ * Receives questions pushed by
+ * {@link FileParser#forEachQuestion(java.io.InputStream, String, StringDictionary, QuestionSink)}.
+ */
+@FunctionalInterface
+public interface QuestionSink {
+
+    /**
+     * Accepts one parsed question.
+     *
+     * @param question the question just read
+     * @return {@code true} to keep reading, {@code false} to stop early
+     * @throws IOException if the sink fails; parsing stops and rethrows it
+     */
+    boolean accept(Question question) throws IOException;
+}
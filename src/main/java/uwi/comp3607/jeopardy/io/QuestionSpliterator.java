@@ -0,0 +1,45 @@
+package uwi.comp3607.jeopardy.io;
+
+import uwi.comp3607.jeopardy.model.Question;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over the questions of a {@link RecordReader}.
+ * <p>
+ * Records missing CSV columns are skipped, as in {@link FileParser#parse}.
+ * Splitting is inherited from {@link Spliterators.AbstractSpliterator}: it
+ * hands growing batches of already-read questions to other threads while
+ * this spliterator keeps reading, so parallel streams work on sequential
+ * input. Read errors surface as {@link UncheckedIOException}.
+ * </p>
+ */
+class QuestionSpliterator extends Spliterators.AbstractSpliterator<Question> {
+
+    private final RecordReader reader;
+
+    QuestionSpliterator(RecordReader reader) {
+        super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+        this.reader = reader;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Question> action) {
+        try {
+            QuestionRecord r;
+            while ((r = reader.next()) != null) {
+                if (r.hasAllColumns()) {
+                    action.accept(r.toQuestion());
+                    return true;
+                }
+            }
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
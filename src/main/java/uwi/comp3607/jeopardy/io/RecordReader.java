@@ -0,0 +1,23 @@
+package uwi.comp3607.jeopardy.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-based reader that returns one {@link QuestionRecord} at a time.
+ * <p>
+ * Each {@link FileParser} provides a reader for its format. Only the record
+ * being returned is held in memory, so a reader can walk banks of any size.
+ * Closing the reader closes the underlying stream.
+ * </p>
+ */
+public interface RecordReader extends Closeable {
+
+    /**
+     * Reads the next record.
+     *
+     * @return the next record, or {@code null} at the end of the input
+     * @throws IOException if the input cannot be read or is not well-formed
+     */
+    QuestionRecord next() throws IOException;
+}
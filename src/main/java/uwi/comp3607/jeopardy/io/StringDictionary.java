@@ -0,0 +1,65 @@
+package uwi.comp3607.jeopardy.io;
+
+import uwi.comp3607.jeopardy.model.AnswerKey;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parse-time dictionary that makes repeated strings share one instance.
+ * <p>
+ * Categories repeat on every row of a bank, and short options such as
+ * "True", "False" or small numbers repeat across the whole bank. Passing the
+ * same dictionary to every parser used during one load means each distinct
+ * value is kept only once, however many rows or files it appears in.
+ * </p>
+ * <p>
+ * A dictionary is meant to live for a single load and then be dropped, so it
+ * never holds strings longer than the questions that use them. It is safe to
+ * share between parsers running on different threads.
+ * </p>
+ */
+public class StringDictionary {
+
+    /** Longest string worth canonicalising; longer text is rarely repeated. */
+    private static final int MAX_LENGTH = 64;
+
+    /** Canonical instance of every string seen so far. */
+    private final Map<String, String> strings = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the shared instance equal to {@code s}, adding it if new.
+     * <p>
+     * Strings longer than 64 characters are returned unchanged, since
+     * question-length text is almost never repeated.
+     * </p>
+     *
+     * @param s the string to canonicalise (may be {@code null})
+     * @return the shared instance, or {@code s} itself
+     */
+    public String canonical(String s) {
+        if (s == null || s.length() > MAX_LENGTH) return s;
+        String existing = strings.putIfAbsent(s, s);
+        return existing == null ? s : existing;
+    }
+
+    /**
+     * Canonicalises a correct-answer key.
+     * <p>
+     * Valid keys, in any case, become the shared "A" to "D" constants from
+     * {@link AnswerKey}; anything else is kept as written so that validation
+     * can still report it.
+     * </p>
+     *
+     * @param answer the answer text (may be {@code null})
+     * @return the shared key, or the canonical form of {@code answer}
+     */
+    public String answerKey(String answer) {
+        return AnswerKey.encode(answer) == AnswerKey.INVALID
+                ? canonical(answer)
+                : AnswerKey.canonical(answer);
+    }
+
+    /** @return number of distinct strings held */
+    public int size() { return strings.size(); }
+}
@@ -1,19 +1,13 @@
 package uwi.comp3607.jeopardy.io;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import uwi.comp3607.jeopardy.model.Question;
-import uwi.comp3607.jeopardy.model.QuestionBoard;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import java.io.File;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.IOException;
-
-import org.xml.sax.SAXException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * {@link FileParser} implementation that loads questions from an XML file.
@@ -23,77 +17,131 @@ import org.xml.sax.SAXException;
  * each with child elements for category, value, question text, options and
  * correct answer.
  * </p>
+ * <p>
+ * The file is read with a StAX stream reader, so only the current
+ * {@code <QuestionItem>} is held in memory and each record keeps the line
+ * it started on. DTDs and external entities are not processed.
+ * </p>
  */
 public class XmlFileParser implements FileParser {
 
-    @Override
-    public QuestionBoard parse(File file) throws IOException {
-        QuestionBoard board = new QuestionBoard();
+    /** Registers this parser with {@link ParserRegistry}. */
+    public static final class Provider implements ParserProvider {
+        @Override
+        public Set<String> extensions() {
+            return Set.of("xml");
+        }
 
-        try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setNamespaceAware(false);
-            factory.setIgnoringComments(true);
-            factory.setIgnoringElementContentWhitespace(true);
+        @Override
+        public boolean matches(byte first) {
+            return first == '<';
+        }
 
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(file);
-            doc.getDocumentElement().normalize();
+        @Override
+        public FileParser create() {
+            return new XmlFileParser();
+        }
+    }
 
-            // Root is <JeopardyQuestions>, children are <QuestionItem>
-            NodeList questionNodes = doc.getElementsByTagName("QuestionItem");
+    @Override
+    public RecordReader openReader(InputStream in, String source,
+                                   StringDictionary dictionary) throws IOException {
+        XMLStreamReader xml;
+        try {
+            xml = Mappers.xmlInput().createXMLStreamReader(in);
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to parse XML file: " + e.getMessage(), e);
+        }
 
-            for (int i = 0; i < questionNodes.getLength(); i++) {
-                Node node = questionNodes.item(i);
-                if (node.getNodeType() != Node.ELEMENT_NODE) {
-                    continue;
+        return new RecordReader() {
+            private int recordNumber = 0;
+
+            @Override
+            public QuestionRecord next() throws IOException {
+                try {
+                    while (xml.hasNext()) {
+                        if (xml.next() == XMLStreamConstants.START_ELEMENT
+                                && xml.getLocalName().equals("QuestionItem")) {
+                            return readItem();
+                        }
+                    }
+                    return null;
+                } catch (XMLStreamException e) {
+                    throw new IOException("Failed to parse XML file: " + e.getMessage(), e);
                 }
-                Element qElem = (Element) node;
-
-                String category = getText(qElem, "Category");
-                int value = Integer.parseInt(getText(qElem, "Value"));
-                String questionText = getText(qElem, "QuestionText");
-
-                Element optionsElem = (Element) qElem.getElementsByTagName("Options").item(0);
-                String optionA = getText(optionsElem, "OptionA");
-                String optionB = getText(optionsElem, "OptionB");
-                String optionC = getText(optionsElem, "OptionC");
-                String optionD = getText(optionsElem, "OptionD");
-
-                String correctAnswer = getText(qElem, "CorrectAnswer");
+            }
 
-                Question q = new Question(
-                        category,
-                        value,
-                        questionText,
-                        optionA,
-                        optionB,
-                        optionC,
-                        optionD,
-                        correctAnswer
-                );
+            /**
+             * Collects the text of every leaf element inside the current
+             * {@code <QuestionItem>}, keyed by element name. The first
+             * occurrence of a name wins.
+             */
+            private QuestionRecord readItem() throws XMLStreamException {
+                int line = xml.getLocation().getLineNumber();
+                Map<String, String> fields = new HashMap<>();
+                StringBuilder text = new StringBuilder();
+                String current = null;
+                int depth = 1;
+                while (depth > 0) {
+                    switch (xml.next()) {
+                        case XMLStreamConstants.START_ELEMENT:
+                            depth++;
+                            current = xml.getLocalName();
+                            text.setLength(0);
+                            break;
+                        case XMLStreamConstants.CHARACTERS:
+                        case XMLStreamConstants.CDATA:
+                            if (current != null) text.append(xml.getText());
+                            break;
+                        case XMLStreamConstants.END_ELEMENT:
+                            depth--;
+                            if (current != null) {
+                                fields.putIfAbsent(current, text.toString().trim());
+                                current = null;
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                }
 
-                board.addQuestion(q);
+                return new QuestionRecord(
+                        source,
+                        line,
+                        ++recordNumber,
+                        -1,
+                        dictionary.canonical(getText(fields, "Category")),
+                        getText(fields, "Value"),
+                        getText(fields, "QuestionText"),
+                        dictionary.canonical(getText(fields, "OptionA")),
+                        dictionary.canonical(getText(fields, "OptionB")),
+                        dictionary.canonical(getText(fields, "OptionC")),
+                        dictionary.canonical(getText(fields, "OptionD")),
+                        dictionary.answerKey(getText(fields, "CorrectAnswer")));
             }
 
-        } catch (ParserConfigurationException | SAXException e) {
-            throw new IOException("Failed to parse XML file: " + e.getMessage(), e);
-        }
-
-        return board;
+            @Override
+            public void close() throws IOException {
+                try {
+                    xml.close();
+                } catch (XMLStreamException e) {
+                    throw new IOException(e);
+                } finally {
+                    in.close();
+                }
+            }
+        };
     }
 
      /**
      * Helper method to get the text content of a child element by tag name.
      *
-     * @param parent  the parent element
+     * @param fields  element texts collected for the current item
      * @param tagName the name of the child element
-     * @return trimmed text content of the first matching child, or an empty string
+     * @return trimmed text content of the element, or an empty string
      */
-    private String getText(Element parent, String tagName) {
-        if (parent == null) return "";
-        NodeList list = parent.getElementsByTagName(tagName);
-        if (list.getLength() == 0) return "";
-        return list.item(0).getTextContent().trim();
+    private String getText(Map<String, String> fields, String tagName) {
+        String text = fields.get(tagName);
+        return text == null ? "" : text;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package uwi.comp3607.jeopardy.logging;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands events to another listener on a background thread.
+ * <p>
+ * Publishers only enqueue the event, so a slow listener such as
+ * {@link CsvEventLogger} no longer holds up the game. The number of queued
+ * events is exposed as {@link #getBacklog()} so that upstream components,
+ * such as a {@link SamplingEventListener}, can react when the listener
+ * falls behind.
+ * </p>
+ * <p>
+ * A batch is queued as a single item and handed to the delegate's
+ * {@link GameEventListener#onEvents} in one call, so a logger behind this
+ * listener still writes it with one flush.
+ * </p>
+ */
+public class AsyncEventListener implements GameEventListener, Closeable {
+
+    /** Marker that tells the worker to stop once everything before it is delivered. */
+    private static final List<GameEvent> STOP = List.of(GameEvent.simple("", null, "", Instant.EPOCH));
+
+    private final GameEventListener delegate;
+    /** Queued single events and batches, each as a list. */
+    private final BlockingQueue<List<GameEvent>> queue = new LinkedBlockingQueue<>();
+    /** Events queued but not yet taken by the worker. */
+    private final AtomicInteger backlog = new AtomicInteger();
+    private final Thread worker;
+    private volatile boolean closed;
+
+    /**
+     * Creates a listener that forwards to {@code delegate} on a new daemon thread.
+     *
+     * @param delegate the listener to call; closed with this one if it is {@link Closeable}
+     */
+    public AsyncEventListener(GameEventListener delegate) {
+        this.delegate = delegate;
+        this.worker = new Thread(this::run, "event-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        enqueue(List.of(event));
+    }
+
+    @Override
+    public void onEvents(List<GameEvent> events) {
+        if (!events.isEmpty()) {
+            enqueue(List.copyOf(events));
+        }
+    }
+
+    /** @return the number of events waiting to be delivered */
+    public int getBacklog() {
+        return backlog.get();
+    }
+
+    private void enqueue(List<GameEvent> events) {
+        if (closed) {
+            throw new IllegalStateException("Listener is closed");
+        }
+        backlog.addAndGet(events.size());
+        queue.add(events);
+    }
+
+    /**
+     * Delivers every queued event, stops the worker, and closes the delegate.
+     *
+     * @throws IOException if the delegate fails to close
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(STOP);
+        try {
+            worker.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (delegate instanceof Closeable) {
+            ((Closeable) delegate).close();
+        }
+    }
+
+    private void run() {
+        while (true) {
+            List<GameEvent> events;
+            try {
+                events = queue.take();
+            } catch (InterruptedException ex) {
+                return;
+            }
+            if (events == STOP) {
+                return;
+            }
+            backlog.addAndGet(-events.size());
+            try {
+                if (events.size() == 1) {
+                    delegate.onEvent(events.get(0));
+                } else {
+                    delegate.onEvents(events);
+                }
+            } catch (RuntimeException ex) {
+                Thread t = Thread.currentThread();
+                t.getUncaughtExceptionHandler().uncaughtException(t, ex);
+            }
+        }
+    }
+}
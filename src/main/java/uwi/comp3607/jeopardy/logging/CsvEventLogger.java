@@ -1,13 +1,19 @@
 package uwi.comp3607.jeopardy.logging;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 
 /**
@@ -17,11 +23,29 @@ import java.time.format.DateTimeFormatter;
  * including the case ID, player name, activity, timestamp, category,
  * question value, answer, result, and score after play.
  * </p>
+ * <p>
+ * Text fields containing a comma or a double quote are quoted, with inner
+ * quotes doubled, as {@link EventLogReader} expects. Line breaks in text
+ * are written as spaces, so every event stays on one line of the log.
+ * </p>
+ * <p>
+ * The logger also maintains an {@link EventLogIndex} sidecar
+ * ({@code <log>.idx}) so that a single session can later be read with
+ * {@link IndexedEventLog} without scanning the whole log. A block's index
+ * record is appended as soon as the block's rows have been flushed, so the
+ * sidecar stays useful if the process dies before {@link #close()}.
+ * </p>
  */
 public class CsvEventLogger implements GameEventListener, Closeable {
 
     /** Writer used to append CSV rows to the output file. */
     private final PrintWriter writer;
+    /** Counts the bytes written so far, giving each row's offset. */
+    private final CountingOutputStream bytes;
+    /** Appends the sidecar index as blocks of rows are flushed. */
+    private final EventLogIndex.Writer index;
+    /** Rows formatted since the last flush. */
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
     /** Formatter used to output timestamps in ISO-8601 format. */
     private final DateTimeFormatter formatter =
             DateTimeFormatter.ISO_INSTANT;
@@ -36,12 +60,35 @@ public class CsvEventLogger implements GameEventListener, Closeable {
      * @throws FileNotFoundException if the file cannot be opened for writing
      */
     public CsvEventLogger(File file) throws FileNotFoundException {
+        this(file, EventLogIndex.DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Creates a CSV event logger with a given index block size.
+     *
+     * @param file           the file to which the event log should be written
+     * @param indexBlockSize minimum length in bytes of an index block
+     * @throws FileNotFoundException if the log or its sidecar cannot be opened
+     */
+    public CsvEventLogger(File file, int indexBlockSize) throws FileNotFoundException {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            this.index = new EventLogIndex.Writer(EventLogIndex.sidecarFor(file.toPath()), indexBlockSize);
+        } catch (FileNotFoundException | RuntimeException ex) {
+            try {
+                out.close();
+            } catch (IOException suppressed) {
+                ex.addSuppressed(suppressed);
+            }
+            throw ex;
+        }
+        this.bytes = new CountingOutputStream(out);
         this.writer = new PrintWriter(
-                new OutputStreamWriter(
-                        new FileOutputStream(file), StandardCharsets.UTF_8));
+                new OutputStreamWriter(bytes, StandardCharsets.UTF_8));
 
         // change column name to Player_Name (but structure is the same)
         writer.println("Case_ID,Player_Name,Activity,Timestamp,Category,Question_Value,Answer_Given,Result,Score_After_Play");
+        writer.flush();
     }
 
     /**
@@ -50,9 +97,33 @@ public class CsvEventLogger implements GameEventListener, Closeable {
      * @param e the event to log
      */
     @Override
-    public void onEvent(GameEvent e) {
+    public synchronized void onEvent(GameEvent e) {
+        writeRow(e);
+        flush();
+    }
+
+    /**
+     * Writes one line per event and flushes them to the file together.
+     *
+     * @param events the events to log, in order
+     */
+    @Override
+    public synchronized void onEvents(List<GameEvent> events) {
+        for (GameEvent e : events) {
+            writeRow(e);
+        }
+        flush();
+    }
+
+    /**
+     * Formats one event as a CSV row, appends it to the pending rows and
+     * indexes it at the offset it will have once flushed.
+     *
+     * @param e the event to log
+     */
+    private void writeRow(GameEvent e) {
         String ts = formatter.format(e.getTimestamp());
-        writer.printf("%s,%s,%s,%s,%s,%s,%s,%s,%s%n",
+        String row = String.format("%s,%s,%s,%s,%s,%s,%s,%s,%s%n",
                 safe(e.getCaseId()),
                 safe(e.getPlayerName()),
                 safe(e.getActivity()),
@@ -63,26 +134,87 @@ public class CsvEventLogger implements GameEventListener, Closeable {
                 safe(e.getResult()),
                 e.getScoreAfter() == null ? "" : e.getScoreAfter()
         );
-        writer.flush();
+        long start = bytes.count + pending.size();
+        pending.writeBytes(row.getBytes(StandardCharsets.UTF_8));
+        index.add(text(e.getCaseId()), start, bytes.count + pending.size());
+    }
+
+    /**
+     * Writes the pending rows to the file in a single write, then the index
+     * records of any blocks they completed.
+     */
+    private void flush() {
+        try {
+            pending.writeTo(bytes);
+            bytes.flush();
+            index.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            pending.reset();
+        }
+    }
+
+    /**
+     * Returns a string as one CSV field, quoting it if needed.
+     *
+     * @param s the original string (may be {@code null})
+     * @return the field text, or an empty string if {@code null}
+     */
+    private static String safe(String s) {
+        s = text(s);
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
     }
 
     /**
-     * Simple helper that returns a non-null string for CSV output.
+     * Returns the text a field holds once read back: never {@code null},
+     * with line breaks as spaces.
      *
      * @param s the original string (may be {@code null})
-     * @return the original string, or an empty string if {@code null}
+     * @return the field's text before quoting
      */
-    private String safe(String s) {
+    private static String text(String s) {
         if (s == null) return "";
+        if (s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+            s = s.replace("\r\n", " ").replace('\r', ' ').replace('\n', ' ');
+        }
         return s;
     }
 
     /**
-     * Flushes and closes the underlying writer.
+     * Flushes and closes the underlying writer, then completes the index sidecar.
+     *
+     * @throws IOException if the index cannot be written
      */
     @Override
-    public void close() {
-        writer.flush();
+    public synchronized void close() throws IOException {
+        pending.writeTo(bytes);
+        pending.reset();
         writer.close();
+        index.close();
+    }
+
+    /** Output stream that counts the bytes passed through it. */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,464 @@
+package uwi.comp3607.jeopardy.logging;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse index from {@code Case_ID} to the parts of a CSV event log that hold
+ * that session's rows.
+ * <p>
+ * The log is divided into blocks of whole rows, each at least
+ * {@link #getBlockSize()} bytes long except the last. For every block the
+ * index stores its byte range and the set of case IDs with rows in it, so its
+ * size depends on the number of sessions per block, not the number of rows:
+ * a log written one game at a time needs one entry per block, and one in
+ * which many games are interleaved needs one per game per block. Reading a
+ * session means reading its blocks and skipping other sessions' rows, which
+ * {@link IndexedEventLog} does.
+ * </p>
+ * <p>
+ * The sidecar file ({@code <log>.idx}) is a header followed by one record per
+ * block. {@link CsvEventLogger} appends each record with a {@link Writer} as
+ * soon as the block's rows are flushed to the log, so it holds only the
+ * current block in memory, and a log whose writer died still has an index for
+ * every block it finished. A record cut short by a crash is ignored when the
+ * sidecar is read.
+ * </p>
+ * <p>
+ * The index knows how much of the log it covers. A longer log is brought up
+ * to date with {@link #extend(Path)}, which scans only the unindexed tail;
+ * an index that covers more than the log is stale and must be rebuilt with
+ * {@link #build(Path, int)}.
+ * </p>
+ */
+public class EventLogIndex {
+
+    private static final int MAGIC = 0x4A494458; // "JIDX"
+    private static final int VERSION = 2;
+
+    /** Default minimum block length, in bytes. */
+    public static final int DEFAULT_BLOCK_SIZE = 1 << 16;
+
+    /** Rows gathered into the block currently being filled. */
+    private static final class OpenBlock {
+        final int blockSize;
+        final Set<String> cases = new LinkedHashSet<>();
+        long start;
+        long end;
+
+        OpenBlock(int blockSize) {
+            this.blockSize = blockSize;
+        }
+
+        /** Adds a row; returns {@code true} once the block is full. */
+        boolean add(String caseId, long rowStart, long rowEnd) {
+            if (cases.isEmpty()) {
+                start = rowStart;
+            }
+            cases.add(caseId);
+            end = rowEnd;
+            return end - start >= blockSize;
+        }
+
+        boolean isEmpty() {
+            return cases.isEmpty();
+        }
+
+        void clear() {
+            cases.clear();
+        }
+    }
+
+    /** Growable list of block numbers for one case. */
+    private static final class Blocks {
+        int[] numbers = new int[4];
+        int size;
+
+        void add(int block) {
+            if (size == numbers.length) {
+                numbers = Arrays.copyOf(numbers, size * 2);
+            }
+            numbers[size++] = block;
+        }
+    }
+
+    /**
+     * Appends block records to a sidecar as a log is written.
+     * <p>
+     * Rows are added in log order with {@link #add}. Records of finished
+     * blocks are buffered until {@link #flush()}, which the log writer calls
+     * after flushing the rows themselves, so the sidecar never describes
+     * bytes that are not yet in the log.
+     * </p>
+     */
+    public static final class Writer implements Closeable {
+        private final OutputStream file;
+        private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(pending);
+        private final OpenBlock block;
+
+        /**
+         * Creates a sidecar, replacing any existing file, and writes its header.
+         *
+         * @param sidecar   the sidecar file
+         * @param blockSize minimum block length in bytes
+         * @throws FileNotFoundException if the file cannot be created
+         */
+        public Writer(Path sidecar, int blockSize) throws FileNotFoundException {
+            if (blockSize <= 0) {
+                throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+            }
+            this.file = new FileOutputStream(sidecar.toFile());
+            this.block = new OpenBlock(blockSize);
+            try {
+                writeHeader(out, blockSize);
+            } catch (IOException ex) {
+                throw new AssertionError(ex); // in-memory stream
+            }
+        }
+
+        /**
+         * Records that a session's row occupies {@code [start, end)} in the log.
+         *
+         * @param caseId the session the row belongs to
+         * @param start  offset of the first byte of the row
+         * @param end    offset just past the row's line terminator
+         */
+        public void add(String caseId, long start, long end) {
+            if (block.add(caseId, start, end)) {
+                finishBlock();
+            }
+        }
+
+        /**
+         * Writes the records of every block finished since the last flush.
+         *
+         * @throws IOException if the sidecar cannot be written
+         */
+        public void flush() throws IOException {
+            if (pending.size() > 0) {
+                pending.writeTo(file);
+                pending.reset();
+                file.flush();
+            }
+        }
+
+        /**
+         * Finishes the last block, writes every pending record and closes
+         * the sidecar.
+         *
+         * @throws IOException if the sidecar cannot be written
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                finishBlock();
+                flush();
+            } finally {
+                file.close();
+            }
+        }
+
+        private void finishBlock() {
+            if (block.isEmpty()) {
+                return;
+            }
+            try {
+                writeRecord(out, block.start, block.end, block.cases);
+            } catch (IOException ex) {
+                throw new AssertionError(ex); // in-memory stream
+            }
+            block.clear();
+        }
+    }
+
+    private final int blockSize;
+    private final Map<String, Blocks> byCase = new LinkedHashMap<>();
+    private long[] starts = new long[16];
+    private long[] ends = new long[16];
+    private int blockCount;
+    private long logLength;
+    /** Rows added by {@link #scan} that do not yet fill a block. */
+    private OpenBlock open;
+
+    private EventLogIndex(int blockSize) {
+        this.blockSize = blockSize;
+    }
+
+    /** @return the minimum block length, in bytes */
+    public int getBlockSize() { return blockSize; }
+
+    /** @return the number of blocks */
+    public int getBlockCount() { return blockCount; }
+
+    /** @return the case IDs in the order they first appear in the log */
+    public Set<String> getCaseIds() {
+        return Collections.unmodifiableSet(byCase.keySet());
+    }
+
+    /** @return the length of the log prefix this index covers */
+    public long getLogLength() { return logLength; }
+
+    /**
+     * Returns the byte ranges of the blocks holding a session's rows, with
+     * adjacent blocks merged. The ranges also contain other sessions' rows.
+     *
+     * @param caseId the session to look up
+     * @return {@code [start0, end0, start1, end1, ...]}, empty if unknown
+     */
+    public long[] getRanges(String caseId) {
+        Blocks b = byCase.get(caseId);
+        if (b == null) {
+            return new long[0];
+        }
+        long[] ranges = new long[b.size * 2];
+        int n = 0;
+        for (int i = 0; i < b.size; i++) {
+            int block = b.numbers[i];
+            if (n > 0 && ranges[n - 1] == starts[block]) {
+                ranges[n - 1] = ends[block];
+            } else {
+                ranges[n++] = starts[block];
+                ranges[n++] = ends[block];
+            }
+        }
+        return Arrays.copyOf(ranges, n);
+    }
+
+    /**
+     * Returns the sidecar path used for a log.
+     *
+     * @param log the event log
+     * @return {@code <log>.idx}
+     */
+    public static Path sidecarFor(Path log) {
+        return log.resolveSibling(log.getFileName() + ".idx");
+    }
+
+    /**
+     * Builds an index for an existing log in one streaming pass.
+     *
+     * @param log       the event log to index
+     * @param blockSize minimum block length in bytes
+     * @return the index
+     * @throws IOException if the log cannot be read
+     */
+    public static EventLogIndex build(Path log, int blockSize) throws IOException {
+        EventLogIndex index = new EventLogIndex(blockSize);
+        index.scan(log, 0);
+        return index;
+    }
+
+    /**
+     * Indexes the rows appended to a log since this index was built or read.
+     *
+     * @param log the event log this index describes
+     * @throws IOException if the log cannot be read, or is shorter than the
+     *                     part this index covers
+     */
+    public void extend(Path log) throws IOException {
+        long length = Files.size(log);
+        if (length < logLength) {
+            throw new IOException("Event log is shorter than its index: " + log);
+        }
+        if (length > logLength) {
+            scan(log, logLength);
+        }
+    }
+
+    /**
+     * Scans the log from a row boundary, adding the rows it finds.
+     * <p>
+     * Rows are found by scanning for line feeds; the case ID is the first
+     * field, unquoted if needed. Header rows are skipped. A final row without
+     * a line feed is left for a later scan.
+     * </p>
+     */
+    private void scan(Path log, long from) throws IOException {
+        open = new OpenBlock(blockSize);
+        byte[] buf = new byte[1 << 20];
+        // The current row's first field, which may span two buffer reads.
+        byte[] key = new byte[64];
+        int keyLen = 0;
+        boolean inKey = true;
+        boolean quoted = false;
+        byte[] lastKey = new byte[0];
+        String lastCase = "";
+        long rowStart = from;
+        long pos = from;
+
+        try (InputStream in = Files.newInputStream(log)) {
+            in.skipNBytes(from);
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                for (int i = 0; i < n; i++, pos++) {
+                    byte b = buf[i];
+                    if (b == '\n') {
+                        if (!inKey || keyLen > 0) {
+                            if (!Arrays.equals(key, 0, keyLen, lastKey, 0, lastKey.length)) {
+                                lastKey = Arrays.copyOf(key, keyLen);
+                                lastCase = unquote(new String(lastKey, StandardCharsets.UTF_8));
+                            }
+                            if (!lastCase.equals("Case_ID")) {
+                                addRow(lastCase, rowStart, pos + 1);
+                            }
+                        }
+                        rowStart = pos + 1;
+                        keyLen = 0;
+                        inKey = true;
+                        quoted = false;
+                    } else if (inKey) {
+                        if (b == ',' && !quoted) {
+                            inKey = false;
+                        } else if (b != '\r') {
+                            if (b == '"') quoted = !quoted;
+                            if (keyLen == key.length) key = Arrays.copyOf(key, keyLen * 2);
+                            key[keyLen++] = b;
+                        }
+                    }
+                }
+            }
+        }
+        if (!open.isEmpty()) {
+            addBlock(open.start, open.end, open.cases);
+        }
+        open = null;
+    }
+
+    private static String unquote(String field) {
+        if (field.length() >= 2 && field.charAt(0) == '"' && field.charAt(field.length() - 1) == '"') {
+            return field.substring(1, field.length() - 1).replace("\"\"", "\"");
+        }
+        return field;
+    }
+
+    private void addRow(String caseId, long start, long end) {
+        if (open.add(caseId, start, end)) {
+            addBlock(open.start, open.end, open.cases);
+            open.clear();
+        }
+    }
+
+    private void addBlock(long start, long end, Collection<String> cases) {
+        if (blockCount == starts.length) {
+            starts = Arrays.copyOf(starts, blockCount * 2);
+            ends = Arrays.copyOf(ends, blockCount * 2);
+        }
+        starts[blockCount] = start;
+        ends[blockCount] = end;
+        for (String c : cases) {
+            byCase.computeIfAbsent(c, k -> new Blocks()).add(blockCount);
+        }
+        blockCount++;
+        logLength = Math.max(logLength, end);
+    }
+
+    /**
+     * Writes the whole index to a sidecar file.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        // Invert the case-to-blocks table back into per-block case lists.
+        int[] counts = new int[blockCount];
+        for (Blocks b : byCase.values()) {
+            for (int i = 0; i < b.size; i++) {
+                counts[b.numbers[i]]++;
+            }
+        }
+        String[][] cases = new String[blockCount][];
+        for (int i = 0; i < blockCount; i++) {
+            cases[i] = new String[counts[i]];
+            counts[i] = 0;
+        }
+        for (Map.Entry<String, Blocks> e : byCase.entrySet()) {
+            Blocks b = e.getValue();
+            for (int i = 0; i < b.size; i++) {
+                int block = b.numbers[i];
+                cases[block][counts[block]++] = e.getKey();
+            }
+        }
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+            writeHeader(out, blockSize);
+            for (int i = 0; i < blockCount; i++) {
+                writeRecord(out, starts[i], ends[i], Arrays.asList(cases[i]));
+            }
+        }
+    }
+
+    /**
+     * Reads the complete block records of a sidecar.
+     *
+     * @param file the sidecar file
+     * @return the index
+     * @throws IOException if the file cannot be read or is not an index
+     */
+    public static EventLogIndex read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not an event log index: " + file);
+            }
+            EventLogIndex index = new EventLogIndex(in.readInt());
+            String[] cases = new String[16];
+            while (true) {
+                long start;
+                long end;
+                int count;
+                try {
+                    start = in.readLong();
+                    end = start + in.readInt();
+                    count = in.readInt();
+                    if (count > cases.length) {
+                        cases = new String[count];
+                    }
+                    for (int i = 0; i < count; i++) {
+                        cases[i] = in.readUTF();
+                    }
+                } catch (EOFException ex) {
+                    // End of file, or a record cut short when the writer died.
+                    return index;
+                }
+                index.addBlock(start, end, Arrays.asList(cases).subList(0, count));
+            }
+        }
+    }
+
+    private static void writeHeader(DataOutputStream out, int blockSize) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(blockSize);
+    }
+
+    private static void writeRecord(DataOutputStream out, long start, long end,
+                                    Collection<String> cases) throws IOException {
+        out.writeLong(start);
+        out.writeInt(Math.toIntExact(end - start));
+        out.writeInt(cases.size());
+        for (String c : cases) {
+            out.writeUTF(c);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package uwi.comp3607.jeopardy.logging;
+
+import uwi.comp3607.jeopardy.io.CsvFileParser;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Reads events back from a CSV event log written by {@link CsvEventLogger}.
+ * <p>
+ * Rows are returned one at a time, so a log of any size can be processed
+ * without holding it in memory. Header rows are skipped wherever they appear,
+ * which allows several archived logs to be concatenated into one stream.
+ * Rows that do not have the nine logger columns or have an unreadable
+ * timestamp or number are skipped and counted rather than failing the read.
+ * </p>
+ * <p>
+ * Quoted fields are read with {@link CsvFileParser#splitCsvLine}, the same
+ * quote handling used for game files. Rows without quotes, which is almost
+ * all of them, take a plain split instead.
+ * </p>
+ */
+public class EventLogReader implements Closeable {
+
+    /** Number of columns written by {@link CsvEventLogger}. */
+    static final int COLUMNS = 9;
+
+    private final BufferedReader reader;
+    private long skippedRows;
+
+    /**
+     * Creates a reader over a UTF-8 event log stream.
+     *
+     * @param in the stream to read; closed with this reader
+     */
+    public EventLogReader(InputStream in) {
+        this.reader = new BufferedReader(
+                new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    /**
+     * Reads the next event from the log.
+     *
+     * @return the next event, or {@code null} at the end of the log
+     * @throws IOException if the log cannot be read
+     */
+    public GameEvent next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty() || line.startsWith("Case_ID,")) {
+                continue;
+            }
+            GameEvent e = parse(line);
+            if (e != null) {
+                return e;
+            }
+            skippedRows++;
+        }
+        return null;
+    }
+
+    /** @return the number of malformed rows skipped so far */
+    public long getSkippedRows() { return skippedRows; }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    /**
+     * Parses one event log row.
+     *
+     * @param line the CSV row without its line terminator
+     * @return the event, or {@code null} if the row is malformed
+     */
+    static GameEvent parse(String line) {
+        String[] f = line.indexOf('"') < 0
+                ? line.split(",", -1)
+                : CsvFileParser.splitCsvLine(line).toArray(new String[0]);
+        if (f.length != COLUMNS) {
+            return null;
+        }
+        try {
+            return new GameEvent(f[0], f[1], f[2], Instant.parse(f[3]), f[4],
+                    toInteger(f[5]), f[6], f[7], toInteger(f[8]));
+        } catch (DateTimeParseException | NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    private static Integer toInteger(String s) {
+        return s.isEmpty() ? null : Integer.valueOf(s);
+    }
+}
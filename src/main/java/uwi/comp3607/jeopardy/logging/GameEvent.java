@@ -32,6 +32,8 @@ public class GameEvent {
     private final String result;
      /** Player's score after this event has been applied. */
     private final Integer scoreAfter;
+    /** Text of the question involved, if known; not written to the event log. */
+    private final String questionText;
 
     /**
      * Creates a new game event with all fields specified.
@@ -55,6 +57,38 @@ public class GameEvent {
                      String answerGiven,
                      String result,
                      Integer scoreAfter) {
+        this(caseId, playerName, activity, timestamp, category, questionValue,
+                answerGiven, result, scoreAfter, null);
+    }
+
+    /**
+     * Creates a new game event that also carries the question text.
+     * <p>
+     * The text is not written to the event log, but lets listeners tell apart
+     * different questions that share a category and value.
+     * </p>
+     *
+     * @param caseId       identifier for the game session
+     * @param playerName   name of the player who triggered the event (or empty)
+     * @param activity     short description of the activity
+     * @param timestamp    time at which the event occurred
+     * @param category     question category, if applicable
+     * @param questionValue question value, if applicable
+     * @param answerGiven  answer text, if any
+     * @param result       result of the action (e.g. "Correct", "Incorrect")
+     * @param scoreAfter   player's score after this event
+     * @param questionText text of the question, or {@code null}
+     */
+    public GameEvent(String caseId,
+                     String playerName,
+                     String activity,
+                     Instant timestamp,
+                     String category,
+                     Integer questionValue,
+                     String answerGiven,
+                     String result,
+                     Integer scoreAfter,
+                     String questionText) {
         this.caseId = caseId;
         this.playerName = playerName;
         this.activity = activity;
@@ -64,6 +98,7 @@ public class GameEvent {
         this.answerGiven = answerGiven;
         this.result = result;
         this.scoreAfter = scoreAfter;
+        this.questionText = questionText;
     }
 
     /**
@@ -140,4 +175,6 @@ public class GameEvent {
     public String getResult() { return result; }
     /** @return player's score after this event */
     public Integer getScoreAfter() { return scoreAfter; }
+    /** @return text of the question involved, or {@code null} if not attached */
+    public String getQuestionText() { return questionText; }
 }
\ No newline at end of file
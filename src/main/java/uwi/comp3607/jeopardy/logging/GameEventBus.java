@@ -1,36 +1,172 @@
 package uwi.comp3607.jeopardy.logging;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 /**
  * Simple event bus used to implement the Observer pattern for game events.
  * <p>
- * The bus maintains a list of {@link GameEventListener} observers and forwards
- * events to each registered listener when {@link #publish(GameEvent)} is called.
+ * Listeners may subscribe to every event, to a fixed set of activities, or
+ * to the activities accepted by a predicate. Dispatch goes through a routing
+ * table that maps each activity to the array of interested listeners, built
+ * the first time an activity is published. Publishing therefore costs one
+ * map lookup plus one call per interested listener, however many other
+ * listeners are registered. Listeners are called in registration order.
+ * </p>
+ * <p>
+ * Registration is thread-safe. Each change builds a new immutable set of
+ * routes and publishes it through a volatile field, so publishers never lock
+ * and never see a half-updated table.
  * </p>
  */
 public class GameEventBus {
-    /** List of registered event listeners. */
-    private final List<GameEventListener> listeners = new ArrayList<>();
+
+    private static final GameEventListener[] NONE = new GameEventListener[0];
+
+    /** One registered listener and the activities it wants. */
+    private static final class Subscription {
+        final GameEventListener listener;
+        final Predicate<String> filter;
+
+        Subscription(GameEventListener listener, Predicate<String> filter) {
+            this.listener = listener;
+            this.filter = filter;
+        }
+    }
+
+    /** Immutable subscription list plus the per-activity table derived from it. */
+    private static final class Routes {
+        final Subscription[] subscriptions;
+        final ConcurrentHashMap<String, GameEventListener[]> table = new ConcurrentHashMap<>();
+
+        Routes(Subscription[] subscriptions) {
+            this.subscriptions = subscriptions;
+        }
+
+        GameEventListener[] route(String activity) {
+            List<GameEventListener> matched = new ArrayList<>();
+            for (Subscription s : subscriptions) {
+                if (s.filter.test(activity)) {
+                    matched.add(s.listener);
+                }
+            }
+            return matched.isEmpty() ? NONE : matched.toArray(NONE);
+        }
+    }
+
+    /** Current routes; replaced wholesale on every registration change. */
+    private volatile Routes routes = new Routes(new Subscription[0]);
 
     /**
-     * Registers a new listener to receive published events.
+     * Registers a new listener to receive every published event.
      *
      * @param listener the listener to register
      */
     public void register(GameEventListener listener) {
-        listeners.add(listener);
+        add(new Subscription(listener, activity -> true));
+    }
+
+    /**
+     * Registers a listener for the given activities only.
+     *
+     * @param listener   the listener to register
+     * @param activities activity names, e.g. "Answer Question"
+     */
+    public void register(GameEventListener listener, String... activities) {
+        Set<String> wanted = Set.copyOf(Arrays.asList(activities));
+        add(new Subscription(listener, wanted::contains));
+    }
+
+    /**
+     * Registers a listener for every activity accepted by a predicate.
+     * <p>
+     * The predicate is evaluated once per distinct activity, when that
+     * activity is first routed, not on every event.
+     * </p>
+     *
+     * @param listener the listener to register
+     * @param filter   accepts the activity names the listener wants
+     */
+    public void registerMatching(GameEventListener listener, Predicate<String> filter) {
+        add(new Subscription(listener, filter));
     }
 
     /**
-     * Publishes an event to all registered listeners.
+     * Removes every subscription of a listener.
+     *
+     * @param listener the listener to remove
+     */
+    public synchronized void unregister(GameEventListener listener) {
+        Subscription[] current = routes.subscriptions;
+        routes = new Routes(Arrays.stream(current)
+                .filter(s -> s.listener != listener)
+                .toArray(Subscription[]::new));
+    }
+
+    /**
+     * Publishes an event to every listener subscribed to its activity.
      *
      * @param event the event to distribute
      */
     public void publish(GameEvent event) {
-        for (GameEventListener l : listeners) {
+        for (GameEventListener l : targets(routes, event)) {
             l.onEvent(event);
         }
     }
+
+    /**
+     * Publishes several events as one batch.
+     * <p>
+     * Each listener receives a single {@link GameEventListener#onEvents} call
+     * holding the events routed to it, in publication order, so that a
+     * logger can write the whole batch at once. Unlike successive calls to
+     * {@link #publish}, one listener sees the entire batch before the next
+     * listener sees any of it.
+     * </p>
+     *
+     * @param events the events to distribute, in the order they occurred
+     */
+    public void publishBatch(List<GameEvent> events) {
+        Routes r = routes;
+        Map<GameEventListener, List<GameEvent>> batches = new IdentityHashMap<>();
+        List<GameEventListener> order = new ArrayList<>();
+        for (GameEvent event : events) {
+            for (GameEventListener l : targets(r, event)) {
+                List<GameEvent> batch = batches.get(l);
+                if (batch == null) {
+                    batch = new ArrayList<>(events.size());
+                    batches.put(l, batch);
+                    order.add(l);
+                }
+                batch.add(event);
+            }
+        }
+        for (GameEventListener l : order) {
+            l.onEvents(Collections.unmodifiableList(batches.get(l)));
+        }
+    }
+
+    /** Listeners for an event's activity, routing the activity on first use. */
+    private static GameEventListener[] targets(Routes r, GameEvent event) {
+        String activity = event.getActivity() == null ? "" : event.getActivity();
+        GameEventListener[] targets = r.table.get(activity);
+        if (targets == null) {
+            targets = r.table.computeIfAbsent(activity, r::route);
+        }
+        return targets;
+    }
+
+    private synchronized void add(Subscription s) {
+        Subscription[] current = routes.subscriptions;
+        Subscription[] next = Arrays.copyOf(current, current.length + 1);
+        next[current.length] = s;
+        routes = new Routes(next);
+    }
 }
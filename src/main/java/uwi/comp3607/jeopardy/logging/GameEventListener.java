@@ -1,5 +1,7 @@
 package uwi.comp3607.jeopardy.logging;
 
+import java.util.List;
+
 /**
  * Observer interface for components that want to receive game events.
  * <p>
@@ -15,4 +17,21 @@ public interface GameEventListener {
      * @param event the event that occurred
      */
     void onEvent(GameEvent event);
+
+    /**
+     * Called when several events are published together with
+     * {@link GameEventBus#publishBatch}.
+     * <p>
+     * The default calls {@link #onEvent} for each event in order. Listeners
+     * with a per-call cost, such as a flush, can override this to pay it
+     * once per batch.
+     * </p>
+     *
+     * @param events the events, in the order they occurred
+     */
+    default void onEvents(List<GameEvent> events) {
+        for (GameEvent e : events) {
+            onEvent(e);
+        }
+    }
 }
@@ -0,0 +1,148 @@
+package uwi.comp3607.jeopardy.logging;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Random access to the sessions in a CSV event log through its
+ * {@link EventLogIndex}.
+ * <p>
+ * Looking up a session reads only the index blocks that contain its rows,
+ * with positional reads on a {@link FileChannel}, and skips the rows of other
+ * sessions in those blocks. The cost therefore depends on the size of the
+ * session and how many sessions were interleaved with it, not on the size of
+ * the log. Lookups are thread-safe.
+ * </p>
+ */
+public class IndexedEventLog implements Closeable {
+
+    /** Bytes read from the log at a time. */
+    private static final int CHUNK = 1 << 20;
+
+    private final FileChannel channel;
+    private final EventLogIndex index;
+
+    private IndexedEventLog(FileChannel channel, EventLogIndex index) {
+        this.channel = channel;
+        this.index = index;
+    }
+
+    /**
+     * Opens a log using its sidecar index.
+     * <p>
+     * If the log has grown since the sidecar was written, for example because
+     * its writer died before closing, only the new rows are scanned. If the
+     * sidecar is missing, unreadable, or covers more than the log, the index
+     * is rebuilt by scanning the log once. Either way the sidecar is then
+     * rewritten.
+     * </p>
+     *
+     * @param log the event log
+     * @return the opened log
+     * @throws IOException if the log cannot be read
+     */
+    public static IndexedEventLog open(Path log) throws IOException {
+        Path sidecar = EventLogIndex.sidecarFor(log);
+        long length = Files.size(log);
+        EventLogIndex index = null;
+        if (Files.isRegularFile(sidecar)) {
+            try {
+                index = EventLogIndex.read(sidecar);
+            } catch (IOException ex) {
+                index = null;
+            }
+        }
+        if (index == null || index.getLogLength() > length) {
+            index = EventLogIndex.build(log, EventLogIndex.DEFAULT_BLOCK_SIZE);
+            index.write(sidecar);
+        } else if (index.getLogLength() < length) {
+            index.extend(log);
+            index.write(sidecar);
+        }
+        return new IndexedEventLog(FileChannel.open(log, StandardOpenOption.READ), index);
+    }
+
+    /** @return the index in use */
+    public EventLogIndex getIndex() { return index; }
+
+    /**
+     * Reads every event of one session, in log order.
+     *
+     * @param caseId the session to read
+     * @return the session's events; empty if the session is not in the log
+     * @throws IOException if the log cannot be read
+     */
+    public List<GameEvent> events(String caseId) throws IOException {
+        long[] ranges = index.getRanges(caseId);
+        List<GameEvent> events = new ArrayList<>();
+        byte[] key = (caseId + ",").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buf = ByteBuffer.allocate(CHUNK);
+        for (int i = 0; i < ranges.length; i += 2) {
+            // Ranges end on row boundaries, so no row spans two ranges.
+            long pos = ranges[i];
+            long end = ranges[i + 1];
+            buf.clear();
+            while (pos < end) {
+                buf.limit((int) Math.min(buf.capacity(), buf.position() + end - pos));
+                int n = channel.read(buf, pos);
+                if (n < 0) {
+                    throw new IOException("Event log is shorter than its index");
+                }
+                pos += n;
+                int rowStart = 0;
+                byte[] bytes = buf.array();
+                int filled = buf.position();
+                for (int j = 0; j < filled; j++) {
+                    if (bytes[j] == '\n') {
+                        addRow(bytes, rowStart, j, key, caseId, events);
+                        rowStart = j + 1;
+                    }
+                }
+                if (rowStart == 0 && !buf.hasRemaining() && pos < end) {
+                    buf = ByteBuffer.allocate(buf.capacity() * 2).put(buf.flip());
+                    continue;
+                }
+                // Keep the unfinished row for the next read.
+                buf.limit(buf.position()).position(rowStart);
+                buf.compact();
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Parses the row in {@code bytes[from, to)} and keeps it if it belongs to
+     * the case. Rows of other sessions are skipped by comparing the first
+     * field's bytes, without parsing, unless it is quoted.
+     */
+    private static void addRow(byte[] bytes, int from, int to, byte[] key, String caseId,
+                               List<GameEvent> events) {
+        if (to > from && bytes[to - 1] == '\r') {
+            to--;
+        }
+        if (to == from) {
+            return;
+        }
+        if (bytes[from] != '"' && !Arrays.equals(bytes, from, Math.min(to, from + key.length), key, 0, key.length)) {
+            return;
+        }
+        GameEvent e = EventLogReader.parse(new String(bytes, from, to - from, StandardCharsets.UTF_8));
+        if (e != null && caseId.equals(e.getCaseId())) {
+            events.add(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,156 @@
+package uwi.comp3607.jeopardy.logging;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * Thins out high-volume selection events before they reach a listener,
+ * keeping more or fewer of them depending on how far that listener has
+ * fallen behind.
+ * <p>
+ * Only "Select Category" and "Select Question" events are sampled; every
+ * other event, including game start and exit, answers and score updates, is
+ * always forwarded. The two select events of one turn are kept or dropped
+ * together. The sampler keeps one select pair in every {@code 2^k}; each
+ * time a pair is decided it reads the backlog and doubles the interval when
+ * the backlog is above the high-water mark, or halves it when the backlog is
+ * below a quarter of that mark.
+ * </p>
+ * <p>
+ * The interval is shared by all sessions, but the rate is announced per
+ * session: before a session's first select event at a new rate, a "Sample
+ * Rate" event with that session's Case_ID and the keep probability (e.g.
+ * {@code 0.25}) in its Result column is forwarded. A session's rate starts
+ * at 1 and applies to all of its select events that follow the marker, so
+ * analytics can re-weight each session's sampled counts by {@code 1 / rate}.
+ * </p>
+ * <p>
+ * A batch is sampled event by event and the kept events, including any
+ * "Sample Rate" events, are passed on as one batch.
+ * </p>
+ */
+public class SamplingEventListener implements GameEventListener {
+
+    /** Activity of the event that records a change in sampling rate. */
+    public static final String SAMPLE_RATE = "Sample Rate";
+
+    /** Largest sampling interval exponent: keep at least 1 in 64 pairs. */
+    static final int MAX_SHIFT = 6;
+
+    private final GameEventListener delegate;
+    /** Passes single events straight to the delegate. */
+    private final Consumer<GameEvent> forward;
+    private final IntSupplier backlog;
+    private final int highWater;
+
+    /** Current interval exponent; one pair in {@code 1 << shift} is kept. */
+    private final AtomicInteger shift = new AtomicInteger();
+    private final AtomicLong pairs = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    /** Keep/drop decision of each session's open select pair. */
+    private final ConcurrentHashMap<String, Boolean> openPairs = new ConcurrentHashMap<>();
+    /** Interval exponent last announced to each session. */
+    private final ConcurrentHashMap<String, Integer> announced = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a sampler in front of a listener.
+     *
+     * @param delegate  the listener that receives the kept events
+     * @param backlog   reports how many events the delegate has yet to process,
+     *                  e.g. {@link AsyncEventListener#getBacklog()}
+     * @param highWater backlog above which the sampling rate is halved
+     */
+    public SamplingEventListener(GameEventListener delegate, IntSupplier backlog, int highWater) {
+        if (highWater < 4) {
+            throw new IllegalArgumentException("highWater must be at least 4: " + highWater);
+        }
+        this.delegate = delegate;
+        this.forward = delegate::onEvent;
+        this.backlog = backlog;
+        this.highWater = highWater;
+    }
+
+    /**
+     * Creates a sampler in front of an asynchronous listener, using its queue
+     * length as the backlog.
+     *
+     * @param delegate  the listener that receives the kept events
+     * @param highWater backlog above which the sampling rate is halved
+     */
+    public SamplingEventListener(AsyncEventListener delegate, int highWater) {
+        this(delegate, delegate::getBacklog, highWater);
+    }
+
+    @Override
+    public void onEvent(GameEvent event) {
+        sample(event, forward);
+    }
+
+    @Override
+    public void onEvents(List<GameEvent> events) {
+        List<GameEvent> kept = new ArrayList<>(events.size());
+        for (GameEvent e : events) {
+            sample(e, kept::add);
+        }
+        if (!kept.isEmpty()) {
+            delegate.onEvents(kept);
+        }
+    }
+
+    /** @return the current probability that a select pair is kept */
+    public double getSampleRate() {
+        return 1.0 / (1 << shift.get());
+    }
+
+    /** @return the number of select events dropped so far */
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    /** Passes an event to {@code out} unless it is a dropped select event. */
+    private void sample(GameEvent event, Consumer<GameEvent> out) {
+        String activity = event.getActivity();
+        if ("Select Category".equals(activity)) {
+            boolean keep = decide(event, out);
+            openPairs.put(event.getCaseId(), keep);
+            if (keep) out.accept(event);
+            else dropped.incrementAndGet();
+        } else if ("Select Question".equals(activity)) {
+            Boolean keep = openPairs.remove(event.getCaseId());
+            if (keep == null || keep) out.accept(event);
+            else dropped.incrementAndGet();
+        } else {
+            if ("Exit Game".equals(activity)) {
+                openPairs.remove(event.getCaseId());
+                announced.remove(event.getCaseId());
+            }
+            out.accept(event);
+        }
+    }
+
+    private boolean decide(GameEvent event, Consumer<GameEvent> out) {
+        int current = shift.get();
+        int queued = backlog.getAsInt();
+        int next = current;
+        if (queued > highWater && current < MAX_SHIFT) {
+            next = current + 1;
+        } else if (queued < highWater / 4 && current > 0) {
+            next = current - 1;
+        }
+        if (next != current && shift.compareAndSet(current, next)) {
+            current = next;
+        }
+        Integer told = announced.put(event.getCaseId(), current);
+        if ((told == null ? 0 : told) != current) {
+            out.accept(new GameEvent(event.getCaseId(), "", SAMPLE_RATE, event.getTimestamp(),
+                    "", null, "", Double.toString(1.0 / (1 << current)), null));
+        }
+        long n = pairs.getAndIncrement();
+        return (n & ((1L << current) - 1)) == 0;
+    }
+}
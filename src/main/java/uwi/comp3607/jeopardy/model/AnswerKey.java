@@ -0,0 +1,56 @@
+package uwi.comp3607.jeopardy.model;
+
+/**
+ * Helpers for the multiple-choice answer keys "A" to "D".
+ * <p>
+ * A valid key can be held as a one-byte code (0&ndash;3) and turned back into
+ * one of four shared {@code String} constants, so storing the correct answer
+ * of millions of questions needs no per-question string.
+ * </p>
+ */
+public final class AnswerKey {
+
+    /** Code used for answers that are not A, B, C or D. */
+    public static final byte INVALID = -1;
+
+    /** Shared key strings, indexed by code. */
+    private static final String[] KEYS = {"A", "B", "C", "D"};
+
+    private AnswerKey() {
+    }
+
+    /**
+     * Encodes an answer key, ignoring case and surrounding whitespace.
+     *
+     * @param answer the answer text (may be {@code null})
+     * @return 0&ndash;3 for A&ndash;D, or {@link #INVALID}
+     */
+    public static byte encode(String answer) {
+        if (answer == null) return INVALID;
+        String s = answer.trim();
+        if (s.length() != 1) return INVALID;
+        int code = Character.toUpperCase(s.charAt(0)) - 'A';
+        return code >= 0 && code < KEYS.length ? (byte) code : INVALID;
+    }
+
+    /**
+     * Decodes a code produced by {@link #encode(String)}.
+     *
+     * @param code the answer code
+     * @return the shared key string, or {@code null} for {@link #INVALID}
+     */
+    public static String decode(byte code) {
+        return code >= 0 && code < KEYS.length ? KEYS[code] : null;
+    }
+
+    /**
+     * Returns the shared constant for a valid key, or the input unchanged.
+     *
+     * @param answer the answer text (may be {@code null})
+     * @return "A", "B", "C" or "D" as a shared instance, or {@code answer}
+     */
+    public static String canonical(String answer) {
+        byte code = encode(answer);
+        return code == INVALID ? answer : KEYS[code];
+    }
+}
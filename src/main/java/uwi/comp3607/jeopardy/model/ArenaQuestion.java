@@ -0,0 +1,37 @@
+package uwi.comp3607.jeopardy.model;
+
+/**
+ * Question whose text and options live in a {@link TextArena}.
+ * <p>
+ * Only the key fields and one arena handle are held per question; the text
+ * is decoded from the arena each time a getter is called. Instances are
+ * created by {@link QuestionBoard} in arena mode.
+ * </p>
+ */
+class ArenaQuestion extends Question {
+    /** Arena holding this question's text. */
+    private final TextArena arena;
+    /** Handle of the entry: question text followed by options A&ndash;D. */
+    private final int handle;
+
+    ArenaQuestion(String category, int value, String correctAnswer,
+                  TextArena arena, int handle) {
+        super(category, value, correctAnswer);
+        this.arena = arena;
+        this.handle = handle;
+    }
+
+    /** @return the arena this question's text is stored in */
+    TextArena getArena() { return arena; }
+
+    @Override public String getQuestionText() { return arena.get(handle, 0); }
+    @Override public String getOptionA() { return arena.get(handle, 1); }
+    @Override public String getOptionB() { return arena.get(handle, 2); }
+    @Override public String getOptionC() { return arena.get(handle, 3); }
+    @Override public String getOptionD() { return arena.get(handle, 4); }
+
+    @Override
+    public Question copy() {
+        return new ArenaQuestion(getCategory(), getValue(), getCorrectAnswer(), arena, handle);
+    }
+}
@@ -0,0 +1,247 @@
+package uwi.comp3607.jeopardy.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Case-insensitive lookup index over a board's category names.
+ * <p>
+ * Names are stored in a ternary search tree, which supports exact lookup,
+ * prefix search, and fuzzy search within a bounded edit (Levenshtein)
+ * distance. Fuzzy search walks the tree with one dynamic-programming row per
+ * node and abandons a branch as soon as every entry in its row exceeds the
+ * bound, so only a small part of the tree is visited.
+ * </p>
+ * <p>
+ * The index is immutable once built and is safe to share between threads.
+ * </p>
+ */
+public class CategoryIndex {
+
+    /** Ternary search tree node for one character of a key. */
+    private static final class Node {
+        final char c;
+        Node lo;
+        Node eq;
+        Node hi;
+        /** Original category name if a key ends at this node. */
+        String category;
+
+        Node(char c) {
+            this.c = c;
+        }
+    }
+
+    /** A fuzzy match and its edit distance. */
+    private static final class Match {
+        final String category;
+        final int distance;
+
+        Match(String category, int distance) {
+            this.category = category;
+            this.distance = distance;
+        }
+    }
+
+    private Node root;
+
+    /**
+     * Builds an index over the given category names.
+     *
+     * @param categories the category names to index
+     */
+    public CategoryIndex(Collection<String> categories) {
+        for (String category : categories) {
+            String key = normalise(category);
+            if (!key.isEmpty()) {
+                root = insert(root, key, 0, category);
+            }
+        }
+    }
+
+    /**
+     * Looks up a category ignoring case and surrounding whitespace.
+     *
+     * @param query the text entered by the user
+     * @return the category name as stored on the board, or {@code null}
+     */
+    public String exact(String query) {
+        String key = normalise(query);
+        if (key.isEmpty()) return null;
+        Node n = find(key);
+        return n == null ? null : n.category;
+    }
+
+    /**
+     * Returns all categories starting with the given prefix, ignoring case.
+     *
+     * @param prefix the prefix to match
+     * @return matching category names in alphabetical order of their keys
+     */
+    public List<String> withPrefix(String prefix) {
+        List<String> result = new ArrayList<>();
+        String key = normalise(prefix);
+        if (key.isEmpty()) return result;
+        Node n = find(key);
+        if (n == null) return result;
+        if (n.category != null) result.add(n.category);
+        collect(n.eq, result);
+        return result;
+    }
+
+    /**
+     * Returns categories within {@code maxDistance} edits of the query,
+     * closest first.
+     *
+     * @param query       the text entered by the user
+     * @param maxDistance the largest edit distance to accept
+     * @return matching category names ordered by distance
+     */
+    public List<String> fuzzy(String query, int maxDistance) {
+        List<Match> matches = fuzzyMatches(normalise(query), maxDistance);
+        matches.sort(Comparator.comparingInt(m -> m.distance));
+
+        List<String> result = new ArrayList<>(matches.size());
+        for (Match m : matches) result.add(m.category);
+        return result;
+    }
+
+    /**
+     * Resolves user input to a single category.
+     * <p>
+     * Tries, in order: an exact match, a unique prefix match, and a unique
+     * closest fuzzy match. The fuzzy bound grows with the input length, from
+     * one edit for short input up to three.
+     * </p>
+     *
+     * @param query the text entered by the user
+     * @return the resolved category name, or {@code null} if there is no
+     *         match or the input is ambiguous
+     */
+    public String resolve(String query) {
+        String match = exact(query);
+        if (match != null) return match;
+
+        List<String> prefixed = withPrefix(query);
+        if (prefixed.size() == 1) return prefixed.get(0);
+        if (!prefixed.isEmpty()) return null;
+
+        String key = normalise(query);
+        int bound = Math.min(3, Math.max(1, key.length() / 4));
+        List<Match> matches = fuzzyMatches(key, bound);
+        if (matches.isEmpty()) return null;
+
+        Match best = matches.get(0);
+        boolean tie = false;
+        for (int i = 1; i < matches.size(); i++) {
+            Match m = matches.get(i);
+            if (m.distance < best.distance) {
+                best = m;
+                tie = false;
+            } else if (m.distance == best.distance) {
+                tie = true;
+            }
+        }
+        return tie ? null : best.category;
+    }
+
+    /**
+     * Suggests categories for input that did not resolve: prefix matches if
+     * any, otherwise fuzzy matches within three edits.
+     *
+     * @param query the text entered by the user
+     * @return suggested category names, possibly empty
+     */
+    public List<String> suggest(String query) {
+        List<String> prefixed = withPrefix(query);
+        return prefixed.isEmpty() ? fuzzy(query, 3) : prefixed;
+    }
+
+    private static String normalise(String s) {
+        return s == null ? "" : s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private Node insert(Node n, String key, int i, String category) {
+        char c = key.charAt(i);
+        if (n == null) n = new Node(c);
+        if (c < n.c) {
+            n.lo = insert(n.lo, key, i, category);
+        } else if (c > n.c) {
+            n.hi = insert(n.hi, key, i, category);
+        } else if (i < key.length() - 1) {
+            n.eq = insert(n.eq, key, i + 1, category);
+        } else if (n.category == null) {
+            n.category = category;
+        }
+        return n;
+    }
+
+    private Node find(String key) {
+        Node n = root;
+        int i = 0;
+        while (n != null) {
+            char c = key.charAt(i);
+            if (c < n.c) {
+                n = n.lo;
+            } else if (c > n.c) {
+                n = n.hi;
+            } else if (i == key.length() - 1) {
+                return n;
+            } else {
+                n = n.eq;
+                i++;
+            }
+        }
+        return null;
+    }
+
+    private void collect(Node n, List<String> out) {
+        if (n == null) return;
+        collect(n.lo, out);
+        if (n.category != null) out.add(n.category);
+        collect(n.eq, out);
+        collect(n.hi, out);
+    }
+
+    private List<Match> fuzzyMatches(String key, int max) {
+        int[] firstRow = new int[key.length() + 1];
+        for (int i = 0; i < firstRow.length; i++) firstRow[i] = i;
+        List<Match> matches = new ArrayList<>();
+        fuzzy(root, key, firstRow, max, matches);
+        return matches;
+    }
+
+    /**
+     * Walks the tree computing one Levenshtein row per node.
+     *
+     * @param n       the current node (siblings share {@code prevRow})
+     * @param key     the normalised query
+     * @param prevRow distances for the path up to, but excluding, {@code n}
+     * @param max     the largest distance to accept
+     * @param out     collected matches
+     */
+    private void fuzzy(Node n, String key, int[] prevRow, int max, List<Match> out) {
+        if (n == null) return;
+        fuzzy(n.lo, key, prevRow, max, out);
+        fuzzy(n.hi, key, prevRow, max, out);
+
+        int[] row = new int[prevRow.length];
+        row[0] = prevRow[0] + 1;
+        int rowMin = row[0];
+        for (int i = 1; i < row.length; i++) {
+            int cost = key.charAt(i - 1) == n.c ? 0 : 1;
+            row[i] = Math.min(Math.min(row[i - 1] + 1, prevRow[i] + 1), prevRow[i - 1] + cost);
+            rowMin = Math.min(rowMin, row[i]);
+        }
+
+        if (n.category != null && row[row.length - 1] <= max) {
+            out.add(new Match(n.category, row[row.length - 1]));
+        }
+        if (rowMin <= max) {
+            fuzzy(n.eq, key, row, max, out);
+        }
+    }
+}
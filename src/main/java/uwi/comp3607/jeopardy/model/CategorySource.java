@@ -0,0 +1,33 @@
+package uwi.comp3607.jeopardy.model;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Supplies the questions of one category to a lazily loaded
+ * {@link QuestionBoard}.
+ * <p>
+ * Implementations may share the returned questions between boards; the board
+ * adds copies, so used flags are never shared.
+ * </p>
+ */
+public interface CategorySource {
+
+    /**
+     * Returns every question of a category, waiting for it to load if needed.
+     *
+     * @param category the category name
+     * @return the category's questions
+     * @throws IOException if the questions cannot be read
+     */
+    List<Question> load(String category) throws IOException;
+
+    /**
+     * Hints that a category is likely to be loaded soon, so that it can be
+     * read in the background. The default does nothing.
+     *
+     * @param category the category name
+     */
+    default void prefetch(String category) {
+    }
+}
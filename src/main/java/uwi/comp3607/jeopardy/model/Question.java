@@ -55,6 +55,22 @@ public class Question {
         this.correctAnswer = correctAnswer;
     }
 
+    /**
+     * Constructs a question whose text and options are supplied by a subclass.
+     * <p>
+     * Used by lazily loaded questions that keep only their key fields in
+     * memory. Subclasses must override {@link #getQuestionText()},
+     * {@link #getOptionA()} to {@link #getOptionD()}, and {@link #copy()}.
+     * </p>
+     *
+     * @param category      the question category
+     * @param value         the point value for this question
+     * @param correctAnswer the correct answer key ("A", "B", "C", or "D")
+     */
+    protected Question(String category, int value, String correctAnswer) {
+        this(category, value, null, null, null, null, null, correctAnswer);
+    }
+
     public String getCategory() { return category; }
     public int getValue() { return value; }
     public String getQuestionText() { return questionText; }
@@ -64,6 +80,20 @@ public class Question {
     public String getOptionD() { return optionD; }
     public String getCorrectAnswer() { return correctAnswer; }
 
+    /**
+     * Returns a fresh, unused copy of this question.
+     * <p>
+     * The copy shares the text of this question but has its own used flag,
+     * so the same question can appear on several boards at once.
+     * </p>
+     *
+     * @return an unused copy of this question
+     */
+    public Question copy() {
+        return new Question(category, value, questionText,
+                optionA, optionB, optionC, optionD, correctAnswer);
+    }
+
     /**
      * Indicates whether this question has been used in the game.
      *
@@ -1,5 +1,7 @@
 package uwi.comp3607.jeopardy.model;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 /**
@@ -9,6 +11,12 @@ import java.util.*;
  * to look up categories, available question values, and to check whether all
  * questions have been used.
  * </p>
+ * <p>
+ * A board created with {@link #lazy} knows its categories and values up
+ * front but reads a category's questions from a {@link CategorySource} only
+ * when one of them is first needed. Listing categories and values and
+ * checking which questions remain answer from the known values until then.
+ * </p>
  */
 public class QuestionBoard {
     // Map<Category, Map<Value, Question>>
@@ -20,12 +28,111 @@ public class QuestionBoard {
      */
     private final Map<String, Map<Integer, Question>> board = new LinkedHashMap<>();
 
+    /** Arena for question text in arena mode, or {@code null} otherwise. */
+    private final TextArena arena;
+
+    /** Lookup index over category names, built on first use. */
+    private CategoryIndex categoryIndex;
+
+    /** Source of categories not loaded yet, or {@code null} for an eager board. */
+    private final CategorySource source;
+    /** Values of each category whose questions have not been loaded yet. */
+    private final Map<String, SortedSet<Integer>> unloaded;
+
+    /**
+     * Creates an empty board that stores questions as given.
+     */
+    public QuestionBoard() {
+        this(null);
+    }
+
+    private QuestionBoard(TextArena arena) {
+        this(arena, null);
+    }
+
+    private QuestionBoard(TextArena arena, CategorySource source) {
+        this.arena = arena;
+        this.source = source;
+        this.unloaded = source == null ? Collections.emptyMap() : new HashMap<>();
+    }
+
+    /**
+     * Creates a board whose categories are loaded on first use.
+     *
+     * @param values every category's point values, in display order
+     * @param source where each category's questions are loaded from
+     * @return a new board with no questions loaded yet
+     */
+    public static QuestionBoard lazy(Map<String, ? extends Collection<Integer>> values, CategorySource source) {
+        QuestionBoard board = new QuestionBoard(null, source);
+        for (Map.Entry<String, ? extends Collection<Integer>> e : values.entrySet()) {
+            board.board.put(e.getKey(), new TreeMap<>());
+            board.unloaded.put(e.getKey(), Collections.unmodifiableSortedSet(new TreeSet<>(e.getValue())));
+        }
+        return board;
+    }
+
+    /**
+     * Creates an empty board in arena mode.
+     * <p>
+     * In arena mode, the text and options of every added question are copied
+     * as UTF-8 into a few large byte slabs, and the board keeps a lightweight
+     * view that decodes them on access. This greatly reduces object count and
+     * GC work for boards holding millions of questions.
+     * </p>
+     *
+     * @return a new, empty arena-backed board
+     */
+    public static QuestionBoard withArena() {
+        return new QuestionBoard(new TextArena());
+    }
+
+    /**
+     * Returns a copy of this board with every question unused.
+     * <p>
+     * The copy has its own question instances (see {@link Question#copy()}),
+     * so playing on it does not affect this board. Arena-backed copies share
+     * this board's arena for their text. Categories keep their order, and
+     * those not loaded yet stay unloaded in the copy.
+     * </p>
+     *
+     * @return a fresh board with the same questions
+     */
+    public QuestionBoard copy() {
+        QuestionBoard copy = new QuestionBoard(arena, source);
+        for (Map.Entry<String, Map<Integer, Question>> e : board.entrySet()) {
+            copy.board.put(e.getKey(), new TreeMap<>());
+            SortedSet<Integer> values = unloaded.get(e.getKey());
+            if (values != null) {
+                copy.unloaded.put(e.getKey(), values);
+                continue;
+            }
+            for (Question q : e.getValue().values()) {
+                copy.addQuestion(q.copy());
+            }
+        }
+        return copy;
+    }
+
     /**
      * Adds a question to the board under its category and value.
+     * <p>
+     * In arena mode, the board stores an arena-backed copy, so the instance
+     * returned by {@link #getQuestion(String, int)} is not {@code q} itself.
+     * </p>
      *
      * @param q the question to add
      */
     public void addQuestion(Question q) {
+        ensureLoaded(q.getCategory());
+        if (arena != null && !(q instanceof ArenaQuestion && ((ArenaQuestion) q).getArena() == arena)) {
+            int handle = arena.append(q.getQuestionText(),
+                    q.getOptionA(), q.getOptionB(), q.getOptionC(), q.getOptionD());
+            q = new ArenaQuestion(q.getCategory(), q.getValue(), q.getCorrectAnswer(), arena, handle);
+        }
+        if (!board.containsKey(q.getCategory())) {
+            categoryIndex = null;
+        }
         board
             .computeIfAbsent(q.getCategory(), c -> new TreeMap<>())
             .put(q.getValue(), q);
@@ -40,6 +147,21 @@ public class QuestionBoard {
         return board.keySet();
     }
 
+    /**
+     * Returns the prefix and fuzzy lookup index over this board's categories.
+     * <p>
+     * The index is built once and reused until a new category is added.
+     * </p>
+     *
+     * @return the category index
+     */
+    public CategoryIndex getCategoryIndex() {
+        if (categoryIndex == null) {
+            categoryIndex = new CategoryIndex(board.keySet());
+        }
+        return categoryIndex;
+    }
+
     /**
      * Returns a sorted set of all point values available for the given category.
      *
@@ -47,6 +169,8 @@ public class QuestionBoard {
      * @return sorted set of point values, or an empty set if the category does not exist
      */
     public SortedSet<Integer> getValuesForCategory(String category) {
+        SortedSet<Integer> known = unloaded.get(category);
+        if (known != null) return new TreeSet<>(known);
         Map<Integer, Question> inner = board.get(category);
         if (inner == null) return new TreeSet<>();
         return new TreeSet<>(inner.keySet());
@@ -58,8 +182,12 @@ public class QuestionBoard {
      * @param category the category name
      * @param value    the point value
      * @return the {@link Question} for the given key, or {@code null} if none exists
+     * @throws UncheckedIOException if the category is not loaded yet and its
+     *                              questions cannot be read; the category stays
+     *                              unloaded, so a later call tries again
      */
     public Question getQuestion(String category, int value) {
+        ensureLoaded(category);
         Map<Integer, Question> inner = board.get(category);
         if (inner == null) return null;
         return inner.get(value);
@@ -71,6 +199,9 @@ public class QuestionBoard {
      * @return {@code true} if every question is marked as used
      */
     public boolean allQuestionsUsed() {
+        for (SortedSet<Integer> values : unloaded.values()) {
+            if (!values.isEmpty()) return false;
+        }
         for (Map<Integer, Question> inner : board.values()) {
             for (Question q : inner.values()) {
                 if (!q.isUsed()) return false;
@@ -97,7 +228,52 @@ public class QuestionBoard {
      * @return {@code true} if a question exists and has not been used
      */
     public boolean hasQuestion(String category, int value) {
+        SortedSet<Integer> known = unloaded.get(category);
+        if (known != null) return known.contains(value);
         Question q = getQuestion(category, value);
         return q != null && !q.isUsed();
     }
+
+    /**
+     * Hints that a category is likely to be played soon, so a lazy board can
+     * start loading it in the background. Eager boards ignore the hint.
+     *
+     * @param category the category name
+     */
+    public void prefetch(String category) {
+        if (unloaded.containsKey(category)) {
+            source.prefetch(category);
+        }
+    }
+
+    /**
+     * Checks whether a category's questions are in memory.
+     *
+     * @param category the category name
+     * @return {@code false} if the category is still waiting to be loaded
+     */
+    public boolean isLoaded(String category) {
+        return !unloaded.containsKey(category);
+    }
+
+    /**
+     * Loads a category from the source if it has not been loaded yet. On
+     * failure the category stays unloaded, so a later call tries again.
+     */
+    private void ensureLoaded(String category) {
+        SortedSet<Integer> values = unloaded.get(category);
+        if (values == null) {
+            return;
+        }
+        List<Question> questions;
+        try {
+            questions = source.load(category);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot load category " + category + ": " + ex.getMessage(), ex);
+        }
+        unloaded.remove(category);
+        for (Question q : questions) {
+            addQuestion(q.copy());
+        }
+    }
 }
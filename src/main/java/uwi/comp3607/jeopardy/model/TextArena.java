@@ -0,0 +1,114 @@
+package uwi.comp3607.jeopardy.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Append-only store for question text packed into large {@code byte[]} slabs.
+ * <p>
+ * Each stored entry is a group of strings encoded as UTF-8, each preceded by
+ * its length as a variable-length integer. An entry is addressed by a single
+ * {@code int} handle: the slab number in the upper bits and the offset within
+ * the slab in the lower 22 bits. Millions of questions therefore cost a few
+ * hundred arrays instead of several {@code String} objects each.
+ * </p>
+ * <p>
+ * Appending is not thread-safe and is expected to happen while a board is
+ * being built. Reading is safe from any thread once the arena has been
+ * safely published.
+ * </p>
+ */
+public class TextArena {
+
+    /** Number of low bits of a handle used for the offset within a slab. */
+    private static final int OFFSET_BITS = 22;
+    /** Default slab size: 4 MiB, the largest offset a handle can address. */
+    private static final int SLAB_SIZE = 1 << OFFSET_BITS;
+    /** Largest number of slabs a handle can address. */
+    private static final int MAX_SLABS = 1 << (31 - OFFSET_BITS);
+
+    /** Filled slabs followed by the slab currently being written. */
+    private final List<byte[]> slabs = new ArrayList<>();
+    /** Write position in the last slab. */
+    private int position = SLAB_SIZE;
+
+    /**
+     * Appends a group of strings as one entry.
+     *
+     * @param values the strings to store; {@code null} is stored as empty
+     * @return the handle of the new entry
+     * @throws IllegalStateException if the arena is full (about 2 GiB)
+     */
+    public int append(String... values) {
+        byte[][] encoded = new byte[values.length][];
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = values[i] == null ? new byte[0] : values[i].getBytes(StandardCharsets.UTF_8);
+            size += varIntSize(encoded[i].length) + encoded[i].length;
+        }
+
+        if (position + size > SLAB_SIZE) {
+            if (slabs.size() == MAX_SLABS) {
+                throw new IllegalStateException("Text arena is full");
+            }
+            // Entries larger than a slab get a slab of their own
+            slabs.add(new byte[Math.max(SLAB_SIZE, size)]);
+            position = 0;
+        }
+
+        int slabIndex = slabs.size() - 1;
+        byte[] slab = slabs.get(slabIndex);
+        int handle = (slabIndex << OFFSET_BITS) | position;
+        for (byte[] bytes : encoded) {
+            position = writeVarInt(slab, position, bytes.length);
+            System.arraycopy(bytes, 0, slab, position, bytes.length);
+            position += bytes.length;
+        }
+        return handle;
+    }
+
+    /**
+     * Decodes one string of an entry.
+     *
+     * @param handle the entry handle returned by {@link #append(String...)}
+     * @param index  0-based position of the string within the entry
+     * @return the decoded string
+     */
+    public String get(int handle, int index) {
+        byte[] slab = slabs.get(handle >>> OFFSET_BITS);
+        int pos = handle & (SLAB_SIZE - 1);
+        for (int i = 0; ; i++) {
+            int length = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = slab[pos++];
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            if (i == index) {
+                return new String(slab, pos, length, StandardCharsets.UTF_8);
+            }
+            pos += length;
+        }
+    }
+
+    /** @return number of slabs allocated so far */
+    public int getSlabCount() { return slabs.size(); }
+
+    private static int varIntSize(int value) {
+        int size = 1;
+        while ((value >>>= 7) != 0) size++;
+        return size;
+    }
+
+    private static int writeVarInt(byte[] out, int pos, int value) {
+        while ((value & ~0x7F) != 0) {
+            out[pos++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out[pos++] = (byte) value;
+        return pos;
+    }
+}
@@ -0,0 +1,286 @@
+package uwi.comp3607.jeopardy.report;
+
+import uwi.comp3607.jeopardy.game.Turn;
+import uwi.comp3607.jeopardy.io.FileParserFactory;
+import uwi.comp3607.jeopardy.logging.EventLogReader;
+import uwi.comp3607.jeopardy.logging.GameEvent;
+import uwi.comp3607.jeopardy.model.Player;
+import uwi.comp3607.jeopardy.model.Question;
+import uwi.comp3607.jeopardy.model.QuestionBoard;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Regenerates per-session reports from archived CSV event logs.
+ * <p>
+ * Logs are streamed row by row and partitioned by {@code Case_ID}. A session
+ * is complete when its "Generate Event Log" row is read, or when the last log
+ * ends; it is then handed to a work-stealing {@link ForkJoinPool} that rebuilds
+ * the players and turns and writes TXT and JSON reports through a
+ * {@link ReportPipeline}. At most twice the pool's parallelism sessions are
+ * queued at once, so memory stays proportional to the largest session (plus
+ * any sessions whose rows are interleaved with it) rather than to the archive.
+ * </p>
+ * <p>
+ * Reports are written to {@code <output>/<shard>/<Case_ID>.txt} and
+ * {@code .json}, where the shard is two hex digits taken from the case ID's
+ * hash, so no single directory has to hold a whole day of sessions.
+ * </p>
+ * <p>
+ * The event log does not record question text. If a question board is
+ * supplied, each turn's text is looked up by category and value; otherwise
+ * the question line of the report is left empty.
+ * </p>
+ */
+public class BatchReportRegenerator {
+
+    /** Activity that marks the last row App writes for a session. */
+    static final String SESSION_END = "Generate Event Log";
+
+    /** Outcome of a batch run. */
+    public static final class Result {
+        private final int sessions;
+        private final long events;
+        private final long skippedRows;
+        private final List<String> failures;
+        private final long wallNanos;
+
+        Result(int sessions, long events, long skippedRows, List<String> failures, long wallNanos) {
+            this.sessions = sessions;
+            this.events = events;
+            this.skippedRows = skippedRows;
+            this.failures = failures;
+            this.wallNanos = wallNanos;
+        }
+
+        /** @return number of sessions whose reports were written */
+        public int getSessions() { return sessions; }
+        /** @return number of event rows read */
+        public long getEvents() { return events; }
+        /** @return number of malformed rows skipped */
+        public long getSkippedRows() { return skippedRows; }
+        /** @return one message per session whose report could not be written */
+        public List<String> getFailures() { return failures; }
+        /** @return elapsed time of the whole run */
+        public long getWallNanos() { return wallNanos; }
+    }
+
+    private final Path outputDir;
+    private final QuestionBoard questions;
+    private final int parallelism;
+
+    /**
+     * Creates a regenerator using one worker per processor.
+     *
+     * @param outputDir root of the sharded output directory
+     * @param questions board used to look up question text, or {@code null}
+     */
+    public BatchReportRegenerator(Path outputDir, QuestionBoard questions) {
+        this(outputDir, questions, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a regenerator with an explicit pool size.
+     *
+     * @param outputDir   root of the sharded output directory
+     * @param questions   board used to look up question text, or {@code null}
+     * @param parallelism number of worker threads
+     */
+    public BatchReportRegenerator(Path outputDir, QuestionBoard questions, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+        }
+        this.outputDir = outputDir;
+        this.questions = questions;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Reads the given logs in order and writes a report for every session.
+     * <p>
+     * Logs may be gzip or zstd compressed. A session that fails to render is
+     * recorded in {@link Result#getFailures()} and does not stop the batch.
+     * </p>
+     *
+     * @param logs the archived event logs
+     * @return counts and failures for the run
+     * @throws IOException if a log cannot be read or the output directory
+     *                     cannot be created
+     */
+    public Result regenerate(List<Path> logs) throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(outputDir);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        AtomicInteger written = new AtomicInteger();
+        ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+        Map<String, List<GameEvent>> open = new LinkedHashMap<>();
+        long events = 0;
+        long skipped = 0;
+
+        try {
+            for (Path log : logs) {
+                try (EventLogReader reader = new EventLogReader(
+                        FileParserFactory.open(Files.newInputStream(log)))) {
+                    GameEvent e;
+                    while ((e = reader.next()) != null) {
+                        events++;
+                        open.computeIfAbsent(e.getCaseId(), k -> new ArrayList<>()).add(e);
+                        if (SESSION_END.equals(e.getActivity())) {
+                            submit(pool, inFlight, open.remove(e.getCaseId()), written, failures);
+                        }
+                    }
+                    skipped += reader.getSkippedRows();
+                }
+            }
+            for (List<GameEvent> session : open.values()) {
+                submit(pool, inFlight, session, written, failures);
+            }
+            open.clear();
+
+            pool.shutdown();
+            if (!pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+                throw new IOException("Report workers did not finish");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while regenerating reports", ex);
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Result(written.get(), events, skipped, List.copyOf(failures),
+                System.nanoTime() - start);
+    }
+
+    private void submit(ForkJoinPool pool, Semaphore inFlight, List<GameEvent> session,
+                        AtomicInteger written, ConcurrentLinkedQueue<String> failures)
+            throws InterruptedException {
+        inFlight.acquire();
+        pool.execute(() -> {
+            String caseId = session.get(0).getCaseId();
+            try {
+                write(caseId, session);
+                written.incrementAndGet();
+            } catch (IOException | RuntimeException ex) {
+                failures.add(caseId + ": " + ex.getMessage());
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    /**
+     * Rebuilds one session and writes its reports.
+     */
+    private void write(String caseId, List<GameEvent> session) throws IOException {
+        Map<String, Player> players = new LinkedHashMap<>();
+        List<Turn> turns = new ArrayList<>();
+        Map<String, Question> unknown = new HashMap<>();
+
+        for (GameEvent e : session) {
+            String name = e.getPlayerName();
+            if ("Enter Player Name".equals(e.getActivity())) {
+                players.computeIfAbsent(name, n -> new Player(players.size() + 1, n));
+            } else if ("Answer Question".equals(e.getActivity()) && e.getQuestionValue() != null) {
+                Player p = players.computeIfAbsent(name, n -> new Player(players.size() + 1, n));
+                int value = e.getQuestionValue();
+                boolean correct = "Correct".equals(e.getResult());
+                int after = e.getScoreAfter() == null ? p.getScore() : e.getScoreAfter();
+                p.addToScore(after - p.getScore());
+                turns.add(new Turn(p, lookup(e.getCategory(), value, unknown),
+                        e.getAnswerGiven(), correct, correct ? value : -value, after));
+            } else if ("Turn Timeout".equals(e.getActivity())) {
+                Player p = players.computeIfAbsent(name, n -> new Player(players.size() + 1, n));
+                Question q = e.getQuestionValue() == null ? null
+                        : lookup(e.getCategory(), e.getQuestionValue(), unknown);
+                turns.add(Turn.forfeited(p, q, p.getScore()));
+            }
+        }
+
+        Path dir = outputDir.resolve(shard(caseId));
+        Files.createDirectories(dir);
+        String base = fileName(caseId);
+        new ReportPipeline()
+                .add(new TxtReportSink(ReportPipeline.writer(dir.resolve(base + ".txt").toFile())))
+                .add(new JsonReportSink(ReportPipeline.stream(dir.resolve(base + ".json").toFile())))
+                .run(caseId, new ArrayList<>(players.values()), turns);
+    }
+
+    private Question lookup(String category, int value, Map<String, Question> unknown) {
+        Question q = questions == null ? null : questions.getQuestion(category, value);
+        if (q != null) {
+            return q;
+        }
+        return unknown.computeIfAbsent(category + '\0' + value,
+                k -> new Question(category, value, "", "", "", "", "", ""));
+    }
+
+    /**
+     * Returns the shard directory name for a case ID.
+     *
+     * @param caseId the session identifier
+     * @return two lower-case hex digits
+     */
+    static String shard(String caseId) {
+        int h = caseId.hashCode();
+        h ^= h >>> 16;
+        return String.format(Locale.ROOT, "%02x", h & 0xff);
+    }
+
+    /** Replaces characters that are unsafe in file names. */
+    static String fileName(String caseId) {
+        String name = caseId.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.isEmpty() || name.startsWith(".") ? "_" + name : name;
+    }
+
+    /**
+     * Command-line entry point.
+     * <p>
+     * Usage: {@code BatchReportRegenerator [--questions <file>] <output-dir> <log>...}
+     * </p>
+     *
+     * @param args command-line arguments
+     */
+    public static void main(String[] args) {
+        int i = 0;
+        QuestionBoard board = null;
+        try {
+            if (args.length > 1 && args[0].equals("--questions")) {
+                board = FileParserFactory.load(new File(args[1]));
+                i = 2;
+            }
+            if (args.length - i < 2) {
+                System.out.println("Usage: BatchReportRegenerator [--questions <file>] <output-dir> <log>...");
+                return;
+            }
+            List<Path> logs = new ArrayList<>();
+            for (int j = i + 1; j < args.length; j++) {
+                logs.add(Path.of(args[j]));
+            }
+            Result r = new BatchReportRegenerator(Path.of(args[i]), board).regenerate(logs);
+            System.out.printf(Locale.ROOT, "%d session(s), %d event(s), %d skipped row(s), %d failure(s) in %.1f ms%n",
+                    r.getSessions(), r.getEvents(), r.getSkippedRows(), r.getFailures().size(),
+                    r.getWallNanos() / 1e6);
+            for (String f : r.getFailures()) {
+                System.out.println("  " + f);
+            }
+        } catch (IOException ex) {
+            System.out.println("An error occurred: " + ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package uwi.comp3607.jeopardy.report;
+
+import uwi.comp3607.jeopardy.game.Turn;
+import uwi.comp3607.jeopardy.model.Player;
+import uwi.comp3607.jeopardy.model.Question;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes a self-contained HTML summary of the game.
+ * <p>
+ * The page has inline styles and no external resources, so it can be opened
+ * directly from disk. Turns are written as table rows as they arrive, and all
+ * text is escaped character by character into the writer.
+ * </p>
+ */
+public class HtmlReportSink implements ReportSink {
+
+    private final Writer out;
+
+    /**
+     * Creates a sink writing to the given writer, which is closed with the sink.
+     *
+     * @param out the destination, ideally buffered
+     */
+    public HtmlReportSink(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin(String caseId, List<Player> players) throws IOException {
+        out.write("<!DOCTYPE html>\n<html lang=\"en\">\n<head>\n<meta charset=\"UTF-8\">\n<title>Jeopardy Game Report ");
+        escape(caseId);
+        out.write("</title>\n<style>\n"
+                + "body{font-family:sans-serif;margin:2em;color:#222}\n"
+                + "table{border-collapse:collapse;margin-bottom:1.5em}\n"
+                + "th,td{border:1px solid #ccc;padding:4px 8px;text-align:left}\n"
+                + "th{background:#eee}\n"
+                + ".correct{color:#070}.incorrect{color:#a00}\n"
+                + "</style>\n</head>\n<body>\n<h1>Jeopardy Programming Game Report</h1>\n<p>Case ID: ");
+        escape(caseId);
+        out.write("</p>\n<p>Players: ");
+        for (int i = 0; i < players.size(); i++) {
+            escape(players.get(i).getName());
+            if (i < players.size() - 1) out.write(", ");
+        }
+        out.write("</p>\n<h2>Gameplay Summary</h2>\n<table>\n"
+                + "<tr><th>Turn</th><th>Player</th><th>Category</th><th>Value</th>"
+                + "<th>Question</th><th>Answer</th><th>Result</th><th>Points</th><th>Score</th></tr>\n");
+    }
+
+    @Override
+    public void turn(int number, Turn t) throws IOException {
+        out.write("<tr><td>");
+        ReportPipeline.writeInt(out, number);
+        out.write("</td><td>");
+        escape(t.getPlayer().getName());
+        out.write("</td><td>");
+        Question q = t.getQuestion();
+        if (q != null) {
+            escape(q.getCategory());
+            out.write("</td><td>");
+            ReportPipeline.writeInt(out, q.getValue());
+            out.write("</td><td>");
+            escape(q.getQuestionText());
+        } else {
+            out.write("</td><td></td><td>");
+        }
+        out.write("</td><td>");
+        escape(t.getGivenAnswer());
+        if (t.isForfeited()) {
+            out.write("</td><td class=\"incorrect\">Time expired</td><td>");
+        } else {
+            out.write(t.isCorrect()
+                    ? "</td><td class=\"correct\">Correct</td><td>"
+                    : "</td><td class=\"incorrect\">Incorrect</td><td>");
+        }
+        ReportPipeline.writeInt(out, t.getPointsEarned());
+        out.write("</td><td>");
+        ReportPipeline.writeInt(out, t.getScoreAfter());
+        out.write("</td></tr>\n");
+    }
+
+    @Override
+    public void finish(List<Player> players) throws IOException {
+        out.write("</table>\n<h2>Final Scores</h2>\n<table>\n<tr><th>Player</th><th>Score</th></tr>\n");
+        for (Player p : players) {
+            out.write("<tr><td>");
+            escape(p.getName());
+            out.write("</td><td>");
+            ReportPipeline.writeInt(out, p.getScore());
+            out.write("</td></tr>\n");
+        }
+        out.write("</table>\n</body>\n</html>\n");
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void escape(String s) throws IOException {
+        if (s == null) {
+            return;
+        }
+        int start = 0;
+        for (int i = 0; i < s.length(); i++) {
+            String entity;
+            switch (s.charAt(i)) {
+                case '&': entity = "&amp;"; break;
+                case '<': entity = "&lt;"; break;
+                case '>': entity = "&gt;"; break;
+                case '"': entity = "&quot;"; break;
+                case '\'': entity = "&#39;"; break;
+                default: continue;
+            }
+            out.write(s, start, i - start);
+            out.write(entity);
+            start = i + 1;
+        }
+        out.write(s, start, s.length() - start);
+    }
+}
@@ -0,0 +1,94 @@
+package uwi.comp3607.jeopardy.report;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import uwi.comp3607.jeopardy.game.Turn;
+import uwi.comp3607.jeopardy.io.Mappers;
+import uwi.comp3607.jeopardy.model.Player;
+import uwi.comp3607.jeopardy.model.Question;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes the game report as a JSON document using Jackson's streaming
+ * {@link JsonGenerator}.
+ * <p>
+ * The document has the shape
+ * {@code {"caseId", "players": [...], "turns": [...], "finalScores": [...]}}.
+ * Turns are written as they arrive, so no tree is built in memory.
+ * </p>
+ */
+public class JsonReportSink implements ReportSink {
+
+    private final JsonGenerator gen;
+
+    /**
+     * Creates a sink writing UTF-8 JSON to the given stream, which is closed
+     * with the sink.
+     *
+     * @param out the destination, ideally buffered
+     * @throws IOException if the generator cannot be created
+     */
+    public JsonReportSink(OutputStream out) throws IOException {
+        this.gen = Mappers.jsonFactory().createGenerator(out, JsonEncoding.UTF8);
+    }
+
+    @Override
+    public void begin(String caseId, List<Player> players) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("caseId", caseId);
+        gen.writeArrayFieldStart("players");
+        for (Player p : players) {
+            gen.writeStartObject();
+            gen.writeNumberField("id", p.getId());
+            gen.writeStringField("name", p.getName());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("turns");
+    }
+
+    @Override
+    public void turn(int number, Turn t) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("turn", number);
+        gen.writeStringField("player", t.getPlayer().getName());
+        Question q = t.getQuestion();
+        if (q != null) {
+            gen.writeStringField("category", q.getCategory());
+            gen.writeNumberField("value", q.getValue());
+            gen.writeStringField("question", q.getQuestionText());
+        } else {
+            gen.writeNullField("category");
+            gen.writeNullField("value");
+            gen.writeNullField("question");
+        }
+        gen.writeStringField("answer", t.getGivenAnswer());
+        gen.writeBooleanField("correct", t.isCorrect());
+        gen.writeBooleanField("forfeited", t.isForfeited());
+        gen.writeNumberField("points", t.getPointsEarned());
+        gen.writeNumberField("scoreAfter", t.getScoreAfter());
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void finish(List<Player> players) throws IOException {
+        gen.writeEndArray();
+        gen.writeArrayFieldStart("finalScores");
+        for (Player p : players) {
+            gen.writeStartObject();
+            gen.writeStringField("name", p.getName());
+            gen.writeNumberField("score", p.getScore());
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        gen.close();
+    }
+}
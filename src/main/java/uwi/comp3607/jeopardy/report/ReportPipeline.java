@@ -0,0 +1,139 @@
+package uwi.comp3607.jeopardy.report;
+
+import uwi.comp3607.jeopardy.game.Turn;
+import uwi.comp3607.jeopardy.model.Player;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a game report in several formats with a single pass over the
+ * turn history.
+ * <p>
+ * Every turn is handed to all registered {@link ReportSink}s before moving on
+ * to the next one, so long games are read once regardless of how many formats
+ * are produced. The {@link #writer(File)} and {@link #stream(File)} helpers
+ * open files behind 64 KiB buffers, so sinks can write small fragments without
+ * each one reaching the file system.
+ * </p>
+ */
+public class ReportPipeline {
+
+    /** Buffer size used for report files. */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    private final List<ReportSink> sinks = new ArrayList<>();
+
+    /**
+     * Adds a sink that receives the report.
+     *
+     * @param sink the sink to add
+     * @return this pipeline
+     */
+    public ReportPipeline add(ReportSink sink) {
+        sinks.add(sink);
+        return this;
+    }
+
+    /**
+     * Writes the report to every sink and closes them.
+     * <p>
+     * All sinks are closed even if one of them fails; the first failure is
+     * rethrown with any later ones attached as suppressed exceptions.
+     * </p>
+     *
+     * @param caseId  the game session identifier
+     * @param players the players who participated in the game
+     * @param turns   the chronological list of turns played
+     * @throws IOException if any report cannot be written
+     */
+    public void run(String caseId, List<Player> players, List<Turn> turns) throws IOException {
+        IOException failure = null;
+        try {
+            for (ReportSink sink : sinks) {
+                sink.begin(caseId, players);
+            }
+            int turnNo = 1;
+            for (Turn t : turns) {
+                for (ReportSink sink : sinks) {
+                    sink.turn(turnNo, t);
+                }
+                turnNo++;
+            }
+            for (ReportSink sink : sinks) {
+                sink.finish(players);
+            }
+        } catch (IOException ex) {
+            failure = ex;
+        }
+
+        for (ReportSink sink : sinks) {
+            try {
+                sink.close();
+            } catch (IOException ex) {
+                if (failure == null) {
+                    failure = ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        sinks.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Opens a buffered UTF-8 writer for a report file.
+     *
+     * @param file the file to write
+     * @return the writer
+     * @throws IOException if the file cannot be opened
+     */
+    public static Writer writer(File file) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Opens a buffered output stream for a report file.
+     *
+     * @param file the file to write
+     * @return the stream
+     * @throws IOException if the file cannot be opened
+     */
+    public static OutputStream stream(File file) throws IOException {
+        return new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+    }
+
+    /**
+     * Writes a decimal integer to a writer without allocating a string.
+     *
+     * @param out   the destination
+     * @param value the value to write
+     * @throws IOException if the writer fails
+     */
+    static void writeInt(Writer out, int value) throws IOException {
+        if (value < 0) {
+            out.write('-');
+        }
+        long v = Math.abs((long) value);
+        long div = 1;
+        while (div * 10 <= v) {
+            div *= 10;
+        }
+        for (; div > 0; div /= 10) {
+            out.write((char) ('0' + (v / div) % 10));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package uwi.comp3607.jeopardy.report;
+
+import uwi.comp3607.jeopardy.game.Turn;
+import uwi.comp3607.jeopardy.model.Player;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * A single output format for a game report.
+ * <p>
+ * A {@link ReportPipeline} walks the turn history once and hands every turn to
+ * each registered sink in order, so a sink must write each part of the report
+ * as it is received rather than collecting the whole game first.
+ * </p>
+ */
+public interface ReportSink extends Closeable {
+
+    /**
+     * Writes the report header.
+     *
+     * @param caseId  the game session identifier
+     * @param players the players who participated in the game
+     * @throws IOException if the report cannot be written
+     */
+    void begin(String caseId, List<Player> players) throws IOException;
+
+    /**
+     * Writes one turn of the gameplay summary.
+     *
+     * @param number the 1-based turn number
+     * @param turn   the turn that was played
+     * @throws IOException if the report cannot be written
+     */
+    void turn(int number, Turn turn) throws IOException;
+
+    /**
+     * Writes the final scores and any closing markup.
+     *
+     * @param players the players who participated in the game
+     * @throws IOException if the report cannot be written
+     */
+    void finish(List<Player> players) throws IOException;
+}
@@ -3,8 +3,8 @@ package uwi.comp3607.jeopardy.report;
 import uwi.comp3607.jeopardy.game.Turn;
 import uwi.comp3607.jeopardy.model.Player;
 
-import java.io.*;
-import java.nio.charset.StandardCharsets;
+import java.io.File;
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -17,6 +17,10 @@ import java.util.List;
  * </ul>
  * The output format is similar to the sample game report provided in the
  * project handout.
+ * <p>
+ * The layout itself is written by {@link TxtReportSink}; use a
+ * {@link ReportPipeline} directly to produce other formats in the same pass.
+ * </p>
  */
 public class TxtReportGenerator {
 
@@ -34,47 +38,8 @@ public class TxtReportGenerator {
                          List<Player> players,
                          List<Turn> turns) throws IOException {
 
-        try (PrintWriter out = new PrintWriter(
-                new OutputStreamWriter(
-                        new FileOutputStream(file), StandardCharsets.UTF_8))) {
-
-            out.println("JEOPARDY PROGRAMMING GAME REPORT");
-            out.println("================================");
-            out.println();
-            out.println("Case ID: " + caseId);
-            out.println();
-            out.print("Players: ");
-            for (int i = 0; i < players.size(); i++) {
-                out.print(players.get(i).getName());
-                if (i < players.size() - 1) out.print(", ");
-            }
-            out.println();
-            out.println();
-            out.println("Gameplay Summary:");
-            out.println("-----------------");
-
-            int turnNo = 1;
-            for (Turn t : turns) {
-                out.printf("Turn %d: %s selected %s for %d pts%n",
-                        turnNo++,
-                        t.getPlayer().getName(),
-                        t.getQuestion().getCategory(),
-                        t.getQuestion().getValue());
-                out.println("Question: " + t.getQuestion().getQuestionText());
-                out.printf("Answer: %s — %s (%+d pts)%n",
-                        t.getGivenAnswer(),
-                        t.isCorrect() ? "Correct" : "Incorrect",
-                        t.getPointsEarned());
-                out.printf("Score after turn: %s = %d%n",
-                        t.getPlayer().getName(),
-                        t.getScoreAfter());
-                out.println();
-            }
-
-            out.println("Final Scores:");
-            for (Player p : players) {
-                out.printf("%s: %d%n", p.getName(), p.getScore());
-            }
-        }
+        new ReportPipeline()
+                .add(new TxtReportSink(ReportPipeline.writer(file)))
+                .run(caseId, players, turns);
     }
 }
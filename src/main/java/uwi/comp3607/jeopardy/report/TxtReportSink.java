@@ -0,0 +1,131 @@
+package uwi.comp3607.jeopardy.report;
+
+import uwi.comp3607.jeopardy.game.Turn;
+import uwi.comp3607.jeopardy.model.Player;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the plain-text report layout from the project handout.
+ * <p>
+ * Lines are written piece by piece to the underlying writer instead of being
+ * formatted into a string first.
+ * </p>
+ */
+public class TxtReportSink implements ReportSink {
+
+    private static final String NL = System.lineSeparator();
+
+    private final Writer out;
+
+    /**
+     * Creates a sink writing to the given writer, which is closed with the sink.
+     *
+     * @param out the destination, ideally buffered
+     */
+    public TxtReportSink(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin(String caseId, List<Player> players) throws IOException {
+        out.write("JEOPARDY PROGRAMMING GAME REPORT");
+        out.write(NL);
+        out.write("================================");
+        out.write(NL);
+        out.write(NL);
+        out.write("Case ID: ");
+        out.write(caseId);
+        out.write(NL);
+        out.write(NL);
+        out.write("Players: ");
+        for (int i = 0; i < players.size(); i++) {
+            out.write(players.get(i).getName());
+            if (i < players.size() - 1) out.write(", ");
+        }
+        out.write(NL);
+        out.write(NL);
+        out.write("Gameplay Summary:");
+        out.write(NL);
+        out.write("-----------------");
+        out.write(NL);
+    }
+
+    @Override
+    public void turn(int number, Turn t) throws IOException {
+        if (t.isForfeited()) {
+            forfeited(number, t);
+            return;
+        }
+        out.write("Turn ");
+        ReportPipeline.writeInt(out, number);
+        out.write(": ");
+        out.write(t.getPlayer().getName());
+        out.write(" selected ");
+        out.write(t.getQuestion().getCategory());
+        out.write(" for ");
+        ReportPipeline.writeInt(out, t.getQuestion().getValue());
+        out.write(" pts");
+        out.write(NL);
+
+        out.write("Question: ");
+        out.write(String.valueOf(t.getQuestion().getQuestionText()));
+        out.write(NL);
+
+        out.write("Answer: ");
+        out.write(String.valueOf(t.getGivenAnswer()));
+        out.write(t.isCorrect() ? " — Correct (" : " — Incorrect (");
+        if (t.getPointsEarned() >= 0) out.write('+');
+        ReportPipeline.writeInt(out, t.getPointsEarned());
+        out.write(" pts)");
+        out.write(NL);
+
+        out.write("Score after turn: ");
+        out.write(t.getPlayer().getName());
+        out.write(" = ");
+        ReportPipeline.writeInt(out, t.getScoreAfter());
+        out.write(NL);
+        out.write(NL);
+    }
+
+    private void forfeited(int number, Turn t) throws IOException {
+        out.write("Turn ");
+        ReportPipeline.writeInt(out, number);
+        out.write(": ");
+        out.write(t.getPlayer().getName());
+        out.write(" ran out of time");
+        if (t.getQuestion() != null) {
+            out.write(" on ");
+            out.write(t.getQuestion().getCategory());
+            out.write(" for ");
+            ReportPipeline.writeInt(out, t.getQuestion().getValue());
+            out.write(" pts");
+        }
+        out.write(NL);
+        out.write("Score after turn: ");
+        out.write(t.getPlayer().getName());
+        out.write(" = ");
+        ReportPipeline.writeInt(out, t.getScoreAfter());
+        out.write(NL);
+        out.write(NL);
+    }
+
+    @Override
+    public void finish(List<Player> players) throws IOException {
+        out.write("Final Scores:");
+        out.write(NL);
+        for (Player p : players) {
+            out.write(p.getName());
+            out.write(": ");
+            ReportPipeline.writeInt(out, p.getScore());
+            out.write(NL);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,143 @@
+package uwi.comp3607.jeopardy.validation;
+
+import uwi.comp3607.jeopardy.io.QuestionRecord;
+import uwi.comp3607.jeopardy.model.AnswerKey;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Checks parsed question records before they are turned into a board.
+ * <p>
+ * Unlike {@link uwi.comp3607.jeopardy.io.FileParser#parse(java.io.File)},
+ * validation never stops at the first problem: every record is checked and
+ * every issue is collected into a {@link ValidationReport}. The checks are:
+ * </p>
+ * <ul>
+ *   <li>CSV rows have all 8 columns.</li>
+ *   <li>Category, question text and all four options are present.</li>
+ *   <li>The value is a positive whole number.</li>
+ *   <li>The correct answer is A, B, C or D (case-insensitive).</li>
+ *   <li>No two records share the same category and value.</li>
+ * </ul>
+ * <p>
+ * Records are checked in parallel. Issues are stored as one bit mask per
+ * record, and duplicates are found through a concurrent hash index that
+ * keeps the earliest record for each (category, value) key, so the result
+ * does not depend on thread scheduling.
+ * </p>
+ */
+public class QuestionBankValidator {
+
+    /** Marker returned by {@link #parseValue(String)} for invalid values. */
+    private static final int INVALID = -1;
+
+    /**
+     * Validates all records and returns a report of every issue found.
+     *
+     * @param records the records to check, in file order
+     * @return the validation report
+     */
+    public ValidationReport validate(List<QuestionRecord> records) {
+        int n = records.size();
+        int[] issues = new int[n];
+        int[] values = new int[n];
+        int[] duplicateOf = new int[n];
+        Map<Key, Integer> firstByKey = new ConcurrentHashMap<>(Math.max(16, n * 4 / 3));
+
+        IntStream.range(0, n).parallel().forEach(i -> {
+            QuestionRecord r = records.get(i);
+            int mask = checkFields(r);
+            int value = parseValue(r.getValue());
+            values[i] = value;
+            if (value == INVALID) {
+                mask |= ValidationIssue.INVALID_VALUE.mask();
+            } else if (!isBlank(r.getCategory())) {
+                firstByKey.merge(new Key(r.getCategory(), value), i, Math::min);
+            }
+            issues[i] = mask;
+        });
+
+        IntStream.range(0, n).parallel().forEach(i -> {
+            duplicateOf[i] = -1;
+            QuestionRecord r = records.get(i);
+            if (values[i] == INVALID || isBlank(r.getCategory())) return;
+            int first = firstByKey.get(new Key(r.getCategory(), values[i]));
+            if (first != i) {
+                duplicateOf[i] = first;
+                issues[i] |= ValidationIssue.DUPLICATE.mask();
+            }
+        });
+
+        return new ValidationReport(records, issues, duplicateOf);
+    }
+
+    /**
+     * Runs the per-record checks that do not depend on other records.
+     *
+     * @param r the record to check
+     * @return bit mask of {@link ValidationIssue}s found
+     */
+    private int checkFields(QuestionRecord r) {
+        int mask = 0;
+        if (!r.hasAllColumns()) {
+            mask |= ValidationIssue.MISSING_COLUMNS.mask();
+        }
+        if (isBlank(r.getCategory()) || isBlank(r.getQuestionText())
+                || isBlank(r.getOptionA()) || isBlank(r.getOptionB())
+                || isBlank(r.getOptionC()) || isBlank(r.getOptionD())) {
+            mask |= ValidationIssue.MISSING_FIELD.mask();
+        }
+        if (AnswerKey.encode(r.getCorrectAnswer()) == AnswerKey.INVALID) {
+            mask |= ValidationIssue.INVALID_ANSWER.mask();
+        }
+        return mask;
+    }
+
+    /**
+     * Parses a positive whole number without throwing, so bad values cost
+     * no exception.
+     *
+     * @param s the value text (may be {@code null})
+     * @return the parsed value, or {@link #INVALID}
+     */
+    static int parseValue(String s) {
+        if (s == null || s.isEmpty() || s.length() > 9) return INVALID;
+        int v = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return INVALID;
+            v = v * 10 + (c - '0');
+        }
+        return v > 0 ? v : INVALID;
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+
+    /** Hash key for the duplicate index: (category, value). */
+    private static final class Key {
+        private final String category;
+        private final int value;
+        private final int hash;
+
+        Key(String category, int value) {
+            this.category = category;
+            this.value = value;
+            this.hash = 31 * category.hashCode() + value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return value == k.value && category.equals(k.category);
+        }
+
+        @Override
+        public int hashCode() { return hash; }
+    }
+}
@@ -0,0 +1,34 @@
+package uwi.comp3607.jeopardy.validation;
+
+/**
+ * Kinds of problems the {@link QuestionBankValidator} can find in a record.
+ * <p>
+ * Each issue occupies one bit so a record's problems can be stored as a
+ * single {@code int} mask rather than a list of error objects.
+ * </p>
+ */
+public enum ValidationIssue {
+    /** A CSV row has fewer than the 8 required columns. */
+    MISSING_COLUMNS("row has fewer than 8 columns"),
+    /** Category, question text or an option is absent or blank. */
+    MISSING_FIELD("a required field is empty"),
+    /** The value is not a positive whole number. */
+    INVALID_VALUE("value is not a positive whole number"),
+    /** The correct answer is not one of A, B, C or D. */
+    INVALID_ANSWER("correct answer is not A, B, C or D"),
+    /** Another record already uses the same category and value. */
+    DUPLICATE("duplicate category and value");
+
+    /** Short description used in reports. */
+    private final String description;
+
+    ValidationIssue(String description) {
+        this.description = description;
+    }
+
+    /** @return short description used in reports */
+    public String getDescription() { return description; }
+
+    /** @return the bit representing this issue in a record's issue mask */
+    int mask() { return 1 << ordinal(); }
+}
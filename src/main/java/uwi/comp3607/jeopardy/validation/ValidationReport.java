@@ -0,0 +1,123 @@
+package uwi.comp3607.jeopardy.validation;
+
+import uwi.comp3607.jeopardy.io.QuestionRecord;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Result of validating a list of {@link QuestionRecord}s.
+ * <p>
+ * Issues are held as one bit mask per record plus, for duplicates, the index
+ * of the earlier record. Error messages are only produced when the report is
+ * written, directly into the target {@link Appendable}, so a bank with many
+ * errors does not create one object per error.
+ * </p>
+ */
+public class ValidationReport {
+    /** The validated records, in file order. */
+    private final List<QuestionRecord> records;
+    /** Bit mask of {@link ValidationIssue}s for each record. */
+    private final int[] issues;
+    /** Index of the first record with the same key, or -1. */
+    private final int[] duplicateOf;
+    /** Total number of individual issues across all records. */
+    private final int errorCount;
+
+    ValidationReport(List<QuestionRecord> records, int[] issues, int[] duplicateOf) {
+        this.records = records;
+        this.issues = issues;
+        this.duplicateOf = duplicateOf;
+        int count = 0;
+        for (int mask : issues) {
+            count += Integer.bitCount(mask);
+        }
+        this.errorCount = count;
+    }
+
+    /** @return {@code true} if no issues were found */
+    public boolean isValid() { return errorCount == 0; }
+
+    /** @return the number of records that were checked */
+    public int getRecordCount() { return records.size(); }
+
+    /** @return the total number of issues found */
+    public int getErrorCount() { return errorCount; }
+
+    /**
+     * Counts the records that have the given issue.
+     *
+     * @param issue the issue to count
+     * @return number of records with that issue
+     */
+    public int countOf(ValidationIssue issue) {
+        int count = 0;
+        for (int mask : issues) {
+            if ((mask & issue.mask()) != 0) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether a record has the given issue.
+     *
+     * @param recordIndex 0-based index into the validated records
+     * @param issue       the issue to test for
+     * @return {@code true} if the record has the issue
+     */
+    public boolean hasIssue(int recordIndex, ValidationIssue issue) {
+        return (issues[recordIndex] & issue.mask()) != 0;
+    }
+
+    /**
+     * Writes one line per issue, followed by a summary line.
+     * <p>
+     * Example line: {@code bank.csv:12 (record 11): value is not a positive
+     * whole number [Value=abc]}
+     * </p>
+     *
+     * @param out the target to write to
+     * @throws IOException if writing fails
+     */
+    public void writeTo(Appendable out) throws IOException {
+        ValidationIssue[] all = ValidationIssue.values();
+        for (int i = 0; i < issues.length; i++) {
+            int mask = issues[i];
+            if (mask == 0) continue;
+            QuestionRecord r = records.get(i);
+            for (ValidationIssue issue : all) {
+                if ((mask & issue.mask()) == 0) continue;
+                r.appendLocation(out).append(": ").append(issue.getDescription());
+                appendDetail(out, issue, r, i);
+                out.append(System.lineSeparator());
+            }
+        }
+        out.append(Integer.toString(errorCount)).append(" issue(s) in ")
+           .append(Integer.toString(records.size())).append(" record(s)")
+           .append(System.lineSeparator());
+    }
+
+    /**
+     * Appends the offending field value for issues where it helps.
+     */
+    private void appendDetail(Appendable out, ValidationIssue issue,
+                              QuestionRecord r, int index) throws IOException {
+        switch (issue) {
+            case MISSING_COLUMNS:
+                out.append(" [found ").append(Integer.toString(r.getFieldCount())).append(']');
+                break;
+            case INVALID_VALUE:
+                out.append(" [Value=").append(String.valueOf(r.getValue())).append(']');
+                break;
+            case INVALID_ANSWER:
+                out.append(" [CorrectAnswer=").append(String.valueOf(r.getCorrectAnswer())).append(']');
+                break;
+            case DUPLICATE:
+                out.append(" [first seen at ");
+                records.get(duplicateOf[index]).appendLocation(out).append(']');
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package uwi.comp3607.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uwi.comp3607.jeopardy.analytics.BloomFilter;
+import uwi.comp3607.jeopardy.analytics.CountMinSketch;
+import uwi.comp3607.jeopardy.analytics.QuestionDifficultyTracker;
+import uwi.comp3607.jeopardy.analytics.SeenQuestions;
+import uwi.comp3607.jeopardy.logging.GameEvent;
+import uwi.comp3607.jeopardy.model.Question;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnalyticsTests {
+
+    @Test
+    public void testSketchNeverUnderestimatesAndMerges() {
+        CountMinSketch a = new CountMinSketch(4, 256);
+        CountMinSketch b = new CountMinSketch(4, 256);
+        for (int i = 0; i < 2000; i++) {
+            a.add(CountMinSketch.hash("key" + (i % 500)), 1);
+            b.add(CountMinSketch.hash("key" + (i % 500)), 2);
+        }
+        for (int k = 0; k < 500; k++) {
+            assertTrue(a.estimate(CountMinSketch.hash("key" + k)) >= 4);
+        }
+        a.merge(b);
+        assertTrue(a.estimate(CountMinSketch.hash("key7")) >= 12);
+        assertThrows(IllegalArgumentException.class, () -> a.merge(new CountMinSketch(3, 256)));
+    }
+
+    @Test
+    public void testTrackerRatesHeavyHittersAndPersistence(@TempDir Path dir) throws Exception {
+        QuestionDifficultyTracker tracker = new QuestionDifficultyTracker(4, 1024, 8, 10);
+        String hard = "Science\u001f500\u001fWhat is a quark?";
+        for (int i = 0; i < 40; i++) {
+            tracker.onEvent(new GameEvent("G1", "Ann", "Answer Question", Instant.now(), "Science", 500,
+                    "A", i % 4 == 0 ? "Correct" : "Incorrect", 0, "What is a quark?"));
+        }
+        tracker.onEvent(new GameEvent("G1", "Ann", "Score Updated", Instant.now(), "Science", 500,
+                "", "", 0, "What is a quark?"));
+        tracker.record(QuestionDifficultyTracker.key("Maths", 100, "2+2?"), true);
+
+        QuestionDifficultyTracker.Difficulty d = tracker.query(
+                QuestionDifficultyTracker.key("Science", 500, "What is a quark?"));
+        assertEquals(hard, d.getKey());
+        assertTrue(d.isExact());
+        assertEquals(10, d.getCorrect());
+        assertEquals(30, d.getIncorrect());
+        assertEquals(0.25, d.getCorrectRate(), 1e-9);
+        assertEquals(1, tracker.query(QuestionDifficultyTracker.key("Maths", 100, "2+2?")).getAttempts());
+
+        List<QuestionDifficultyTracker.Difficulty> top = tracker.heavyHitters(5);
+        assertEquals(1, top.size());
+        assertEquals(hard, top.get(0).getKey());
+
+        Path file = dir.resolve("difficulty.bin");
+        tracker.writeTo(file);
+        QuestionDifficultyTracker loaded = QuestionDifficultyTracker.readFrom(file);
+        loaded.merge(tracker);
+        assertEquals(80, loaded.query(hard).getAttempts());
+        assertEquals(2, loaded.query(QuestionDifficultyTracker.key("Maths", 100, "2+2?")).getCorrect());
+    }
+
+    @Test
+    public void testTrackerMergeCountsEachAnswerOnce() {
+        String x = QuestionDifficultyTracker.key("Science", 100, "X?");
+        String y = QuestionDifficultyTracker.key("Science", 200, "Y?");
+
+        // Promoted after 10 answers, then 5 more counted exactly.
+        QuestionDifficultyTracker source = new QuestionDifficultyTracker(4, 1024, 8, 10);
+        for (int i = 0; i < 15; i++) {
+            source.record(x, i % 3 != 0);
+        }
+        assertTrue(source.query(x).isExact());
+
+        // Room in the table: the new entry keeps this tracker's 3 answers.
+        QuestionDifficultyTracker roomy = new QuestionDifficultyTracker(4, 1024, 8, 10);
+        for (int i = 0; i < 3; i++) {
+            roomy.record(x, false);
+        }
+        roomy.merge(source);
+        QuestionDifficultyTracker.Difficulty d = roomy.query(x);
+        assertTrue(d.isExact());
+        assertEquals(10, d.getCorrect());
+        assertEquals(8, d.getIncorrect());
+
+        // Table full: only the answers counted after promotion are folded in.
+        QuestionDifficultyTracker full = new QuestionDifficultyTracker(4, 1024, 1, 10);
+        for (int i = 0; i < 10; i++) {
+            full.record(y, true);
+        }
+        for (int i = 0; i < 3; i++) {
+            full.record(x, false);
+        }
+        full.merge(source);
+        d = full.query(x);
+        assertFalse(d.isExact());
+        assertEquals(18, d.getAttempts());
+        assertEquals(10, d.getCorrect());
+
+        // A merged entry passed on to a full tracker is still counted once.
+        QuestionDifficultyTracker last = new QuestionDifficultyTracker(4, 1024, 1, 10);
+        for (int i = 0; i < 10; i++) {
+            last.record(y, true);
+        }
+        last.merge(roomy);
+        assertEquals(18, last.query(x).getAttempts());
+
+        // Exact here but only sketched in the other tracker: its answers join the exact counts.
+        QuestionDifficultyTracker owner = new QuestionDifficultyTracker(4, 1024, 8, 10);
+        for (int i = 0; i < 15; i++) {
+            owner.record(x, i % 3 != 0);
+        }
+        QuestionDifficultyTracker sketched = new QuestionDifficultyTracker(4, 1024, 8, 10);
+        for (int i = 0; i < 3; i++) {
+            sketched.record(x, false);
+        }
+        owner.merge(sketched);
+        d = owner.query(x);
+        assertTrue(d.isExact());
+        assertEquals(18, d.getAttempts());
+        assertEquals(10, d.getCorrect());
+
+        // ...and are still counted once when the entry moves on to a full tracker.
+        QuestionDifficultyTracker after = new QuestionDifficultyTracker(4, 1024, 1, 10);
+        for (int i = 0; i < 10; i++) {
+            after.record(y, true);
+        }
+        after.merge(owner);
+        assertEquals(18, after.query(x).getAttempts());
+    }
+
+    @Test
+    public void testBloomFilterHasNoFalseNegativesAndBoundedFalsePositives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(CountMinSketch.hash("seen" + i));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain(CountMinSketch.hash("seen" + i)));
+            if (filter.mightContain(CountMinSketch.hash("other" + i))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 250, "false positives: " + falsePositives);
+    }
+
+    @Test
+    public void testSeenQuestionsPersistAndRotate(@TempDir Path dir) throws Exception {
+        Question q1 = new Question("Science", 100, "What is H2O?", "Water", "Air", "Fire", "Earth", "A");
+        Question q2 = new Question("Science", 200, "What is NaCl?", "Salt", "Sugar", "Sand", "Soap", "A");
+
+        SeenQuestions seen = new SeenQuestions(dir, 1000, 0.01);
+        seen.markSeen("Ann", q1);
+        assertTrue(seen.hasSeen("ann ", q1));
+        assertFalse(seen.hasSeen("Ann", q2));
+        assertFalse(seen.hasSeen("Ben", q1));
+        assertTrue(seen.seenByAny(List.of("Ben", "Ann")).test(q1));
+        seen.save();
+
+        SeenQuestions reloaded = new SeenQuestions(dir, 1000, 0.01);
+        assertTrue(reloaded.hasSeen("Ann", q1));
+        assertFalse(reloaded.hasSeen("Ann", q2));
+
+        // After two full generations the oldest questions are forgotten
+        SeenQuestions small = new SeenQuestions(null, 50, 0.01);
+        small.markSeen("Ann", q1);
+        for (int i = 0; i < 100; i++) {
+            small.markSeen("Ann", new Question("Filler", 100, "Q" + i, "A", "B", "C", "D", "A"));
+        }
+        assertFalse(small.hasSeen("Ann", q1));
+        assertTrue(small.hasSeen("Ann", new Question("Filler", 100, "Q99", "A", "B", "C", "D", "A")));
+    }
+}
@@ -0,0 +1,264 @@
+package uwi.comp3607.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uwi.comp3607.jeopardy.analytics.SeenQuestions;
+import uwi.comp3607.jeopardy.bank.BankReloader;
+import uwi.comp3607.jeopardy.bank.BoardSampler;
+import uwi.comp3607.jeopardy.bank.QuestionBank;
+import uwi.comp3607.jeopardy.bank.ReloadableBoard;
+import uwi.comp3607.jeopardy.bank.ShardedBank;
+import uwi.comp3607.jeopardy.game.GameEngine;
+import uwi.comp3607.jeopardy.game.GameState;
+import uwi.comp3607.jeopardy.io.CsvFileParser;
+import uwi.comp3607.jeopardy.io.MappedCsvBank;
+import uwi.comp3607.jeopardy.logging.GameEvent;
+import uwi.comp3607.jeopardy.logging.GameEventBus;
+import uwi.comp3607.jeopardy.model.Player;
+import uwi.comp3607.jeopardy.model.Question;
+import uwi.comp3607.jeopardy.model.QuestionBoard;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BankTests {
+
+    @TempDir
+    Path dir;
+
+    private static QuestionBank bankOf(int categories, int tiers, int perTier) {
+        List<Question> questions = new ArrayList<>();
+        for (int c = 0; c < categories; c++) {
+            for (int t = 1; t <= tiers; t++) {
+                for (int k = 0; k < perTier; k++) {
+                    questions.add(new Question("Cat" + c, t * 100, "Q" + c + "-" + t + "-" + k,
+                            "A", "B", "C", "D", "A"));
+                }
+            }
+        }
+        return QuestionBank.of(questions);
+    }
+
+    @Test
+    public void testBankKeepsEveryQuestionPerTier() {
+        QuestionBank bank = bankOf(3, 5, 4);
+        assertEquals(60, bank.getQuestionCount());
+        assertEquals(4, bank.getQuestions("Cat1", 300).size());
+        assertEquals(5, bank.getTiers("Cat2").size());
+    }
+
+    @Test
+    public void testSamplerBuildsDeterministicBoard() {
+        BoardSampler sampler = new BoardSampler(bankOf(20, 5, 10));
+        QuestionBoard a = sampler.sample(6, 5, 42L);
+        QuestionBoard b = sampler.sample(6, 5, 42L);
+
+        assertEquals(6, a.getCategories().size());
+        assertEquals(a.getCategories(), b.getCategories());
+        for (String cat : a.getCategories()) {
+            assertEquals(5, a.getValuesForCategory(cat).size());
+            for (int v : a.getValuesForCategory(cat)) {
+                assertEquals(a.getQuestion(cat, v).getQuestionText(),
+                        b.getQuestion(cat, v).getQuestionText());
+                assertNotSame(a.getQuestion(cat, v), b.getQuestion(cat, v));
+            }
+        }
+    }
+
+    @Test
+    public void testSamplerSkipsSeenQuestions() {
+        QuestionBank bank = bankOf(4, 3, 3);
+        SeenQuestions seen = new SeenQuestions(null);
+        for (Question q : bank.getQuestions("Cat0", 100)) {
+            if (!q.getQuestionText().endsWith("-2")) {
+                seen.markSeen("Ann", q);
+            }
+        }
+        BoardSampler sampler = new BoardSampler(bank);
+        for (long seed = 0; seed < 20; seed++) {
+            QuestionBoard board = sampler.sample(4, 3, seed, seen.seenByAny(List.of("Ann", "Ben")));
+            assertEquals("Q0-1-2", board.getQuestion("Cat0", 100).getQuestionText());
+        }
+    }
+
+    @Test
+    public void testShardedBankLoadsCategoriesOnDemand() throws Exception {
+        List<Question> questions = new ArrayList<>();
+        for (int c = 0; c < 6; c++) {
+            for (int t = 1; t <= 3; t++) {
+                questions.add(new Question("Cat" + c, t * 100, "Q\"" + c + "\", " + t,
+                        "A", "B", "C", "D", "B"));
+            }
+        }
+        Path bankDir = dir.resolve("bank");
+        ShardedBank.write(questions, bankDir);
+
+        try (ShardedBank bank = ShardedBank.open(bankDir, 1)) {
+            assertEquals(List.of("Cat0", "Cat1", "Cat2", "Cat3", "Cat4", "Cat5"), bank.getCategories());
+            assertEquals(18, bank.getQuestionCount());
+            assertTrue(bank.isRequested("Cat0"));
+            assertFalse(bank.isRequested("Cat4"));
+
+            QuestionBoard board = bank.toBoard();
+            assertEquals(6, board.getCategories().size());
+            assertEquals(List.of(100, 200, 300), new ArrayList<>(board.getValuesForCategory("Cat4")));
+            assertTrue(board.hasQuestion("Cat4", 200));
+            assertFalse(board.allQuestionsUsed());
+            assertFalse(board.isLoaded("Cat4"));
+            assertFalse(bank.isRequested("Cat4"));
+
+            Question q = board.getQuestion("Cat4", 200);
+            assertTrue(board.isLoaded("Cat4"));
+            assertEquals("Q\"4\", 2", q.getQuestionText());
+            assertEquals("B", q.getCorrectAnswer());
+            assertTrue(bank.isRequested("Cat5"));
+            assertFalse(board.isLoaded("Cat5"));
+
+            q.markUsed();
+            assertFalse(board.hasQuestion("Cat4", 200));
+            assertTrue(bank.toBoard().hasQuestion("Cat4", 200));
+        }
+    }
+
+    @Test
+    public void testShardedBoardCopiesInOrderAndReportsBadShards() throws Exception {
+        List<Question> questions = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            questions.add(new Question("Cat" + c, 100, "Q" + c, "A", "B", "C", "D", "A"));
+        }
+        Path bankDir = dir.resolve("bank");
+        ShardedBank.write(questions, bankDir);
+        // Hand-edited shard with an answer outside A-D
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(bankDir.resolve("00002.json.gz")))) {
+            out.write(("[{\"Category\":\"Cat2\",\"Value\":100,\"Question\":\"Q2\","
+                    + "\"Options\":{\"A\":\"A\",\"B\":\"B\",\"C\":\"C\",\"D\":\"D\"},"
+                    + "\"CorrectAnswer\":\"E\"}]").getBytes(StandardCharsets.UTF_8));
+        }
+
+        try (ShardedBank bank = ShardedBank.open(bankDir, 0)) {
+            QuestionBoard board = bank.toBoard();
+            board.getQuestion("Cat1", 100);
+            QuestionBoard copy = board.copy();
+            assertEquals(List.of("Cat0", "Cat1", "Cat2", "Cat3"), new ArrayList<>(copy.getCategories()));
+            assertTrue(copy.isLoaded("Cat1"));
+            assertFalse(copy.isLoaded("Cat0"));
+
+            List<GameEvent> events = new ArrayList<>();
+            GameEventBus bus = new GameEventBus();
+            bus.register(events::add);
+            Player p = new Player(1, "Alice");
+            GameEngine engine = new GameEngine(new GameState("CASE", List.of(p), copy), bus);
+            UncheckedIOException ex = assertThrows(UncheckedIOException.class,
+                    () -> engine.selectQuestion(p, "Cat2", 100));
+            assertTrue(ex.getMessage().contains("Cat2"));
+            assertTrue(events.isEmpty());
+            assertFalse(copy.isLoaded("Cat2"));
+            assertNotNull(engine.selectQuestion(p, "Cat3", 100));
+        }
+    }
+
+    @Test
+    public void testSamplerRejectsOversizedBoard() {
+        BoardSampler sampler = new BoardSampler(bankOf(3, 5, 1));
+        assertThrows(IllegalArgumentException.class, () -> sampler.sample(4, 5, 1L));
+        assertThrows(IllegalArgumentException.class, () -> sampler.sample(2, 6, 1L));
+    }
+
+    @Test
+    public void testMappedBankMatchesEagerParser() throws Exception {
+        Path quoted = dir.resolve("quoted.csv");
+        Files.writeString(quoted, "Category,Value,Question,OptionA,OptionB,OptionC,OptionD,CorrectAnswer\n"
+                + "\"The \"\"Big\"\" O\",100,\"Is O(n), \"\"linear\"\"?\",a,b,c,\"d, \"\"or\"\" e\",A\n"
+                + "\"The \"\"Big\"\" O\",200,Q?,a,b,c,d,\"B\"\n");
+
+        for (File file : List.of(new File("sample_game_CSV.csv"), quoted.toFile())) {
+            QuestionBoard eager = new CsvFileParser().parse(file);
+            QuestionBoard lazy = MappedCsvBank.open(file).toBoard();
+
+            assertEquals(eager.getCategories(), lazy.getCategories());
+            for (String cat : eager.getCategories()) {
+                for (int v : eager.getValuesForCategory(cat)) {
+                    Question e = eager.getQuestion(cat, v);
+                    Question l = lazy.getQuestion(cat, v);
+                    assertEquals(e.getCorrectAnswer(), l.getCorrectAnswer());
+                    assertEquals(e.getQuestionText(), l.getQuestionText());
+                    assertEquals(e.getOptionD(), l.getOptionD());
+                }
+            }
+        }
+        assertEquals("Is O(n), \"linear\"?",
+                MappedCsvBank.open(quoted.toFile()).toBoard().getQuestion("The \"Big\" O", 100).getQuestionText());
+    }
+
+    @Test
+    public void testArenaBoardDecodesText() {
+        QuestionBoard board = QuestionBoard.withArena();
+        Question original = new Question("Unicode", 100, "Qu'est-ce que \u00e7a?",
+                "\u00e9t\u00e9", "B", "", "D", "C");
+        board.addQuestion(original);
+
+        Question stored = board.getQuestion("Unicode", 100);
+        assertNotSame(original, stored);
+        assertEquals(original.getQuestionText(), stored.getQuestionText());
+        assertEquals("\u00e9t\u00e9", stored.getOptionA());
+        assertEquals("", stored.getOptionC());
+        assertEquals("D", stored.getOptionD());
+        assertEquals("C", stored.getCorrectAnswer());
+    }
+
+    @Test
+    public void testReloaderPublishesNewBoardWithoutTouchingSessions() throws Exception {
+        Path csv = dir.resolve("bank.csv");
+        String header = "Category,Value,Question,OptionA,OptionB,OptionC,OptionD,CorrectAnswer\n";
+        Files.writeString(csv, header + "Loops,100,Old?,a,b,c,d,A\nLoops,200,Kept?,a,b,c,d,B\n");
+
+        try (BankReloader reloader = new BankReloader()) {
+            ReloadableBoard reloadable = reloader.register(csv);
+            QuestionBoard running = reloadable.newSession();
+
+            Files.writeString(csv, header + "Loops,100,New?,a,b,c,d,A\nLoops,200,Kept?,a,b,c,d,B\n");
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (reloadable.getVersion() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+
+            assertEquals(2, reloadable.getVersion());
+            assertEquals("New?", reloadable.newSession().getQuestion("Loops", 100).getQuestionText());
+            assertEquals("Old?", running.getQuestion("Loops", 100).getQuestionText());
+        }
+    }
+
+    @Test
+    public void testReloaderWaitsForTheLastWriteOfABurst() throws Exception {
+        Path csv = dir.resolve("bank.csv");
+        String header = "Category,Value,Question,OptionA,OptionB,OptionC,OptionD,CorrectAnswer\n";
+        Files.writeString(csv, header + "Loops,100,Q0?,a,b,c,d,A\n");
+
+        try (BankReloader reloader = new BankReloader()) {
+            ReloadableBoard reloadable = reloader.register(csv);
+
+            // Writes closer together than the quiet period, spanning several of them
+            for (int i = 1; i <= 12; i++) {
+                Files.writeString(csv, header + "Loops,100,Q" + i + "?,a,b,c,d,A\n");
+                Thread.sleep(50);
+            }
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (reloadable.getVersion() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            Thread.sleep(500);
+
+            assertEquals(2, reloadable.getVersion());
+            assertEquals("Q12?", reloadable.newSession().getQuestion("Loops", 100).getQuestionText());
+        }
+    }
+}
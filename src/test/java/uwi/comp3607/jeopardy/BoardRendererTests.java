@@ -0,0 +1,99 @@
+package uwi.comp3607.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import uwi.comp3607.jeopardy.console.BoardRenderer;
+import uwi.comp3607.jeopardy.logging.GameEvent;
+import uwi.comp3607.jeopardy.model.Player;
+import uwi.comp3607.jeopardy.model.Question;
+import uwi.comp3607.jeopardy.model.QuestionBoard;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.SortedSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoardRendererTests {
+
+    /** Board that counts how often a category's values are listed. */
+    private static final class CountingBoard extends QuestionBoard {
+        int listings;
+
+        @Override
+        public SortedSet<Integer> getValuesForCategory(String category) {
+            listings++;
+            return super.getValuesForCategory(category);
+        }
+    }
+
+    /** Stream that counts writes and flushes reaching it. */
+    private static final class CountingStream extends PrintStream {
+        final ByteArrayOutputStream bytes;
+        int writes;
+        int flushes;
+
+        CountingStream(ByteArrayOutputStream bytes) {
+            super(bytes, false, StandardCharsets.UTF_8);
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void write(byte[] buf, int off, int len) {
+            writes++;
+            super.write(buf, off, len);
+        }
+
+        @Override
+        public void flush() {
+            flushes++;
+            super.flush();
+        }
+
+        String take() {
+            String s = bytes.toString(StandardCharsets.UTF_8);
+            bytes.reset();
+            writes = 0;
+            flushes = 0;
+            return s;
+        }
+    }
+
+    @Test
+    public void testRendersEachFrameWithOneWriteAndRebuildsAnsweredCategory() {
+        CountingBoard board = new CountingBoard();
+        for (int v = 100; v <= 300; v += 100) {
+            board.addQuestion(new Question("Arrays", v, "Q?", "A", "B", "C", "D", "A"));
+            board.addQuestion(new Question("Loops", v, "Q?", "A", "B", "C", "D", "A"));
+        }
+        CountingStream out = new CountingStream(new ByteArrayOutputStream());
+        BoardRenderer renderer = new BoardRenderer(board, out);
+        Player p = new Player(1, "Alice");
+
+        renderer.render(p);
+        assertEquals(1, out.writes);
+        assertEquals(1, out.flushes);
+        String frame = out.take();
+        assertTrue(frame.contains("Current player: Alice"));
+        assertTrue(frame.contains(" - Arrays (100, 200, 300)"));
+        assertTrue(frame.endsWith("Select option: "));
+        assertEquals(2, board.listings);
+
+        // Cached lines are reused until an answer invalidates them.
+        board.getQuestion("Arrays", 200).markUsed();
+        renderer.render(p);
+        assertEquals(2, board.listings);
+        assertTrue(out.take().contains(" - Arrays (100, 200, 300)"));
+
+        renderer.onEvent(GameEvent.withQuestion("CASE", p, "Answer Question", Instant.now(),
+                "Arrays", 200, "A", "Correct", 200));
+        renderer.render(p);
+        assertEquals(3, board.listings);
+        assertEquals(1, out.writes);
+        assertEquals(1, out.flushes);
+        frame = out.take();
+        assertTrue(frame.contains(" - Arrays (100, 200X, 300)"));
+        assertTrue(frame.contains(" - Loops (100, 200, 300)"));
+    }
+}
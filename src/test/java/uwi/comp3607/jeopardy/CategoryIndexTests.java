@@ -0,0 +1,31 @@
+package uwi.comp3607.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import uwi.comp3607.jeopardy.model.CategoryIndex;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CategoryIndexTests {
+
+    private final CategoryIndex index = new CategoryIndex(List.of(
+            "Variables & Data Types", "Control Structures", "Functions",
+            "Arrays", "File Handling", "Finance"));
+
+    @Test
+    public void testExactAndPrefixLookup() {
+        assertEquals("Arrays", index.resolve("arrays"));
+        assertEquals("Control Structures", index.resolve("contr"));
+        assertEquals(List.of("File Handling", "Finance"), index.withPrefix("fi"));
+        assertNull(index.resolve("fi"));
+    }
+
+    @Test
+    public void testFuzzyLookupToleratesTypos() {
+        assertEquals("Functions", index.resolve("Fucntions"));
+        assertEquals("File Handling", index.resolve("File Handlng"));
+        assertEquals(List.of("Arrays"), index.fuzzy("Arays", 1));
+        assertNull(index.resolve("Geography"));
+    }
+}
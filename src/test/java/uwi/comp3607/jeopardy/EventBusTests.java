@@ -0,0 +1,201 @@
+package uwi.comp3607.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import uwi.comp3607.jeopardy.logging.AsyncEventListener;
+import uwi.comp3607.jeopardy.logging.GameEvent;
+import uwi.comp3607.jeopardy.logging.GameEventBus;
+import uwi.comp3607.jeopardy.logging.GameEventListener;
+import uwi.comp3607.jeopardy.logging.SamplingEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventBusTests {
+
+    private static GameEvent event(String activity) {
+        return GameEvent.simple("CASE", null, activity, Instant.now());
+    }
+
+    @Test
+    public void testRoutesByActivityAndPredicate() {
+        GameEventBus bus = new GameEventBus();
+        List<String> seen = new ArrayList<>();
+        bus.register(e -> seen.add("all:" + e.getActivity()));
+        bus.register(e -> seen.add("answer"), "Answer Question");
+        bus.registerMatching(e -> seen.add("select:" + e.getActivity()), a -> a.startsWith("Select "));
+
+        bus.publish(event("Select Category"));
+        bus.publish(event("Answer Question"));
+        bus.publish(event("Exit Game"));
+
+        assertEquals(List.of("all:Select Category", "select:Select Category",
+                "all:Answer Question", "answer",
+                "all:Exit Game"), seen);
+    }
+
+    @Test
+    public void testRegistrationIsSafeWhilePublishing() throws Exception {
+        GameEventBus bus = new GameEventBus();
+        AtomicInteger received = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < 4; t++) {
+                pool.execute(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    for (int i = 0; i < 250; i++) {
+                        bus.register(e -> received.incrementAndGet(), "Ping");
+                        bus.publish(event("Other"));
+                    }
+                });
+            }
+            start.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        bus.publish(event("Ping"));
+        assertEquals(1000, received.get());
+
+        GameEventListener only = e -> received.addAndGet(1000);
+        bus.register(only, "Ping");
+        bus.unregister(only);
+        bus.publish(event("Ping"));
+        assertEquals(2000, received.get());
+    }
+
+    @Test
+    public void testSamplingAdaptsToBacklogAndKeepsLifecycleEvents() throws Exception {
+        List<GameEvent> kept = new ArrayList<>();
+        AtomicInteger backlog = new AtomicInteger(1000);
+        SamplingEventListener sampler = new SamplingEventListener(kept::add, backlog::get, 100);
+
+        for (int i = 0; i < 200; i++) {
+            sampler.onEvent(event("Select Category"));
+            sampler.onEvent(event("Select Question"));
+            sampler.onEvent(event("Answer Question"));
+        }
+        assertEquals(1.0 / 64, sampler.getSampleRate());
+        assertEquals(200, kept.stream().filter(e -> e.getActivity().equals("Answer Question")).count());
+        long categories = kept.stream().filter(e -> e.getActivity().equals("Select Category")).count();
+        long questions = kept.stream().filter(e -> e.getActivity().equals("Select Question")).count();
+        assertEquals(categories, questions);
+        assertTrue(categories < 20);
+        assertEquals("0.015625", kept.stream()
+                .filter(e -> e.getActivity().equals(SamplingEventListener.SAMPLE_RATE))
+                .reduce((a, b) -> b).orElseThrow().getResult());
+
+        backlog.set(0);
+        for (int i = 0; i < 10; i++) {
+            sampler.onEvent(event("Select Category"));
+            sampler.onEvent(event("Select Question"));
+        }
+        assertEquals(1.0, sampler.getSampleRate());
+
+        List<String> delivered = new ArrayList<>();
+        try (AsyncEventListener async = new AsyncEventListener(e -> delivered.add(e.getActivity()))) {
+            async.onEvent(event("Start Game"));
+            async.onEvent(event("Exit Game"));
+        }
+        assertEquals(List.of("Start Game", "Exit Game"), delivered);
+    }
+
+    @Test
+    public void testEverySessionLearnsItsSampleRate() {
+        List<GameEvent> kept = new ArrayList<>();
+        AtomicInteger backlog = new AtomicInteger(1000);
+        SamplingEventListener sampler = new SamplingEventListener(kept::add, backlog::get, 100);
+
+        // Session A drives the shared rate down to 1/64...
+        for (int i = 0; i < 10; i++) {
+            sampler.onEvent(GameEvent.simple("A", null, "Select Category", Instant.now()));
+            sampler.onEvent(GameEvent.simple("A", null, "Select Question", Instant.now()));
+        }
+        // ...and session B, starting while the backlog holds steady, samples at it too.
+        backlog.set(50);
+        for (int i = 0; i < 64; i++) {
+            sampler.onEvent(GameEvent.simple("B", null, "Select Category", Instant.now()));
+            sampler.onEvent(GameEvent.simple("B", null, "Select Question", Instant.now()));
+        }
+        assertEquals(1.0 / 64, sampler.getSampleRate());
+
+        // Replaying each session on its own recovers the rate of its selects.
+        // Pairs are counted across sessions: A keeps pair 0, B keeps pair 64.
+        for (String session : List.of("A", "B")) {
+            String rate = "1.0";
+            List<String> selectRates = new ArrayList<>();
+            for (GameEvent e : kept) {
+                if (!e.getCaseId().equals(session)) {
+                    continue;
+                }
+                if (e.getActivity().equals(SamplingEventListener.SAMPLE_RATE)) {
+                    rate = e.getResult();
+                } else if (e.getActivity().equals("Select Category")) {
+                    selectRates.add(rate);
+                }
+            }
+            assertEquals("0.015625", rate, session);
+            assertEquals(List.of(session.equals("A") ? "0.5" : "0.015625"), selectRates, session);
+        }
+        // B never changed the rate itself but still gets its own marker first.
+        assertEquals(SamplingEventListener.SAMPLE_RATE, kept.stream()
+                .filter(e -> e.getCaseId().equals("B")).findFirst().orElseThrow().getActivity());
+    }
+
+    @Test
+    public void testWrappersForwardBatchesWhole() throws Exception {
+        List<List<String>> batches = new ArrayList<>();
+        GameEventListener recorder = new GameEventListener() {
+            @Override
+            public void onEvent(GameEvent e) {
+                batches.add(List.of(e.getActivity()));
+            }
+
+            @Override
+            public void onEvents(List<GameEvent> events) {
+                List<String> activities = new ArrayList<>();
+                for (GameEvent e : events) {
+                    activities.add(e.getActivity());
+                }
+                batches.add(activities);
+            }
+        };
+        List<GameEvent> batch = List.of(event("Select Category"), event("Select Question"),
+                event("Answer Question"), event("Score Updated"));
+
+        try (AsyncEventListener async = new AsyncEventListener(recorder)) {
+            async.onEvents(batch);
+            async.onEvent(event("Exit Game"));
+        }
+        assertEquals(List.of(
+                List.of("Select Category", "Select Question", "Answer Question", "Score Updated"),
+                List.of("Exit Game")), batches);
+
+        batches.clear();
+        AtomicInteger backlog = new AtomicInteger(1000);
+        SamplingEventListener sampler = new SamplingEventListener(recorder, backlog::get, 100);
+        sampler.onEvents(batch);
+        backlog.set(50);
+        sampler.onEvents(batch);
+        assertEquals(2, batches.size());
+        // The first pair halves the rate to 1/2, so the second pair is dropped
+        assertEquals(List.of(SamplingEventListener.SAMPLE_RATE,
+                "Select Category", "Select Question", "Answer Question", "Score Updated"), batches.get(0));
+        assertEquals(List.of("Answer Question", "Score Updated"), batches.get(1));
+        assertEquals(2, sampler.getDropped());
+    }
+}
@@ -0,0 +1,140 @@
+package uwi.comp3607.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uwi.comp3607.jeopardy.logging.CsvEventLogger;
+import uwi.comp3607.jeopardy.logging.EventLogIndex;
+import uwi.comp3607.jeopardy.logging.EventLogReader;
+import uwi.comp3607.jeopardy.logging.GameEvent;
+import uwi.comp3607.jeopardy.logging.IndexedEventLog;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventLogTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testSidecarIndexFindsInterleavedSessions() throws Exception {
+        Path log = dir.resolve("events.csv");
+        try (CsvEventLogger logger = new CsvEventLogger(log.toFile(), 256)) {
+            for (int i = 0; i < 48; i++) {
+                logger.onEvent(GameEvent.simple("GAME" + (i % 5), null, "Select Category", Instant.now()));
+            }
+            logger.onEvent(GameEvent.withQuestion("GAME2", null, "Answer Question", Instant.now(),
+                    "Java", 300, "B", "Correct", 300));
+        }
+
+        EventLogIndex written = EventLogIndex.read(EventLogIndex.sidecarFor(log));
+        EventLogIndex rebuilt = EventLogIndex.build(log, 256);
+        assertEquals(Files.size(log), written.getLogLength());
+        assertEquals(written.getCaseIds(), rebuilt.getCaseIds());
+        assertEquals(written.getBlockCount(), rebuilt.getBlockCount());
+        assertArrayEquals(written.getRanges("GAME2"), rebuilt.getRanges("GAME2"));
+        // Every block holds all five sessions, so GAME2's blocks merge into one range.
+        assertTrue(written.getBlockCount() > 5);
+        assertEquals(2, written.getRanges("GAME2").length);
+
+        try (IndexedEventLog indexed = IndexedEventLog.open(log)) {
+            List<GameEvent> events = indexed.events("GAME2");
+            assertEquals(11, events.size());
+            assertEquals("Answer Question", events.get(10).getActivity());
+            assertEquals(300, events.get(10).getQuestionValue());
+            assertTrue(indexed.events("NOPE").isEmpty());
+        }
+
+        // A stale sidecar is detected and rebuilt.
+        Files.writeString(log, "GAME9,,Exit Game,2024-01-01T00:00:00Z,,,,,\n",
+                java.nio.file.StandardOpenOption.APPEND);
+        try (IndexedEventLog indexed = IndexedEventLog.open(log)) {
+            assertEquals(1, indexed.events("GAME9").size());
+        }
+    }
+
+    @Test
+    public void testBatchIsLoggedAndIndexedLikeSingleEvents() throws Exception {
+        Path single = dir.resolve("single.csv");
+        Path batched = dir.resolve("batched.csv");
+        List<GameEvent> events = new ArrayList<>();
+        for (int i = 0; i < 48; i++) {
+            events.add(GameEvent.simple("GAME" + (i % 5), null, "Select Category", Instant.EPOCH));
+        }
+        try (CsvEventLogger logger = new CsvEventLogger(single.toFile(), 256)) {
+            for (GameEvent e : events) {
+                logger.onEvent(e);
+            }
+        }
+        try (CsvEventLogger logger = new CsvEventLogger(batched.toFile(), 256)) {
+            logger.onEvents(events.subList(0, 24));
+            logger.onEvents(events.subList(24, 48));
+        }
+
+        assertEquals(Files.readString(single), Files.readString(batched));
+        EventLogIndex a = EventLogIndex.read(EventLogIndex.sidecarFor(single));
+        EventLogIndex b = EventLogIndex.read(EventLogIndex.sidecarFor(batched));
+        assertEquals(a.getBlockCount(), b.getBlockCount());
+        assertArrayEquals(a.getRanges("GAME2"), b.getRanges("GAME2"));
+        try (IndexedEventLog indexed = IndexedEventLog.open(batched)) {
+            assertEquals(10, indexed.events("GAME2").size());
+        }
+    }
+
+    @Test
+    public void testSidecarIsUsableWithoutClose() throws Exception {
+        Path log = dir.resolve("crashed.csv");
+        CsvEventLogger logger = new CsvEventLogger(log.toFile(), 128);
+        for (int i = 0; i < 40; i++) {
+            logger.onEvent(GameEvent.simple(i < 20 ? "EARLY" : "LATE", null, "Select Category", Instant.now()));
+        }
+        // The logger is never closed, as if the process had died.
+
+        EventLogIndex partial = EventLogIndex.read(EventLogIndex.sidecarFor(log));
+        assertTrue(partial.getLogLength() > 0);
+        assertTrue(partial.getLogLength() <= Files.size(log));
+        assertTrue(partial.getCaseIds().contains("EARLY"));
+
+        // A record cut short is ignored rather than failing the read.
+        Path sidecar = EventLogIndex.sidecarFor(log);
+        byte[] bytes = Files.readAllBytes(sidecar);
+        Files.write(sidecar, java.util.Arrays.copyOf(bytes, bytes.length - 3));
+        assertTrue(EventLogIndex.read(sidecar).getBlockCount() < partial.getBlockCount());
+
+        try (IndexedEventLog indexed = IndexedEventLog.open(log)) {
+            assertEquals(Files.size(log), indexed.getIndex().getLogLength());
+            assertEquals(20, indexed.events("EARLY").size());
+            assertEquals(20, indexed.events("LATE").size());
+        }
+        logger.close();
+    }
+
+    @Test
+    public void testFieldsWithCommasAndQuotesRoundTrip() throws Exception {
+        Path log = dir.resolve("quoted.csv");
+        try (CsvEventLogger logger = new CsvEventLogger(log.toFile())) {
+            logger.onEvent(GameEvent.withQuestion("GAME,1", null, "Answer Question", Instant.now(),
+                    "Loops, \"for\" and\nwhile", 200, "A", "Correct", 200));
+            logger.onEvent(GameEvent.simple("GAME2", null, "Exit Game", Instant.now()));
+        }
+
+        try (EventLogReader reader = new EventLogReader(Files.newInputStream(log))) {
+            GameEvent e = reader.next();
+            assertEquals("GAME,1", e.getCaseId());
+            assertEquals("Loops, \"for\" and while", e.getCategory());
+            assertEquals(200, e.getQuestionValue());
+            assertEquals("GAME2", reader.next().getCaseId());
+            assertNull(reader.next());
+            assertEquals(0, reader.getSkippedRows());
+        }
+        try (IndexedEventLog indexed = IndexedEventLog.open(log)) {
+            assertEquals(List.of("GAME,1", "GAME2"), new ArrayList<>(indexed.getIndex().getCaseIds()));
+            assertEquals("Loops, \"for\" and while", indexed.events("GAME,1").get(0).getCategory());
+        }
+    }
+}
@@ -3,12 +3,22 @@ package uwi.comp3607.jeopardy;
 import org.junit.jupiter.api.Test;
 import uwi.comp3607.jeopardy.game.GameEngine;
 import uwi.comp3607.jeopardy.game.GameState;
+import uwi.comp3607.jeopardy.game.HashedWheelTimer;
+import uwi.comp3607.jeopardy.game.Move;
+import uwi.comp3607.jeopardy.game.PlayerStats;
+import uwi.comp3607.jeopardy.game.Turn;
+import uwi.comp3607.jeopardy.logging.GameEvent;
 import uwi.comp3607.jeopardy.logging.GameEventBus;
+import uwi.comp3607.jeopardy.logging.GameEventListener;
 import uwi.comp3607.jeopardy.model.Player;
 import uwi.comp3607.jeopardy.model.Question;
 import uwi.comp3607.jeopardy.model.QuestionBoard;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -51,4 +61,174 @@ public class GameEngineTests {
 
         assertEquals(-200, p.getScore());
     }
+
+    @Test
+    public void testTurnTimeoutForfeitsAndRejectsLateAnswer() throws Exception {
+        QuestionBoard board = new QuestionBoard();
+        board.addQuestion(new Question("Test", 100, "Q?", "A", "B", "C", "D", "A"));
+
+        Player p1 = new Player(1, "Alice");
+        Player p2 = new Player(2, "Bob");
+        GameState state = new GameState("CASE3", List.of(p1, p2), board);
+        GameEventBus bus = new GameEventBus();
+        CountDownLatch timedOut = new CountDownLatch(1);
+        AtomicInteger selections = new AtomicInteger();
+        bus.register(e -> {
+            if ("Turn Timeout".equals(e.getActivity())) timedOut.countDown();
+            if ("Select Question".equals(e.getActivity())) selections.incrementAndGet();
+        });
+        GameEngine engine = new GameEngine(state, bus);
+
+        try (HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS, 64)) {
+            long turnNo = engine.getTurnNumber();
+            engine.setTurnTimeLimit(timer, 50, TimeUnit.MILLISECONDS);
+            Question q = engine.selectQuestion(p1, "Test", 100);
+            assertTrue(timedOut.await(5, TimeUnit.SECONDS));
+
+            assertNull(engine.selectQuestion(turnNo, p1, "Test", 100));
+            assertEquals(1, selections.get());
+            assertNull(engine.answerQuestion(turnNo, p1, q, "A"));
+            assertEquals(0, p1.getScore());
+            assertFalse(q.isUsed());
+            assertSame(p2, state.getCurrentPlayer());
+
+            Turn t = engine.getTurnHistory().get(0);
+            assertTrue(t.isForfeited());
+            assertSame(q, t.getQuestion());
+        }
+    }
+
+    @Test
+    public void testWheelTimerCancelAndExpire() throws Exception {
+        try (HashedWheelTimer timer = new HashedWheelTimer(5, TimeUnit.MILLISECONDS, 8)) {
+            AtomicInteger fired = new AtomicInteger();
+            List<HashedWheelTimer.Timeout> cancelled = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                cancelled.add(timer.schedule(fired::incrementAndGet, 10, TimeUnit.SECONDS));
+            }
+            for (HashedWheelTimer.Timeout t : cancelled) {
+                assertTrue(t.cancel());
+            }
+            CountDownLatch latch = new CountDownLatch(1);
+            // Longer than one revolution of the wheel (8 x 5 ms).
+            HashedWheelTimer.Timeout late = timer.schedule(latch::countDown, 100, TimeUnit.MILLISECONDS);
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+            assertTrue(late.isExpired());
+            assertFalse(late.cancel());
+            assertEquals(0, fired.get());
+        }
+    }
+
+    @Test
+    public void testStatsAreMaintainedPerTurn() {
+        QuestionBoard board = new QuestionBoard();
+        for (int v = 100; v <= 500; v += 100) {
+            board.addQuestion(new Question("Arrays", v, "Q?", "A", "B", "C", "D", "A"));
+            board.addQuestion(new Question("Loops", v, "Q?", "A", "B", "C", "D", "B"));
+        }
+        Player p = new Player(1, "Alice");
+        GameState state = new GameState("CASE4", List.of(p), board);
+        GameEngine engine = new GameEngine(state, new GameEventBus());
+
+        engine.answerQuestion(p, engine.selectQuestion(p, "Arrays", 100), "A");
+        engine.answerQuestion(p, engine.selectQuestion(p, "Arrays", 200), "A");
+        engine.answerQuestion(p, engine.selectQuestion(p, "Loops", 500), "A");
+        engine.answerQuestion(p, engine.selectQuestion(p, "Arrays", 300), "A");
+        engine.forfeitTurn();
+
+        PlayerStats stats = engine.getStats();
+        assertEquals(4, stats.getAnswered(p));
+        assertEquals(0.75, stats.getAccuracy(p));
+        assertEquals(2, stats.getLongestCorrectStreak(p));
+        assertEquals(1, stats.getLongestIncorrectStreak(p));
+        assertEquals(0, stats.getCurrentStreak(p));
+        assertEquals(1, stats.getForfeits(p));
+        assertEquals(500, stats.getLargestSwing(p));
+        assertEquals(600, stats.getCategoryPoints(p, "Arrays"));
+        assertEquals(-500, stats.getCategoryPoints(p, "Loops"));
+        assertEquals(1, stats.getCategoryAnswered(p, "Loops"));
+        assertEquals(600, stats.getPointsGained(p));
+        assertEquals(500, stats.getPointsLost(p));
+    }
+
+    @Test
+    public void testAnswerFromUnknownPlayerChangesNothing() {
+        QuestionBoard board = new QuestionBoard();
+        board.addQuestion(new Question("Arrays", 100, "Q?", "A", "B", "C", "D", "A"));
+        Player p = new Player(1, "Alice");
+        Player stranger = new Player(2, "Mallory");
+        GameState state = new GameState("CASE5", List.of(p), board);
+        List<GameEvent> events = new ArrayList<>();
+        GameEventBus bus = new GameEventBus();
+        bus.register(events::add);
+        GameEngine engine = new GameEngine(state, bus);
+
+        Question q = engine.selectQuestion(p, "Arrays", 100);
+        int published = events.size();
+        assertThrows(IllegalArgumentException.class, () -> engine.answerQuestion(stranger, q, "A"));
+
+        assertEquals(0, stranger.getScore());
+        assertFalse(q.isUsed());
+        assertEquals(published, events.size());
+        assertTrue(engine.getTurnHistory().isEmpty());
+        assertEquals(0, engine.getTurnNumber());
+
+        engine.answerQuestion(p, q, "A");
+        assertEquals(100, p.getScore());
+        assertEquals(1, engine.getStats().getAnswered(p));
+    }
+
+    @Test
+    public void testApplyMovesPublishesOneBatch() {
+        QuestionBoard board = new QuestionBoard();
+        board.addQuestion(new Question("Test", 100, "Q1?", "A", "B", "C", "D", "A"));
+        board.addQuestion(new Question("Test", 200, "Q2?", "A", "B", "C", "D", "B"));
+        board.addQuestion(new Question("Test", 300, "Q3?", "A", "B", "C", "D", "C"));
+
+        Player p1 = new Player(1, "Alice");
+        Player p2 = new Player(2, "Bob");
+        GameState state = new GameState("CASE5", List.of(p1, p2), board);
+        GameEventBus bus = new GameEventBus();
+        List<List<GameEvent>> batches = new ArrayList<>();
+        bus.register(new GameEventListener() {
+            @Override
+            public void onEvent(GameEvent event) {
+                fail("Batched events must not be delivered one at a time");
+            }
+
+            @Override
+            public void onEvents(List<GameEvent> events) {
+                batches.add(events);
+            }
+        });
+        List<GameEvent> answers = new ArrayList<>();
+        bus.register(answers::add, "Answer Question");
+        GameEngine engine = new GameEngine(state, bus);
+
+        // The third move is out of turn, so it and the fourth are skipped.
+        List<Turn> turns = engine.applyMoves(List.of(
+                new Move(p1, "Test", 100, "A"),
+                new Move(p2, "Test", 200, "C"),
+                new Move(p2, "Test", 300, "C"),
+                new Move(p1, "Test", 300, "C")));
+
+        assertEquals(2, turns.size());
+        assertTrue(turns.get(0).isCorrect());
+        assertFalse(turns.get(1).isCorrect());
+        assertEquals(100, p1.getScore());
+        assertEquals(-200, p2.getScore());
+        assertEquals(turns, engine.getTurnHistory());
+        assertSame(p1, state.getCurrentPlayer());
+        assertTrue(board.hasQuestion("Test", 300));
+
+        assertEquals(1, batches.size());
+        List<String> activities = new ArrayList<>();
+        for (GameEvent e : batches.get(0)) {
+            activities.add(e.getActivity());
+        }
+        assertEquals(List.of("Select Category", "Select Question", "Answer Question", "Score Updated",
+                "Select Category", "Select Question", "Answer Question", "Score Updated"), activities);
+        assertEquals(2, answers.size());
+        assertEquals("Bob", answers.get(1).getPlayerName());
+    }
 }
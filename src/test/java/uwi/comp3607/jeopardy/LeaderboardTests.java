@@ -0,0 +1,68 @@
+package uwi.comp3607.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import uwi.comp3607.jeopardy.game.GameState;
+import uwi.comp3607.jeopardy.game.Leaderboard;
+import uwi.comp3607.jeopardy.model.Player;
+import uwi.comp3607.jeopardy.model.QuestionBoard;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LeaderboardTests {
+
+    @Test
+    public void testTopKRankAndPercentile() {
+        Leaderboard board = new Leaderboard(-1000, 1000, 100);
+        board.update("G1", "Ann", 300);
+        board.update("G1", "Ben", -200);
+        board.update("G2", "Cal", 350);
+        board.update("G2", "Dee", 300);
+        board.update("G3", "Eve", 5000); // above the bucket range
+
+        Player ann = new Player(1, "Ann");
+        ann.addToScore(400);
+        board.recordFinal(new GameState("G1", List.of(ann), new QuestionBoard()));
+
+        List<Leaderboard.Entry> top = board.topK(3);
+        assertEquals(List.of("Eve", "Ann", "Cal"), List.of(top.get(0).getPlayerName(),
+                top.get(1).getPlayerName(), top.get(2).getPlayerName()));
+        assertTrue(top.get(1).isFinal());
+        assertEquals(5, board.size());
+
+        assertEquals(1, board.rank("G3", "Eve"));
+        assertEquals(3, board.rank("G2", "Cal"));
+        assertEquals(4, board.rank("G2", "Dee"));
+        assertEquals(5, board.rank("G1", "Ben"));
+        assertEquals(-1, board.rank("G9", "Nobody"));
+        assertEquals(20.0, board.percentile("G2", "Dee"));
+        assertEquals(0.0, board.percentile("G1", "Ben"));
+    }
+
+    @Test
+    public void testConcurrentUpdatesKeepCountsConsistent() throws Exception {
+        Leaderboard board = new Leaderboard();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            int session = t;
+            pool.execute(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    board.update("G" + session, "P" + (i % 50), (i % 21 - 10) * 100);
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(400, board.size());
+        assertEquals(400, board.topK(1000).size());
+        List<Leaderboard.Entry> all = board.topK(400);
+        Leaderboard.Entry last = all.get(399);
+        long higher = all.stream().filter(e -> e.getScore() > last.getScore()).count();
+        assertEquals(higher + 1, board.rank(last.getCaseId(), last.getPlayerName()));
+    }
+}
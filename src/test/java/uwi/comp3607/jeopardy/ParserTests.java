@@ -1,16 +1,44 @@
 package uwi.comp3607.jeopardy;
 
+import io.airlift.compress.zstd.ZstdOutputStream;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uwi.comp3607.jeopardy.io.CsvFileParser;
+import uwi.comp3607.jeopardy.io.DirectoryLoader;
+import uwi.comp3607.jeopardy.io.FileParserFactory;
+import uwi.comp3607.jeopardy.io.StringDictionary;
 import uwi.comp3607.jeopardy.io.JsonFileParser;
+import uwi.comp3607.jeopardy.io.ParserRegistry;
+import uwi.comp3607.jeopardy.io.QuestionRecord;
 import uwi.comp3607.jeopardy.io.XmlFileParser;
+import uwi.comp3607.jeopardy.model.AnswerKey;
+import uwi.comp3607.jeopardy.model.Question;
 import uwi.comp3607.jeopardy.model.QuestionBoard;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class ParserTests {
 
+    @TempDir
+    Path dir;
+
     @Test
     public void testJsonParserLoadsQuestions() throws Exception {
         JsonFileParser parser = new JsonFileParser();
@@ -26,4 +54,185 @@ public class ParserTests {
         QuestionBoard board = parser.parse(file);
         assertFalse(board.getCategories().isEmpty());
     }
+
+    @Test
+    public void testRegistryFindsSharedParsersByNameAndContent() {
+        assertTrue(ParserRegistry.forFileName("bank.JSON.gz") instanceof JsonFileParser);
+        assertTrue(ParserRegistry.forFileName("bank.xml") instanceof XmlFileParser);
+        assertNull(ParserRegistry.forFileName("bank.txt"));
+        assertSame(ParserRegistry.forFileName("a.csv"), FileParserFactory.createParser("b.csv.zst"));
+        assertTrue(ParserRegistry.forContent('{') instanceof JsonFileParser);
+        assertTrue(ParserRegistry.forContent('<') instanceof XmlFileParser);
+        assertTrue(ParserRegistry.forContent('C') instanceof CsvFileParser);
+        assertTrue(ParserRegistry.forContent(-1) instanceof CsvFileParser);
+        assertTrue(ParserRegistry.isSupported("x.csv.gz"));
+        assertThrows(IllegalArgumentException.class, () -> FileParserFactory.createParser("bank.doc"));
+    }
+
+    @Test
+    public void testFactoryReadsGzipXmlByContent() throws Exception {
+        File gz = dir.resolve("bank.dat").toFile();
+        try (OutputStream out = new GZIPOutputStream(new FileOutputStream(gz))) {
+            Files.copy(Path.of("sample_game_XML.xml"), out);
+        }
+        QuestionBoard board = FileParserFactory.load(gz);
+        assertEquals(5, board.getCategories().size());
+    }
+
+    @Test
+    public void testFactoryReadsZstdCsvByContent() throws Exception {
+        File zst = dir.resolve("bank.csv.zst").toFile();
+        try (OutputStream out = new ZstdOutputStream(new FileOutputStream(zst))) {
+            Files.copy(Path.of("sample_game_CSV.csv"), out);
+        }
+        QuestionBoard board = FileParserFactory.load(zst);
+        assertEquals(5, board.getCategories().size());
+        assertEquals("A", board.getQuestion("Arrays", 100).getCorrectAnswer());
+    }
+
+    @Test
+    public void testForEachQuestionStopsEarly() throws Exception {
+        List<Question> seen = new ArrayList<>();
+        boolean complete = new CsvFileParser().forEachQuestion(
+                new FileInputStream("sample_game_CSV.csv"), "sample_game_CSV.csv",
+                new StringDictionary(), q -> {
+                    seen.add(q);
+                    return seen.size() < 3;
+                });
+        assertFalse(complete);
+        assertEquals(3, seen.size());
+    }
+
+    @Test
+    public void testParallelStreamSeesEveryQuestion() throws Exception {
+        try (Stream<Question> questions = FileParserFactory.stream(
+                new File("sample_game_XML.xml"), new StringDictionary())) {
+            assertEquals(25, questions.parallel()
+                    .map(q -> q.getCategory() + q.getValue())
+                    .collect(Collectors.toSet()).size());
+        }
+    }
+
+    @Test
+    public void testDirectoryLoaderMergesMixedFormats() throws Exception {
+        Files.copy(Path.of("sample_game_JSON.json"), dir.resolve("a.json"));
+        Files.copy(Path.of("sample_game_XML.xml"), dir.resolve("b.xml"));
+        Files.writeString(dir.resolve("c.csv"),
+                "Category,Value,Question,OptionA,OptionB,OptionC,OptionD,CorrectAnswer\n"
+                + "Extra,100,Q?,a,b,c,d,A\n");
+
+        DirectoryLoader.Result first = new DirectoryLoader(DirectoryLoader.ConflictPolicy.FIRST_WINS).load(dir);
+        assertEquals(6, first.getBoard().getCategories().size());
+        assertEquals(3, first.getTimings().size());
+        assertEquals(25, first.getConflicts());
+        assertTrue(first.getSlowestFileNanos() > 0);
+        assertTrue(first.getSlowestFileNanos() <= first.getWallNanos());
+        StringBuilder report = new StringBuilder();
+        first.writeReport(report);
+        assertTrue(report.toString().contains("3 file(s), 25 conflict(s), total "));
+        assertTrue(report.toString().contains(", slowest file "));
+
+        // With a tiny read-ahead limit the sample files are streamed instead
+        // of buffered, and the result is the same.
+        DirectoryLoader.Result streamed = new DirectoryLoader(
+                DirectoryLoader.ConflictPolicy.FIRST_WINS, 2, 2, 512).load(dir);
+        assertEquals(first.getBoard().getCategories(), streamed.getBoard().getCategories());
+        assertEquals(25, streamed.getConflicts());
+        assertEquals(0, streamed.getTimings().get(0).getReadNanos());
+        assertTrue(streamed.getTimings().get(2).getReadNanos() > 0);
+
+        assertThrows(IOException.class,
+                () -> new DirectoryLoader(DirectoryLoader.ConflictPolicy.FAIL).load(dir));
+    }
+
+    @Test
+    public void testDirectoryLoaderValidatesEachFile() throws Exception {
+        String header = "Category,Value,Question,OptionA,OptionB,OptionC,OptionD,CorrectAnswer\n";
+        Files.writeString(dir.resolve("good.csv"), header + "Good,100,Q?,a,b,c,d,A\n");
+        Files.writeString(dir.resolve("bad.csv"), header
+                + "Bad,100,Q?,a,b,c,d,A\n"
+                + "Bad,abc,Q?,a,b,c,d,A\n"
+                + "Bad,300,Q?,a,b,c,d,E\n");
+
+        DirectoryLoader.Result result = new DirectoryLoader(DirectoryLoader.ConflictPolicy.FAIL).load(dir);
+        assertFalse(result.isValid());
+        assertEquals(List.of("Good"), List.copyOf(result.getBoard().getCategories()));
+        assertTrue(result.getTimings().get(1).getValidation().isValid());
+        assertEquals(2, result.getTimings().get(0).getValidation().getErrorCount());
+
+        StringBuilder problems = new StringBuilder();
+        result.writeProblems(problems);
+        assertTrue(problems.toString().startsWith("bad.csv:"));
+        assertTrue(problems.toString().contains("bad.csv:3"));
+        assertFalse(problems.toString().contains("good.csv"));
+    }
+
+    @Test
+    public void testDictionarySharesRepeatedStrings() throws Exception {
+        StringDictionary dictionary = new StringDictionary();
+        String first = new String("Arrays");
+        String second = new String("Arrays");
+        assertSame(first, dictionary.canonical(first));
+        assertSame(first, dictionary.canonical(second));
+        assertNull(dictionary.canonical(null));
+        String longText = "x".repeat(65);
+        assertSame(longText, dictionary.canonical(longText));
+        assertEquals(1, dictionary.size());
+
+        assertSame("B", dictionary.answerKey(new String(" b ")));
+        assertEquals("E", dictionary.answerKey("E"));
+        assertSame(dictionary.answerKey(new String("E")), dictionary.answerKey(new String("E")));
+
+        // One dictionary across two files gives each category one instance.
+        File csv = new File("sample_game_CSV.csv");
+        List<QuestionRecord> a = FileParserFactory.readRecords(csv, dictionary);
+        List<QuestionRecord> b = FileParserFactory.readRecords(csv, dictionary);
+        assertSame(a.get(0).getCategory(), b.get(0).getCategory());
+        assertSame(a.get(0).getCategory(), a.get(1).getCategory());
+    }
+
+    @Test
+    public void testAnswerKeyEncodesOnlyAToD() {
+        assertEquals(0, AnswerKey.encode("A"));
+        assertEquals(3, AnswerKey.encode(" d\t"));
+        assertEquals(AnswerKey.INVALID, AnswerKey.encode("E"));
+        assertEquals(AnswerKey.INVALID, AnswerKey.encode("AB"));
+        assertEquals(AnswerKey.INVALID, AnswerKey.encode(""));
+        assertEquals(AnswerKey.INVALID, AnswerKey.encode(null));
+
+        for (byte code = 0; code < 4; code++) {
+            assertEquals(code, AnswerKey.encode(AnswerKey.decode(code)));
+        }
+        assertNull(AnswerKey.decode(AnswerKey.INVALID));
+        assertNull(AnswerKey.decode((byte) 4));
+
+        assertSame(AnswerKey.decode((byte) 2), AnswerKey.canonical(new String("c")));
+        String invalid = new String("Z");
+        assertSame(invalid, AnswerKey.canonical(invalid));
+    }
+
+    @Test
+    public void testInputIsClosedWhenItCannotBeOpened() {
+        AtomicInteger closed = new AtomicInteger();
+        // A gzip magic number followed by a damaged header
+        byte[] badGzip = {0x1F, (byte) 0x8B, 0x00, 0x00};
+        assertThrows(IOException.class, () -> FileParserFactory.readRecords(
+                tracked(badGzip, closed), "bad.gz", new StringDictionary()));
+        assertTrue(closed.get() > 0);
+
+        closed.set(0);
+        byte[] badJson = "]".getBytes(StandardCharsets.UTF_8);
+        assertThrows(IOException.class, () -> new JsonFileParser().stream(
+                tracked(badJson, closed), "bad.json", new StringDictionary()));
+        assertTrue(closed.get() > 0);
+    }
+
+    private static InputStream tracked(byte[] bytes, AtomicInteger closed) {
+        return new ByteArrayInputStream(bytes) {
+            @Override
+            public void close() {
+                closed.incrementAndGet();
+            }
+        };
+    }
 }
@@ -0,0 +1,115 @@
+package uwi.comp3607.jeopardy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uwi.comp3607.jeopardy.game.GameEngine;
+import uwi.comp3607.jeopardy.game.GameState;
+import uwi.comp3607.jeopardy.game.Turn;
+import uwi.comp3607.jeopardy.logging.CsvEventLogger;
+import uwi.comp3607.jeopardy.logging.GameEvent;
+import uwi.comp3607.jeopardy.logging.GameEventBus;
+import uwi.comp3607.jeopardy.model.Player;
+import uwi.comp3607.jeopardy.model.Question;
+import uwi.comp3607.jeopardy.model.QuestionBoard;
+import uwi.comp3607.jeopardy.report.BatchReportRegenerator;
+import uwi.comp3607.jeopardy.report.HtmlReportSink;
+import uwi.comp3607.jeopardy.report.JsonReportSink;
+import uwi.comp3607.jeopardy.report.ReportPipeline;
+import uwi.comp3607.jeopardy.report.TxtReportSink;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testSinglePassWritesAllFormats() throws Exception {
+        Player alice = new Player(1, "Alice");
+        Player bob = new Player(2, "Bob <b>");
+        Question q1 = new Question("Java", 100, "What is a JVM?", "a", "b", "c", "d", "A");
+        Question q2 = new Question("OOP", 200, "Is \"this\" & that?", "a", "b", "c", "d", "B");
+        alice.addToScore(100);
+        bob.addToScore(-200);
+        List<Turn> turns = List.of(
+                new Turn(alice, q1, "A", true, 100, 100),
+                new Turn(bob, q2, "C", false, -200, -200));
+
+        File txt = dir.resolve("r.txt").toFile();
+        File json = dir.resolve("r.json").toFile();
+        File html = dir.resolve("r.html").toFile();
+        new ReportPipeline()
+                .add(new TxtReportSink(ReportPipeline.writer(txt)))
+                .add(new JsonReportSink(ReportPipeline.stream(json)))
+                .add(new HtmlReportSink(ReportPipeline.writer(html)))
+                .run("CASE9", List.of(alice, bob), turns);
+
+        String nl = System.lineSeparator();
+        String text = Files.readString(txt.toPath(), StandardCharsets.UTF_8);
+        assertTrue(text.startsWith("JEOPARDY PROGRAMMING GAME REPORT" + nl));
+        assertTrue(text.contains("Players: Alice, Bob <b>" + nl));
+        assertTrue(text.contains("Turn 1: Alice selected Java for 100 pts" + nl));
+        assertTrue(text.contains("Answer: A — Correct (+100 pts)" + nl));
+        assertTrue(text.contains("Answer: C — Incorrect (-200 pts)" + nl));
+        assertTrue(text.endsWith("Final Scores:" + nl + "Alice: 100" + nl + "Bob <b>: -200" + nl));
+
+        JsonNode root = new ObjectMapper().readTree(json);
+        assertEquals("CASE9", root.get("caseId").asText());
+        assertEquals(2, root.get("turns").size());
+        assertEquals("Is \"this\" & that?", root.get("turns").get(1).get("question").asText());
+        assertEquals(-200, root.get("finalScores").get(1).get("score").asInt());
+
+        String page = Files.readString(html.toPath(), StandardCharsets.UTF_8);
+        assertTrue(page.contains("Bob &lt;b&gt;"));
+        assertTrue(page.contains("Is &quot;this&quot; &amp; that?"));
+        assertTrue(page.trim().endsWith("</html>"));
+    }
+
+    @Test
+    public void testBatchRegenerationPartitionsByCase() throws Exception {
+        Path log = dir.resolve("archive.csv");
+        try (CsvEventLogger logger = new CsvEventLogger(log.toFile())) {
+            GameEventBus bus = new GameEventBus();
+            bus.register(logger);
+            for (String caseId : List.of("GAME1", "GAME2")) {
+                QuestionBoard board = new QuestionBoard();
+                board.addQuestion(new Question("Java", 100, "Q1?", "a", "b", "c", "d", "A"));
+                board.addQuestion(new Question("Java", 200, "Q2?", "a", "b", "c", "d", "B"));
+                Player p = new Player(1, "P-" + caseId);
+                bus.publish(GameEvent.simple(caseId, p, "Enter Player Name", Instant.now()));
+                GameEngine engine = new GameEngine(new GameState(caseId, List.of(p), board), bus);
+                engine.answerQuestion(p, engine.selectQuestion(p, "Java", 100), "A");
+                engine.answerQuestion(p, engine.selectQuestion(p, "Java", 200), "C");
+                bus.publish(GameEvent.simple(caseId, null, "Generate Event Log", Instant.now()));
+            }
+        }
+
+        Path out = dir.resolve("reports");
+        BatchReportRegenerator.Result r = new BatchReportRegenerator(out, null, 2).regenerate(List.of(log));
+        assertEquals(2, r.getSessions());
+        assertTrue(r.getFailures().isEmpty());
+
+        try (Stream<Path> files = Files.walk(out)) {
+            List<Path> txt = files.filter(f -> f.toString().endsWith("GAME2.txt")).collect(Collectors.toList());
+            assertEquals(1, txt.size());
+            assertEquals(out, txt.get(0).getParent().getParent());
+            String text = Files.readString(txt.get(0), StandardCharsets.UTF_8);
+            String nl = System.lineSeparator();
+            assertTrue(text.contains("Turn 2: P-GAME2 selected Java for 200 pts" + nl));
+            assertTrue(text.contains("Answer: C — Incorrect (-200 pts)" + nl));
+            assertTrue(text.endsWith("P-GAME2: -100" + nl));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package uwi.comp3607.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import uwi.comp3607.jeopardy.io.CsvFileParser;
+import uwi.comp3607.jeopardy.io.JsonFileParser;
+import uwi.comp3607.jeopardy.io.QuestionRecord;
+import uwi.comp3607.jeopardy.validation.QuestionBankValidator;
+import uwi.comp3607.jeopardy.validation.ValidationIssue;
+import uwi.comp3607.jeopardy.validation.ValidationReport;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidationTests {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    public void testSampleFilesAreValid() throws Exception {
+        List<QuestionRecord> records = new JsonFileParser().readRecords(new File("sample_game_JSON.json"));
+        ValidationReport report = new QuestionBankValidator().validate(records);
+        assertTrue(report.isValid());
+        assertEquals(25, report.getRecordCount());
+    }
+
+    @Test
+    public void testCollectsEveryIssueWithLocation() throws Exception {
+        Path csv = dir.resolve("bad.csv");
+        Files.writeString(csv, String.join("\n",
+                "Category,Value,Question,OptionA,OptionB,OptionC,OptionD,CorrectAnswer",
+                "Loops,100,Q1?,a,b,c,d,A",
+                "Loops,abc,Q2?,a,b,c,d,B",
+                "Loops,200,Q3?,a,b,c,d,E",
+                "Loops,100,Q4?,a,b,c,d,C",
+                "Loops,300,Q5?"), StandardCharsets.UTF_8);
+
+        List<QuestionRecord> records = new CsvFileParser().readRecords(csv.toFile());
+        ValidationReport report = new QuestionBankValidator().validate(records);
+
+        assertFalse(report.isValid());
+        assertTrue(report.hasIssue(1, ValidationIssue.INVALID_VALUE));
+        assertTrue(report.hasIssue(2, ValidationIssue.INVALID_ANSWER));
+        assertTrue(report.hasIssue(3, ValidationIssue.DUPLICATE));
+        assertFalse(report.hasIssue(0, ValidationIssue.DUPLICATE));
+        assertTrue(report.hasIssue(4, ValidationIssue.MISSING_COLUMNS));
+
+        StringBuilder out = new StringBuilder();
+        report.writeTo(out);
+        assertTrue(out.toString().contains("bad.csv:3 (record 2)"));
+        assertTrue(out.toString().contains("first seen at bad.csv:2 (record 1)"));
+    }
+}